@@ -0,0 +1,46 @@
+package com.scm.bench;
+
+import com.scm.config.ConnectionPool;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 벤치마크 공통 상태: 배율별 합성 데이터 준비와 커넥션 풀.
+ * 배율은 -p scale=1,10,100 으로 지정한다. 측정이 끝나면 벤치마크가 등록한 발주를 지워 다음 실행이 같은 데이터에서 시작하게 한다.
+ */
+@State(Scope.Benchmark)
+public class BenchContext {
+    /** 동시 실행 벤치마크(@Threads 8)보다 크게 잡는다 */
+    static final int POOL_SIZE = 10;
+
+    @Param({"1"})
+    public int scale;
+
+    protected ConnectionPool pool;
+    protected int baselinePoId;
+    protected SyntheticDataGenerator shape;
+
+    @Setup(Level.Trial)
+    public void setUpDatabase() throws Exception {
+        pool = BenchDatabase.createPool(POOL_SIZE);
+        baselinePoId = BenchDatabase.prepare(pool, scale, false);
+        shape = new SyntheticDataGenerator(scale, SyntheticDataGenerator.DEFAULT_SEED);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDownDatabase() throws Exception {
+        try {
+            beforeReset();
+            BenchDatabase.resetOrders(pool, baselinePoId);
+        } finally {
+            pool.close();
+        }
+    }
+
+    /** 측정 데이터를 지우기 전에 하위 벤치마크가 자원을 정리할 지점 (STORES를 나중에 쓰는 작업은 여기서 끝낸다) */
+    protected void beforeReset() throws Exception {}
+}
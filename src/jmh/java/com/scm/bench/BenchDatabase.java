@@ -0,0 +1,167 @@
+package com.scm.bench;
+
+import com.scm.config.ConnectionPool;
+import com.scm.config.SchemaInitializer;
+import com.scm.dao.ProjectRollupDAO;
+import com.scm.dao.SupplierSnapshotDAO;
+import com.scm.dao.SupplierStatsCache;
+import com.scm.util.AppLogger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 벤치마크 DB 준비/정리.
+ * 접속 정보는 시스템 속성 scm.bench.url / scm.bench.user / scm.bench.password (Gradle jmh 태스크가 설정)로 받으며,
+ * 애플리케이션 db.properties와 분리된 전용 DB를 사용한다 (스키마를 지우고 다시 만들기 때문).
+ */
+public final class BenchDatabase {
+    private static final String SCHEMA_SCRIPT = "bench_schema.sql";
+
+    private BenchDatabase() {}
+
+    /** 벤치마크 DB용 커넥션 풀 */
+    public static ConnectionPool createPool(int maxSize) {
+        Properties props = new Properties();
+        props.setProperty("user", System.getProperty("scm.bench.user", "scmuser"));
+        props.setProperty("password", System.getProperty("scm.bench.password", "1234"));
+        props.setProperty("reWriteBatchedInserts", "true");
+        // 애플리케이션 기본값과 같게 두고, -Pbench.prepareThreshold=5 등으로 비교 측정
+        props.setProperty("prepareThreshold", System.getProperty("scm.bench.prepareThreshold", "1"));
+        props.setProperty("preparedStatementCacheQueries", "256");
+        String url = System.getProperty("scm.bench.url", "jdbc:postgresql://localhost:5432/scm_bench");
+        return new ConnectionPool(url, props, maxSize, 1, 30_000, 300_000, 2);
+    }
+
+    /**
+     * 지정 배율의 합성 데이터가 적재된 상태로 만든다.
+     * 같은 배율/시드/생성 규칙 버전의 데이터가 이미 있으면 재사용하고, 없거나 force이면 스키마부터 다시 만든다.
+     * 보조 스키마와 마이그레이션(schema_ext.sql, schema_migrate.sql)은 재사용할 때도 적용하며(새로 추가된 객체 반영), 적재 후에는 대시보드 집계를 구축한다.
+     * 끝으로 공급업체 스냅샷을 갱신하여 벤치마크가 현재 데이터 기준 스냅샷을 읽게 한다.
+     * @return 적재 직후의 최대 PO_ID (벤치마크가 추가한 발주를 지울 때 기준)
+     */
+    public static int prepare(ConnectionPool pool, int scale, boolean force) throws SQLException, IOException {
+        long seed = Long.getLong("scm.bench.seed", SyntheticDataGenerator.DEFAULT_SEED);
+        if (!force) {
+            Integer maxPoId;
+            try (Connection conn = pool.getConnection()) {
+                maxPoId = loadedMaxPoId(conn, scale, seed);
+            }
+            if (maxPoId != null) {
+                SchemaInitializer.migrate(pool);
+                resetOrders(pool, maxPoId);
+                refreshSnapshot(pool);
+                return maxPoId;
+            }
+        }
+
+        try (Connection conn = pool.getConnection()) {
+            long start = System.nanoTime();
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(readScript());
+                long rows = new SyntheticDataGenerator(scale, seed).generate(conn);
+                stmt.executeUpdate("INSERT INTO BENCH_META SELECT " + scale + ", " + seed + ", "
+                        + SyntheticDataGenerator.VERSION + ", (SELECT MAX(PO_ID) FROM PURCHASE_ORDER)");
+                conn.commit();
+                AppLogger.log("WARN", String.format("벤치마크 데이터 생성: scale=%d, %,d행, %,d ms",
+                        scale, rows, (System.nanoTime() - start) / 1_000_000));
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+        SchemaInitializer.migrate(pool);
+        new ProjectRollupDAO(pool).rebuildAll();
+        refreshSnapshot(pool);
+        try (Connection conn = pool.getConnection()) {
+            return loadedMaxPoId(conn, scale, seed);
+        }
+    }
+
+    /** 현재 적재된 데이터가 요청과 같으면 기준 PO_ID, 아니면 null */
+    private static Integer loadedMaxPoId(Connection conn, int scale, long seed) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT to_regclass('bench_meta') IS NOT NULL");
+            rs.next();
+            if (!rs.getBoolean(1)) return null;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT Max_PO_ID FROM BENCH_META WHERE Scale = ? AND Seed = ? AND Version = ?")) {
+            pstmt.setInt(1, scale); pstmt.setLong(2, seed); pstmt.setInt(3, SyntheticDataGenerator.VERSION);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : null;
+        }
+    }
+
+    /**
+     * 벤치마크가 등록한 발주(PO_ID > maxPoId)를 지우고 재고/집계를 적재 직후 상태로 되돌린다.
+     * 벤치마크 발주는 모두 1번 창고로 입고한다고 가정한다.
+     */
+    public static void resetOrders(ConnectionPool pool, int maxPoId) throws SQLException {
+        List<Integer> touched = new ArrayList<>();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = conn.prepareStatement(
+                        "SELECT DISTINCT Proj_ID FROM PURCHASE_ORDER WHERE PO_ID > ? ORDER BY Proj_ID")) {
+                    pstmt.setInt(1, maxPoId);
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) touched.add(rs.getInt(1));
+                }
+                String[] cleanup = {
+                        "UPDATE STORES s SET Inventory = s.Inventory - x.qty FROM (" +
+                                "SELECT l.Part_ID, SUM(i.DelivQty) AS qty FROM INCLUDES i " +
+                                "JOIN PO_LINE l ON l.PO_ID = i.PO_ID AND l.LineNo = i.LineNo " +
+                                "WHERE i.PO_ID > ? GROUP BY l.Part_ID) x WHERE s.Wh_ID = 1 AND s.Part_ID = x.Part_ID",
+                        "DELETE FROM INCLUDES WHERE PO_ID > ?",
+                        "DELETE FROM DELIVERY WHERE PO_ID > ?",
+                        "DELETE FROM PO_LINE WHERE PO_ID > ?",
+                        "DELETE FROM PURCHASE_ORDER WHERE PO_ID > ?"
+                };
+                for (String sql : cleanup) {
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setInt(1, maxPoId);
+                        pstmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        if (touched.isEmpty()) return;
+        ProjectRollupDAO rollups = new ProjectRollupDAO(pool);
+        for (int pid : touched) rollups.rebuild(pid);
+        SupplierStatsCache.shared().invalidateAll();
+    }
+
+    /** 공급업체 스냅샷을 갱신하고 집계 캐시를 비운다. */
+    public static void refreshSnapshot(ConnectionPool pool) throws SQLException {
+        new SupplierSnapshotDAO(pool).refresh();
+        SupplierStatsCache.shared().invalidateAll();
+    }
+
+    private static String readScript() throws IOException {
+        try (InputStream input = BenchDatabase.class.getClassLoader().getResourceAsStream(SCHEMA_SCRIPT)) {
+            if (input == null) throw new IOException("스크립트를 찾을 수 없습니다: " + SCHEMA_SCRIPT);
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
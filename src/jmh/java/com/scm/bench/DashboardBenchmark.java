@@ -0,0 +1,53 @@
+package com.scm.bench;
+
+import com.scm.dao.DashboardDAO;
+import com.scm.model.ProjectDashboard;
+import com.scm.render.ConsoleViews;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 프로젝트 대시보드 조회(DashboardDAO.findDashboard) 지연 시간.
+ * lookup=id는 프로젝트 ID, lookup=name은 선박명 일부로 조회하며 프로젝트를 차례로 돌아가며 조회한다.
+ * render는 조회 결과를 콘솔 화면 형식으로 만드는 비용까지 포함한다 (출력은 버림).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardBenchmark extends BenchContext {
+    @Param({"id", "name"})
+    public String lookup;
+
+    private DashboardDAO dashboardDAO;
+    private final PrintWriter discard = new PrintWriter(Writer.nullWriter());
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUpDashboard() {
+        dashboardDAO = new DashboardDAO(pool);
+    }
+
+    private String nextInput() {
+        int pid = 1 + (next++ % shape.projects());
+        // 생성기 선박명 규칙: "HN" + (1000 + Proj_ID)
+        return lookup.equals("id") ? String.valueOf(pid) : "N" + (1000 + pid);
+    }
+
+    @Benchmark
+    public ProjectDashboard query() throws SQLException {
+        return dashboardDAO.findDashboard(nextInput());
+    }
+
+    @Benchmark
+    public ProjectDashboard queryAndRender() throws SQLException {
+        ProjectDashboard dashboard = dashboardDAO.findDashboard(nextInput());
+        ConsoleViews.printDashboard(discard, dashboard);
+        return dashboard;
+    }
+}
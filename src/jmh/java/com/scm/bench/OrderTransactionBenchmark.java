@@ -0,0 +1,109 @@
+package com.scm.bench;
+
+import com.scm.dao.OrderDAO;
+import com.scm.inventory.InventoryEngine;
+import com.scm.model.OrderReceipt;
+import com.scm.util.RetryPolicy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 발주 트랜잭션(OrderDAO.processOrderTransaction) 지연 시간.
+ * - singleThread: 작업자 1개, 1번 창고 재고 부품 중 무작위
+ * - contended: 작업자 8개가 같은 소수의 부품(HOT_PARTS)에 발주하여 STORES 행 잠금 경합을 만든다
+ * inventory=db는 트랜잭션 안에서 STORES를 Upsert하고, engine은 재고 엔진(저널 기록 후 모아서 반영)을 쓴다.
+ * 발주는 모두 1번 창고로 입고하며 측정 후 BenchContext가 지운다.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderTransactionBenchmark extends BenchContext {
+    static final int WAREHOUSE = 1;
+    static final int HOT_PARTS = 16;
+
+    @Param({"1", "50", "1000"})
+    public int lines;
+
+    @Param({"db", "engine"})
+    public String inventory;
+
+    private OrderDAO orderDAO;
+    private InventoryEngine engine;
+    private Path journalDir;
+    private int[] storedParts;
+
+    @Setup(Level.Trial)
+    public void setUpOrders() throws SQLException, IOException {
+        if (inventory.equals("engine")) {
+            journalDir = Files.createTempDirectory("scm-inventory");
+            engine = InventoryEngine.open(pool, journalDir, true, 1000);
+        }
+        orderDAO = new OrderDAO(pool, RetryPolicy.defaults(), engine);
+        List<Integer> parts = new ArrayList<>();
+        try (Connection conn = pool.getConnection(); Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery("SELECT Part_ID FROM STORES WHERE Wh_ID = " + WAREHOUSE + " ORDER BY Part_ID");
+            while (rs.next()) parts.add(rs.getInt(1));
+        }
+        storedParts = parts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Override
+    protected void beforeReset() {
+        // 남은 입고분을 STORES에 반영한 뒤에 BenchContext가 측정 발주를 되돌린다
+        if (engine == null) return;
+        engine.close();
+        try {
+            Files.deleteIfExists(journalDir); // close()가 빈 세그먼트를 지우므로 디렉터리만 남는다
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** 스레드별 결정적 난수열 */
+    @State(Scope.Thread)
+    public static class ThreadOrders {
+        private static final AtomicInteger THREAD_SEQ = new AtomicInteger();
+        final SplittableRandom random = new SplittableRandom(SyntheticDataGenerator.DEFAULT_SEED + THREAD_SEQ.incrementAndGet());
+
+        List<OrderDAO.OrderItem> items(int count, int[] parts, int partRange) {
+            List<OrderDAO.OrderItem> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(new OrderDAO.OrderItem(parts[random.nextInt(partRange)], random.nextInt(1, 200),
+                        random.nextInt(1_000, 100_000) / 100.0));
+            }
+            return items;
+        }
+    }
+
+    private OrderReceipt order(ThreadOrders t, int partRange) {
+        int pid = 1 + t.random.nextInt(shape.projects());
+        int sid = 1 + t.random.nextInt(shape.suppliers());
+        String userId = SyntheticDataGenerator.userId(1 + t.random.nextInt(shape.users()));
+        return orderDAO.processOrderTransaction(pid, sid, userId, t.items(lines, storedParts, partRange), WAREHOUSE);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public OrderReceipt singleThread(ThreadOrders t) {
+        return order(t, storedParts.length);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public OrderReceipt contended(ThreadOrders t) {
+        return order(t, Math.min(HOT_PARTS, storedParts.length));
+    }
+}
@@ -0,0 +1,85 @@
+package com.scm.bench;
+
+import com.scm.config.ReadRouter;
+import com.scm.dao.KeysetPager;
+import com.scm.dao.SupplierDAO;
+import com.scm.dao.SupplierStatsCache;
+import com.scm.model.SupplierMonthRow;
+import com.scm.model.SupplierReportRow;
+import com.scm.render.OutputFormat;
+import com.scm.render.ReportLayouts;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * 공급업체 리포트(SupplierDAO) 지연 시간.
+ * - firstPage: 첫 화면(20행)이 나오기까지
+ * - fullReport: 필터에 맞는 전체 행을 표 형식으로 만들기까지 (출력은 버림)
+ * - monthlyTrend: 공급업체 한 곳의 최근 12개월 추이
+ * cache=cold는 매 호출 전에 공급업체 집계 캐시를 비워 DB 집계 비용을 포함한다.
+ * source=snapshot은 스냅샷(MV), live는 원천 테이블 실시간 집계를 읽는다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SupplierReportBenchmark extends BenchContext {
+    /** ESG 등급 (쉼표 구분, 빈 값이면 전체) */
+    @Param({"", "A", "A,B"})
+    public String esg;
+
+    /** 지연율 구간(%) "하한-상한" */
+    @Param({"0-100", "10-30"})
+    public String delay;
+
+    @Param({"warm", "cold"})
+    public String cache;
+
+    @Param({"snapshot", "live"})
+    public String source;
+
+    private SupplierDAO supplierDAO;
+    private List<String> esgFilters;
+    private double minDelay, maxDelay;
+    private final PrintWriter discard = new PrintWriter(Writer.nullWriter());
+
+    @Setup(Level.Trial)
+    public void setUpReport() {
+        supplierDAO = new SupplierDAO(ReadRouter.primaryOnly(pool), source.equals("snapshot"));
+        // 캐시는 프로세스 공용이므로 다른 source로 채운 항목을 비운다
+        SupplierStatsCache.shared().invalidateAll();
+        esgFilters = esg.isEmpty() ? null : Arrays.asList(esg.split(","));
+        String[] range = delay.split("-");
+        minDelay = Double.parseDouble(range[0]);
+        maxDelay = Double.parseDouble(range[1]);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        // 호출 하나가 수 ms 이상이므로 Invocation 단위 준비 비용은 측정에 영향이 작다
+        if (cache.equals("cold")) SupplierStatsCache.shared().invalidateAll();
+    }
+
+    @Benchmark
+    public KeysetPager.Page<SupplierReportRow> firstPage() throws SQLException {
+        return supplierDAO.reportPager(esgFilters, minDelay, maxDelay, 20).first();
+    }
+
+    @Benchmark
+    public long fullReport() throws SQLException {
+        return supplierDAO.renderSupplierReport(esgFilters, minDelay, maxDelay,
+                OutputFormat.TABLE.renderer(ReportLayouts.SUPPLIER_REPORT, discard));
+    }
+
+    @Benchmark
+    public List<SupplierMonthRow> monthlyTrend() throws SQLException {
+        return supplierDAO.monthlyTrend(1, 12);
+    }
+}
@@ -0,0 +1,359 @@
+package com.scm.bench;
+
+import com.scm.config.ConnectionPool;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * 벤치마크용 합성 데이터 생성기.
+ * ERD 13개 테이블을 배율(scale)에 비례한 크기로 만들며, 같은 시드와 배율이면 항상 같은 데이터를 만든다.
+ * 테이블마다 시드에서 파생한 독립 난수열을 사용하므로 생성 순서나 다른 테이블 크기 변경에 영향받지 않는다.
+ * 적재는 COPY로 스트리밍한다.
+ *
+ * 배율 1 기준 행 수: 조선소 5, 프로젝트 20, 공급업체 1,000, 부품 2,000, 창고 10, 사용자 50,
+ * 공급관계 5,000, 재고 2,000, 발주 10,000, 발주 라인 약 50,000, 납품 약 12,000, 탄소 기록 약 12,400
+ * (조선소 외 모든 테이블이 배율에 비례)
+ */
+public class SyntheticDataGenerator {
+    public static final long DEFAULT_SEED = 20251201L;
+    /** 생성 규칙이 바뀌면 올려서 기존 벤치마크 데이터를 재생성하게 한다 */
+    public static final int VERSION = 1;
+
+    static final int SHIPYARDS = 5;
+    static final int PROJECTS_PER_SCALE = 20;
+    static final int SUPPLIERS_PER_SCALE = 1_000;
+    static final int PARTS_PER_SCALE = 2_000;
+    static final int WAREHOUSES_PER_SCALE = 10;
+    static final int USERS_PER_SCALE = 50;
+    static final int ORDERS_PER_SCALE = 10_000;
+    static final int PARTS_PER_SUPPLIER = 5;
+    static final int PARTS_PER_WAREHOUSE = 200;
+    static final int STORAGE_RECORDS_PER_PROJECT = 20;
+
+    private static final String[] ESG = {"A", "B", "C", "D"};
+    private static final String[] COUNTRIES = {"대한민국", "일본", "중국", "독일", "미국", "노르웨이", "핀란드", "베트남"};
+    private static final String[] CITIES = {"부산", "울산", "거제", "창원", "목포", "인천"};
+    private static final String[] SHIP_TYPES = {"LNG선", "컨테이너선", "유조선", "벌크선", "FPSO"};
+    private static final String[] PROJECT_STATUS = {"계약", "설계", "건조중", "인도완료"};
+    private static final String[] PART_NAMES = {"강판", "용접봉", "밸브", "배관", "펌프", "케이블", "도료", "엔진부품", "단열재", "볼트"};
+    private static final String[] UNITS = {"EA", "KG", "M", "SET"};
+    private static final String[] TRANS_TYPES = {"트럭", "선박", "철도", "항공"};
+    private static final String[] ORDER_STATUS = {"발주완료", "납품중", "납품완료"};
+    private static final LocalDate BASE_DATE = LocalDate.of(2024, 1, 1);
+
+    private final int scale;
+    private final long seed;
+
+    public SyntheticDataGenerator(int scale, long seed) {
+        if (scale < 1) throw new IllegalArgumentException("scale은 1 이상이어야 합니다: " + scale);
+        this.scale = scale;
+        this.seed = seed;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int scale = args.length > 0 ? Integer.parseInt(args[0]) : 1;
+        try (ConnectionPool pool = BenchDatabase.createPool(1)) {
+            BenchDatabase.prepare(pool, scale, true);
+        }
+    }
+
+    public int projects() { return PROJECTS_PER_SCALE * scale; }
+    public int suppliers() { return SUPPLIERS_PER_SCALE * scale; }
+    public int parts() { return PARTS_PER_SCALE * scale; }
+    public int warehouses() { return WAREHOUSES_PER_SCALE * scale; }
+    public int users() { return USERS_PER_SCALE * scale; }
+    public int orders() { return ORDERS_PER_SCALE * scale; }
+
+    static String userId(int n) {
+        return "user" + n;
+    }
+
+    /**
+     * 기본 스키마가 비어 있는 상태에서 13개 테이블을 모두 적재한다. 커밋은 호출자가 수행한다.
+     * @return 적재한 전체 행 수
+     */
+    public long generate(Connection conn) throws SQLException {
+        CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+        long rows = 0;
+        rows += shipyards(copy);
+        rows += projects(copy);
+        rows += suppliers(copy);
+        rows += partsAndUsersAndWarehouses(copy);
+        rows += supplies(copy);
+        rows += stores(copy);
+        rows += ordersAndDeliveries(copy);
+        rows += storageCarbon(copy);
+        try (Statement stmt = conn.createStatement()) {
+            // 명시적 ID로 적재했으므로 시퀀스를 최대값 이후로 맞춘다
+            for (String[] t : new String[][]{{"ship_project", "proj_id"}, {"supplier", "supp_id"}, {"part", "part_id"},
+                    {"warehouse", "wh_id"}, {"purchase_order", "po_id"}, {"delivery", "del_id"}, {"carbon_record", "record_id"}}) {
+                stmt.execute("SELECT setval(pg_get_serial_sequence('" + t[0] + "', '" + t[1] + "'), " +
+                        "(SELECT COALESCE(MAX(" + t[1] + "), 0) + 1 FROM " + t[0] + "), false)");
+            }
+        }
+        return rows;
+    }
+
+    private SplittableRandom random(int table) {
+        return new SplittableRandom(seed * 31 + scale * 1_000_003L + table);
+    }
+
+    private long shipyards(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(1);
+        try (CopyWriter w = new CopyWriter(copy, "SHIPYARD (ID, Name, Region, HQ, Founded)")) {
+            for (int i = 1; i <= SHIPYARDS; i++) {
+                w.field(i).field("조선소" + i).field(CITIES[r.nextInt(CITIES.length)]).field("본사" + i)
+                        .field(BASE_DATE.minusYears(20 + r.nextInt(40))).endRow();
+            }
+            return w.finish();
+        }
+    }
+
+    private long projects(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(2);
+        try (CopyWriter w = new CopyWriter(copy, "SHIP_PROJECT (Proj_ID, ShipName, Type, ContractDate, DeliveryDate, Status, Yard_ID)")) {
+            for (int i = 1; i <= projects(); i++) {
+                LocalDate contract = BASE_DATE.plusDays(r.nextInt(730));
+                w.field(i).field("HN" + (1000 + i)).field(SHIP_TYPES[r.nextInt(SHIP_TYPES.length)]).field(contract)
+                        .field(contract.plusDays(540 + r.nextInt(365))).field(PROJECT_STATUS[r.nextInt(PROJECT_STATUS.length)])
+                        .field(1 + r.nextInt(SHIPYARDS)).endRow();
+            }
+            return w.finish();
+        }
+    }
+
+    private long suppliers(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(3);
+        try (CopyWriter w = new CopyWriter(copy, "SUPPLIER (Supp_ID, Name, Country, ESG, Contact, Phone, Street, City, Zip)")) {
+            for (int i = 1; i <= suppliers(); i++) {
+                w.field(i).field("공급사" + i).field(COUNTRIES[r.nextInt(COUNTRIES.length)]).field(ESG[r.nextInt(ESG.length)])
+                        .field("담당" + i).field(String.format("010-%04d-%04d", r.nextInt(10_000), r.nextInt(10_000)))
+                        .field("산업로 " + (1 + r.nextInt(500))).field(CITIES[r.nextInt(CITIES.length)])
+                        .field(String.format("%05d", r.nextInt(100_000))).endRow();
+            }
+            return w.finish();
+        }
+    }
+
+    private long partsAndUsersAndWarehouses(CopyManager copy) throws SQLException {
+        long rows = 0;
+        SplittableRandom r = random(4);
+        try (CopyWriter w = new CopyWriter(copy, "PART (Part_ID, Name, Spec, Unit, CO2_Fact)")) {
+            for (int i = 1; i <= parts(); i++) {
+                w.field(i).field(PART_NAMES[r.nextInt(PART_NAMES.length)] + "-" + i).field("SPEC-" + r.nextInt(1000))
+                        .field(UNITS[r.nextInt(UNITS.length)]).field(r.nextInt(1, 50_000) / 1000.0).endRow();
+            }
+            rows += w.finish();
+        }
+        r = random(5);
+        try (CopyWriter w = new CopyWriter(copy, "WAREHOUSE (Wh_ID, Name, Location, TempCtrl)")) {
+            for (int i = 1; i <= warehouses(); i++) {
+                w.field(i).field("창고" + i).field(CITIES[r.nextInt(CITIES.length)]).field(r.nextInt(4) == 0).endRow();
+            }
+            rows += w.finish();
+        }
+        r = random(6);
+        try (CopyWriter w = new CopyWriter(copy, "\"USER\" (User_ID, Name, Email, Affiliation)")) {
+            for (int i = 1; i <= users(); i++) {
+                w.field(userId(i)).field("사용자" + i).field(userId(i) + "@scm.example")
+                        .field(r.nextBoolean() ? "구매팀" : "ESG팀").endRow();
+            }
+            rows += w.finish();
+        }
+        return rows;
+    }
+
+    private long supplies(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(7);
+        try (CopyWriter w = new CopyWriter(copy, "SUPPLIES (Supp_ID, Part_ID, UnitPrice, LeadTime, MinOrderQty)")) {
+            int parts = parts();
+            for (int s = 1; s <= suppliers(); s++) {
+                // 공급업체마다 연속 구간의 부품을 공급 (중복 없는 PK)
+                int start = r.nextInt(parts);
+                for (int k = 0; k < PARTS_PER_SUPPLIER; k++) {
+                    w.field(s).field(1 + (start + k) % parts).field(r.nextInt(1_000, 500_000) / 100.0)
+                            .field(r.nextInt(3, 90)).field(r.nextInt(1, 100)).endRow();
+                }
+            }
+            return w.finish();
+        }
+    }
+
+    private long stores(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(8);
+        try (CopyWriter w = new CopyWriter(copy, "STORES (Wh_ID, Part_ID, Inventory)")) {
+            int parts = parts();
+            for (int wh = 1; wh <= warehouses(); wh++) {
+                int start = r.nextInt(parts);
+                for (int k = 0; k < Math.min(PARTS_PER_WAREHOUSE, parts); k++) {
+                    w.field(wh).field(1 + (start + k) % parts).field(r.nextInt(0, 5_000)).endRow();
+                }
+            }
+            return w.finish();
+        }
+    }
+
+    /**
+     * 발주, 발주 라인, 납품, 납품 품목, 운송 탄소 기록을 함께 만든다.
+     * 발주마다 라인 1~9개, 납품 1건(20%는 2건으로 분할), 납품마다 운송 탄소 기록 1건.
+     * 공급업체별 지연 성향을 두어 지연율 분포가 고르게 퍼지도록 한다.
+     */
+    private long ordersAndDeliveries(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(9);
+        double[] delayBias = new double[suppliers() + 1];
+        SplittableRandom biasRandom = random(10);
+        for (int s = 1; s <= suppliers(); s++) delayBias[s] = biasRandom.nextDouble() * 0.4;
+
+        long rows = 0;
+        int delId = 0;
+        try (CopyWriter po = new CopyWriter(copy, "PURCHASE_ORDER (PO_ID, OrderDate, Status, Proj_ID, Supp_ID, User_ID)", false);
+             CopyWriter line = new CopyWriter(copy, "PO_LINE (PO_ID, LineNo, Part_ID, Qty, OrderPrice, DueDate)", false);
+             CopyWriter del = new CopyWriter(copy, "DELIVERY (Del_ID, ArrivalDate, TransType, Distance, Status, PO_ID)", false);
+             CopyWriter inc = new CopyWriter(copy, "INCLUDES (Del_ID, PO_ID, LineNo, DelivQty, Inspection)", false);
+             CopyWriter carbon = new CopyWriter(copy, "CARBON_RECORD (Date, Type, Amount, Criteria, Del_ID, Proj_ID, User_ID)", false)) {
+            // 테이블별 버퍼에 모았다가 외래키 의존 순서(발주 -> 라인 -> 납품 -> 품목 -> 탄소)대로 함께 전송한다
+            CopyWriter[] ordered = {po, line, del, inc, carbon};
+            int[] qty = new int[9];
+            for (int poId = 1; poId <= orders(); poId++) {
+                int sid = 1 + r.nextInt(suppliers());
+                int pid = 1 + r.nextInt(projects());
+                LocalDate orderDate = BASE_DATE.plusDays(r.nextInt(900));
+                po.field(poId).field(orderDate).field(ORDER_STATUS[r.nextInt(ORDER_STATUS.length)]).field(pid).field(sid)
+                        .field(userId(1 + r.nextInt(users()))).endRow();
+
+                int lines = 1 + r.nextInt(9);
+                for (int ln = 1; ln <= lines; ln++) {
+                    qty[ln - 1] = r.nextInt(1, 500);
+                    line.field(poId).field(ln).field(1 + r.nextInt(parts())).field(qty[ln - 1])
+                            .field(r.nextInt(1_000, 2_000_000) / 100.0).field(orderDate.plusDays(30)).endRow();
+                }
+
+                int deliveries = r.nextInt(5) == 0 ? 2 : 1;
+                for (int d = 1; d <= deliveries; d++) {
+                    delId++;
+                    boolean delayed = r.nextDouble() < delayBias[sid];
+                    String transType = TRANS_TYPES[r.nextInt(TRANS_TYPES.length)];
+                    double distance = r.nextInt(10, 20_000) / 10.0;
+                    LocalDate arrival = orderDate.plusDays(20 + r.nextInt(40) + (delayed ? 30 : 0));
+                    del.field(delId).field(arrival).field(transType).field(distance).field(delayed ? "지연" : "정상")
+                            .field(poId).endRow();
+                    for (int ln = 1; ln <= lines; ln++) {
+                        // 첫 납품은 절반, 두 번째 납품은 나머지
+                        int half = qty[ln - 1] / 2;
+                        int delivQty = deliveries == 1 ? half : d == 1 ? half : qty[ln - 1] - half;
+                        if (delivQty == 0) continue;
+                        inc.field(delId).field(poId).field(ln).field(delivQty).field(delayed ? "보류" : "합격").endRow();
+                    }
+                    carbon.field(arrival).field("운송").field(Math.round(distance * r.nextInt(5, 60)) / 100.0)
+                            .field("GHG Protocol").field(delId).nul().field(userId(1 + r.nextInt(users()))).endRow();
+                }
+                if (po.full() || line.full() || del.full() || inc.full() || carbon.full()) {
+                    for (CopyWriter w : ordered) w.send();
+                }
+            }
+            rows += po.finish() + line.finish() + del.finish() + inc.finish() + carbon.finish();
+        }
+        return rows;
+    }
+
+    private long storageCarbon(CopyManager copy) throws SQLException {
+        SplittableRandom r = random(11);
+        try (CopyWriter w = new CopyWriter(copy, "CARBON_RECORD (Date, Type, Amount, Criteria, Del_ID, Proj_ID, User_ID)")) {
+            for (int pid = 1; pid <= projects(); pid++) {
+                for (int k = 0; k < STORAGE_RECORDS_PER_PROJECT; k++) {
+                    w.field(BASE_DATE.plusDays(r.nextInt(900))).field("보관").field(r.nextInt(100, 500_000) / 100.0)
+                            .field("ISO 14064").nul().field(pid).field(userId(1 + r.nextInt(users()))).endRow();
+                }
+            }
+            return w.finish();
+        }
+    }
+
+    /**
+     * 한 테이블의 CSV 행을 버퍼에 모아 COPY 문 단위로 전송한다.
+     * 커넥션당 COPY는 하나씩만 진행할 수 있으므로 여러 테이블을 함께 만들 때는 버퍼를 번갈아 전송한다.
+     * 단독 사용 시 버퍼가 상한을 넘으면 자동 전송하고, 함께 사용할 때는 호출자가 full()을 보고 의존 순서대로 send()한다.
+     */
+    private static final class CopyWriter implements AutoCloseable {
+        private static final int FLUSH_BYTES = 8 * 1024 * 1024;
+
+        private final CopyManager copy;
+        private final String target;
+        private final StringBuilder buf = new StringBuilder(64 * 1024);
+        private final boolean autoSend;
+        private boolean rowStart = true;
+        private long rows;
+
+        CopyWriter(CopyManager copy, String target) {
+            this(copy, target, true);
+        }
+
+        CopyWriter(CopyManager copy, String target, boolean autoSend) {
+            this.copy = copy;
+            this.target = target;
+            this.autoSend = autoSend;
+        }
+
+        CopyWriter field(Object value) {
+            if (!rowStart) buf.append(',');
+            rowStart = false;
+            String s = String.valueOf(value);
+            if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0) {
+                buf.append('"').append(s.replace("\"", "\"\"")).append('"');
+            } else {
+                buf.append(s);
+            }
+            return this;
+        }
+
+        /** NULL 값 (CSV에서 따옴표 없는 빈 값) */
+        CopyWriter nul() {
+            if (!rowStart) buf.append(',');
+            rowStart = false;
+            return this;
+        }
+
+        void endRow() throws SQLException {
+            buf.append('\n');
+            rowStart = true;
+            rows++;
+            if (autoSend && full()) send();
+        }
+
+        boolean full() {
+            return buf.length() >= FLUSH_BYTES;
+        }
+
+        void send() throws SQLException {
+            if (buf.length() == 0) return;
+            byte[] bytes = buf.toString().getBytes(StandardCharsets.UTF_8);
+            buf.setLength(0);
+            CopyIn in = copy.copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)");
+            try {
+                in.writeToCopy(bytes, 0, bytes.length);
+                in.endCopy();
+            } finally {
+                if (in.isActive()) in.cancelCopy();
+            }
+        }
+
+        long finish() throws SQLException {
+            send();
+            long n = rows;
+            rows = 0;
+            return n;
+        }
+
+        @Override
+        public void close() {
+            buf.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+-- =====================================================================
+-- 벤치마크 전용 기본 스키마 (ERD 13개 테이블)
+-- 벤치마크 DB(scm_bench)를 비우고 다시 만든다. 운영 DB에 실행하지 말 것.
+-- 보조 스키마(schema_ext.sql)와 마이그레이션(schema_migrate.sql)은 데이터 적재 후 SchemaInitializer가 적용한다.
+-- =====================================================================
+
+DROP TABLE IF EXISTS BENCH_META, SCHEMA_STATUS, CARBON_DELIVERY_BUCKET, CARBON_PROJECT_BUCKET, PROJECT_SUPPLIER_ROLLUP, PROJECT_ROLLUP, CARBON_RECORD, INCLUDES, DELIVERY,
+    PO_LINE, PURCHASE_ORDER, SUPPLIES, STORES, "USER", WAREHOUSE, PART, SUPPLIER, SHIP_PROJECT, SHIPYARD CASCADE;
+
+CREATE TABLE SHIPYARD (
+    ID      INT PRIMARY KEY,
+    Name    VARCHAR(50) NOT NULL,
+    Region  VARCHAR(30),
+    HQ      VARCHAR(50),
+    Founded DATE
+);
+
+CREATE TABLE SHIP_PROJECT (
+    Proj_ID      SERIAL PRIMARY KEY,
+    ShipName     VARCHAR(50) NOT NULL,
+    Type         VARCHAR(20),
+    ContractDate DATE,
+    DeliveryDate DATE,
+    Status       VARCHAR(10),
+    Yard_ID      INT NOT NULL REFERENCES SHIPYARD (ID)
+);
+
+CREATE TABLE SUPPLIER (
+    Supp_ID SERIAL PRIMARY KEY,
+    Name    VARCHAR(50) NOT NULL,
+    Country VARCHAR(20),
+    ESG     CHAR(1),
+    Contact VARCHAR(30),
+    Phone   VARCHAR(20),
+    Street  VARCHAR(50),
+    City    VARCHAR(30),
+    Zip     VARCHAR(10)
+);
+
+CREATE TABLE PART (
+    Part_ID  SERIAL PRIMARY KEY,
+    Name     VARCHAR(50) NOT NULL,
+    Spec     VARCHAR(50),
+    Unit     VARCHAR(10),
+    CO2_Fact NUMERIC(10, 3)
+);
+
+CREATE TABLE WAREHOUSE (
+    Wh_ID    SERIAL PRIMARY KEY,
+    Name     VARCHAR(50) NOT NULL,
+    Location VARCHAR(50),
+    TempCtrl BOOLEAN
+);
+
+CREATE TABLE "USER" (
+    User_ID     VARCHAR(20) PRIMARY KEY,
+    Name        VARCHAR(30) NOT NULL,
+    Email       VARCHAR(50),
+    Affiliation VARCHAR(30)
+);
+
+CREATE TABLE SUPPLIES (
+    Supp_ID     INT REFERENCES SUPPLIER (Supp_ID),
+    Part_ID     INT REFERENCES PART (Part_ID),
+    UnitPrice   NUMERIC(12, 2),
+    LeadTime    INT,
+    MinOrderQty INT,
+    PRIMARY KEY (Supp_ID, Part_ID)
+);
+
+CREATE TABLE STORES (
+    Wh_ID     INT REFERENCES WAREHOUSE (Wh_ID),
+    Part_ID   INT REFERENCES PART (Part_ID),
+    Inventory INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (Wh_ID, Part_ID)
+);
+
+CREATE TABLE PURCHASE_ORDER (
+    PO_ID     SERIAL PRIMARY KEY,
+    OrderDate DATE NOT NULL DEFAULT CURRENT_DATE,
+    Status    VARCHAR(10),
+    Proj_ID   INT NOT NULL REFERENCES SHIP_PROJECT (Proj_ID),
+    Supp_ID   INT NOT NULL REFERENCES SUPPLIER (Supp_ID),
+    User_ID   VARCHAR(20) REFERENCES "USER" (User_ID)
+);
+
+CREATE TABLE PO_LINE (
+    PO_ID      INT REFERENCES PURCHASE_ORDER (PO_ID),
+    LineNo     INT,
+    Part_ID    INT NOT NULL REFERENCES PART (Part_ID),
+    Qty        INT NOT NULL,
+    OrderPrice NUMERIC(12, 2) NOT NULL,
+    DueDate    DATE,
+    PRIMARY KEY (PO_ID, LineNo)
+);
+
+CREATE TABLE DELIVERY (
+    Del_ID      SERIAL PRIMARY KEY,
+    ArrivalDate DATE,
+    TransType   VARCHAR(10),
+    Distance    NUMERIC(10, 1),
+    Status      VARCHAR(10),
+    PO_ID       INT NOT NULL REFERENCES PURCHASE_ORDER (PO_ID)
+);
+
+CREATE TABLE INCLUDES (
+    Del_ID     INT REFERENCES DELIVERY (Del_ID),
+    PO_ID      INT,
+    LineNo     INT,
+    DelivQty   INT NOT NULL,
+    Inspection VARCHAR(10),
+    PRIMARY KEY (Del_ID, PO_ID, LineNo),
+    FOREIGN KEY (PO_ID, LineNo) REFERENCES PO_LINE (PO_ID, LineNo)
+);
+
+CREATE TABLE CARBON_RECORD (
+    Record_ID SERIAL PRIMARY KEY,
+    Date      DATE NOT NULL,
+    Type      VARCHAR(4) NOT NULL,
+    Amount    NUMERIC(12, 3) NOT NULL,
+    Criteria  VARCHAR(30),
+    Del_ID    INT REFERENCES DELIVERY (Del_ID),
+    Proj_ID   INT REFERENCES SHIP_PROJECT (Proj_ID),
+    User_ID   VARCHAR(20) REFERENCES "USER" (User_ID)
+);
+
+-- 적재된 데이터의 배율/시드 (같은 값이면 재생성하지 않고 재사용)
+CREATE TABLE BENCH_META (
+    Scale     INT    NOT NULL,
+    Seed      BIGINT NOT NULL,
+    Version   INT    NOT NULL,
+    Max_PO_ID INT    NOT NULL
+);
@@ -0,0 +1,264 @@
+package com.scm.config;
+
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 물리 커넥션을 재사용하는 고정 상한 커넥션 풀.
+ * 대여 시 유효성 검사, 대여 대기 타임아웃, 유휴 커넥션 정리 및 풀 지표를 제공한다.
+ * 대여한 커넥션의 close()는 물리 커넥션을 닫지 않고 풀로 반납한다.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final Properties connProps;
+    private final int maxSize;
+    private final int minIdle;
+    private final long acquireTimeoutMs;
+    private final long idleTimeoutMs;
+    private final int validationTimeoutSec;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledEntry> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiters = new AtomicInteger();
+    private final AtomicInteger totalOpened = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowNanosTotal = new LongAdder();
+    private final AtomicLong borrowNanosMax = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final ScheduledExecutorService evictor;
+
+    private static final Metrics.Timer ACQUIRE_TIMER = Metrics.timer("pool.acquire");
+    private static final Metrics.Counter ACQUIRE_TIMEOUTS = Metrics.counter("pool.timeout");
+
+    public ConnectionPool(String url, Properties connProps, int maxSize, int minIdle,
+                          long acquireTimeoutMs, long idleTimeoutMs, int validationTimeoutSec) {
+        this.url = url;
+        this.connProps = connProps;
+        this.maxSize = maxSize;
+        this.minIdle = Math.min(minIdle, maxSize);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.validationTimeoutSec = validationTimeoutSec;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scm-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMs / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 풀에서 커넥션을 대여한다. 반납은 반환된 커넥션의 close()로 수행한다.
+     * @return 풀이 관리하는 커넥션 (READ_COMMITTED, autoCommit=true, readOnly=false 상태)
+     * @throws SQLTimeoutException 대여 대기 시간이 acquireTimeout을 초과한 경우
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed.get()) throw new SQLException("커넥션 풀이 이미 종료되었습니다.");
+        long start = System.nanoTime();
+
+        waiters.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("커넥션 대기 중 인터럽트 발생", e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+        if (!acquired) {
+            timeoutCount.increment();
+            ACQUIRE_TIMEOUTS.increment();
+            throw new SQLTimeoutException("커넥션 대여 타임아웃 (" + acquireTimeoutMs + "ms, active=" + active.get() + ")");
+        }
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) entry = open();
+            entry.borrowed.set(true);
+            active.incrementAndGet();
+            recordBorrow(System.nanoTime() - start);
+            return entry.proxy;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /** 유휴 커넥션 중 검증을 통과한 것을 꺼낸다. 실패한 커넥션은 폐기한다. */
+    private PooledEntry takeValidIdle() {
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) {
+            try {
+                if (entry.physical.isValid(validationTimeoutSec)) return entry;
+            } catch (SQLException ignored) {
+                // 검증 실패 시 폐기 후 다음 후보 확인
+            }
+            AppLogger.log("WARN", "유효하지 않은 풀 커넥션 폐기");
+            discard(entry);
+        }
+        return null;
+    }
+
+    private PooledEntry open() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, connProps);
+        physical.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        totalOpened.incrementAndGet();
+        return new PooledEntry(physical);
+    }
+
+    /**
+     * 풀과 같은 설정으로 풀 밖의 전용 커넥션을 연다 (세션 잠금처럼 수명 동안 한 세션을 유지해야 하는 용도).
+     * 풀 크기에 포함되지 않으며 호출한 쪽이 직접 닫는다.
+     */
+    public Connection openUnpooled() throws SQLException {
+        if (closed.get()) throw new SQLException("커넥션 풀이 이미 종료되었습니다.");
+        return DriverManager.getConnection(url, connProps);
+    }
+
+    /** 대여된 커넥션을 초기 상태로 되돌려 유휴 목록에 반납한다. */
+    private void release(PooledEntry entry) {
+        active.decrementAndGet();
+        try {
+            if (closed.get() || entry.physical.isClosed()) {
+                discard(entry);
+                return;
+            }
+            if (!entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (entry.physical.isReadOnly()) entry.physical.setReadOnly(false);
+            entry.lastUsed = System.currentTimeMillis();
+            idle.offerFirst(entry);
+        } catch (SQLException e) {
+            AppLogger.log("WARN", "커넥션 반납 중 오류, 폐기: " + e.getMessage());
+            discard(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /** idleTimeout을 넘긴 유휴 커넥션을 minIdle 개수까지 정리한다. */
+    private void evictIdle() {
+        long now = System.currentTimeMillis();
+        int removable = idle.size() - minIdle;
+        for (PooledEntry entry : idle) {
+            if (removable <= 0) break;
+            if (now - entry.lastUsed > idleTimeoutMs && idle.remove(entry)) {
+                discard(entry);
+                removable--;
+            }
+        }
+    }
+
+    private void discard(PooledEntry entry) {
+        try {
+            entry.physical.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    private void recordBorrow(long nanos) {
+        borrowCount.increment();
+        borrowNanosTotal.add(nanos);
+        borrowNanosMax.accumulateAndGet(nanos, Math::max);
+        ACQUIRE_TIMER.record(nanos);
+    }
+
+    /**
+     * 현재 풀 지표 스냅샷을 반환한다.
+     */
+    public PoolStats getStats() {
+        long count = borrowCount.sum();
+        double avgMs = count == 0 ? 0 : borrowNanosTotal.sum() / (double) count / 1_000_000.0;
+        return new PoolStats(active.get(), idle.size(), waiters.get(), maxSize, totalOpened.get(),
+                count, timeoutCount.sum(), avgMs, borrowNanosMax.get() / 1_000_000.0);
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) return;
+        evictor.shutdownNow();
+        PooledEntry entry;
+        while ((entry = idle.pollFirst()) != null) discard(entry);
+        AppLogger.log("INFO", "커넥션 풀 종료 " + getStats());
+    }
+
+    /**
+     * 풀 지표. 대여 지연 시간은 밀리초 단위이다.
+     */
+    public record PoolStats(int active, int idle, int waiters, int maxSize, int totalOpened,
+                            long borrowCount, long timeoutCount, double avgBorrowMs, double maxBorrowMs) {
+        @Override
+        public String toString() {
+            return String.format("active=%d, idle=%d, waiters=%d, max=%d, opened=%d, borrows=%d, timeouts=%d, avgBorrow=%.3fms, maxBorrow=%.3fms",
+                    active, idle, waiters, maxSize, totalOpened, borrowCount, timeoutCount, avgBorrowMs, maxBorrowMs);
+        }
+    }
+
+    /**
+     * 물리 커넥션과 반납용 프록시를 묶어 관리한다.
+     * 프록시는 close()를 반납으로 바꾸고, 반납 이후의 호출은 거부한다.
+     */
+    private final class PooledEntry implements InvocationHandler {
+        final Connection physical;
+        final Connection proxy;
+        volatile long lastUsed = System.currentTimeMillis();
+        final AtomicBoolean borrowed = new AtomicBoolean();
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.proxy = (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object p, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "close":
+                    if (borrowed.compareAndSet(true, false)) release(this);
+                    return null;
+                case "isClosed":
+                    return !borrowed.get() || physical.isClosed();
+                case "equals":
+                    return p == args[0];
+                case "hashCode":
+                    return System.identityHashCode(p);
+                case "toString":
+                    return "PooledConnection[" + physical + "]";
+                default:
+                    if (!borrowed.get()) throw new SQLException("이미 풀에 반납된 커넥션입니다.");
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
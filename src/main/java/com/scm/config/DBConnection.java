@@ -1,32 +1,154 @@
 package com.scm.config;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.util.Properties;
 import com.scm.util.AppLogger;
 
 public class DBConnection {
+    private static volatile ConnectionPool pool;
+    private static volatile ReadRouter readRouter;
+
+    /**
+     * db.properties를 한 번만 읽어 구성한 애플리케이션 공용 커넥션 풀을 반환한다.
+     * @return 커넥션 풀 (설정 로드 실패 시 null)
+     */
+    public static ConnectionPool getPool() {
+        ConnectionPool p = pool;
+        if (p != null) return p;
+        synchronized (DBConnection.class) {
+            if (pool == null) pool = createPool();
+            return pool;
+        }
+    }
+
+    /**
+     * 조회 전용 DAO가 사용할 읽기 라우터를 반환한다.
+     * db.properties에 replica.host가 있으면 복제본 풀을 만들고, 없으면 primary만 사용한다.
+     * @return 읽기 라우터 (primary 풀 구성 실패 시 null)
+     */
+    public static ReadRouter getReadRouter() {
+        ReadRouter r = readRouter;
+        if (r != null) return r;
+        synchronized (DBConnection.class) {
+            if (readRouter == null) {
+                ConnectionPool primary = getPool();
+                if (primary == null) return null;
+                readRouter = createRouter(primary);
+            }
+            return readRouter;
+        }
+    }
+
+    /**
+     * 풀에서 커넥션을 대여한다. 사용 후 close()를 호출하면 풀로 반납된다.
+     * @return 대여한 커넥션 (실패 시 null)
+     */
     public static Connection getConnection() {
-        Connection conn = null;
-        try (InputStream input = DBConnection.class.getClassLoader().getResourceAsStream("db.properties")) {
-            Properties prop = new Properties();
-            prop.load(input);
+        ConnectionPool p = getPool();
+        if (p == null) return null;
+        try {
+            return p.getConnection();
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "DB 접속 실패: " + e.getMessage());
+            return null;
+        }
+    }
 
+    /** 애플리케이션 종료 시 풀의 물리 커넥션을 모두 닫는다. */
+    public static synchronized void shutdown() {
+        if (readRouter != null) {
+            readRouter.close();
+            readRouter = null;
+        }
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
+
+    private static ConnectionPool createPool() {
+        try {
+            Properties prop = loadProperties();
             String url = String.format("jdbc:postgresql://%s:%s/%s",
                     prop.getProperty("db.host"),
                     prop.getProperty("db.port"),
                     prop.getProperty("db.name"));
 
-            conn = DriverManager.getConnection(url, prop.getProperty("db.user"), prop.getProperty("db.password"));
+            Properties connProps = new Properties();
+            connProps.setProperty("user", prop.getProperty("db.user"));
+            connProps.setProperty("password", prop.getProperty("db.password"));
+            // 배치 INSERT를 다중 VALUES 한 문장으로 재작성하여 라운드트립을 줄인다
+            connProps.setProperty("reWriteBatchedInserts", prop.getProperty("db.reWriteBatchedInserts", "true"));
+            // 풀 커넥션은 오래 재사용되므로 정규 SQL 문장을 첫 실행부터 서버 측 named statement로 준비하여 파싱/계획을 생략한다
+            connProps.setProperty("prepareThreshold", prop.getProperty("db.prepareThreshold", "1"));
+            connProps.setProperty("preparedStatementCacheQueries", prop.getProperty("db.preparedStatementCacheQueries", "256"));
+            connProps.setProperty("preparedStatementCacheSizeMiB", prop.getProperty("db.preparedStatementCacheSizeMiB", "5"));
 
-            // 트랜잭션 격리 수준 설정
-            conn.setTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            ConnectionPool created = new ConnectionPool(url, connProps,
+                    intProp(prop, "pool.maxSize", 10),
+                    intProp(prop, "pool.minIdle", 2),
+                    intProp(prop, "pool.acquireTimeoutMs", 5000),
+                    intProp(prop, "pool.idleTimeoutMs", 300000),
+                    intProp(prop, "pool.validationTimeoutSec", 2));
 
-            AppLogger.log("INFO", "DB 접속 성공: " + url); // System.out -> AppLogger
+            AppLogger.log("INFO", "커넥션 풀 초기화: " + url); // System.out -> AppLogger
+            return created;
         } catch (Exception e) {
-            AppLogger.log("ERROR", "DB 접속 실패: " + e.getMessage());
+            AppLogger.log("ERROR", "DB 설정 로드 실패: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 복제본 설정(replica.*)으로 읽기 라우터를 만든다. 접속 계정/DB 이름은 비워 두면 primary 설정을 따른다.
+     */
+    private static ReadRouter createRouter(ConnectionPool primary) {
+        try {
+            Properties prop = loadProperties();
+            String host = prop.getProperty("replica.host", "").trim();
+            if (host.isEmpty()) return ReadRouter.primaryOnly(primary);
+
+            String url = String.format("jdbc:postgresql://%s:%s/%s", host,
+                    prop.getProperty("replica.port", prop.getProperty("db.port")),
+                    prop.getProperty("replica.name", prop.getProperty("db.name")));
+            Properties connProps = new Properties();
+            connProps.setProperty("user", prop.getProperty("replica.user", prop.getProperty("db.user")));
+            connProps.setProperty("password", prop.getProperty("replica.password", prop.getProperty("db.password")));
+            connProps.setProperty("prepareThreshold", prop.getProperty("db.prepareThreshold", "1"));
+            connProps.setProperty("preparedStatementCacheQueries", prop.getProperty("db.preparedStatementCacheQueries", "256"));
+            connProps.setProperty("preparedStatementCacheSizeMiB", prop.getProperty("db.preparedStatementCacheSizeMiB", "5"));
+            // 복제본 장애 시 조회가 오래 멈추지 않도록 접속 대기를 짧게 둔다
+            connProps.setProperty("connectTimeout", prop.getProperty("replica.connectTimeoutSec", "2"));
+
+            ConnectionPool replica = new ConnectionPool(url, connProps,
+                    intProp(prop, "replica.pool.maxSize", intProp(prop, "pool.maxSize", 10)),
+                    0,
+                    intProp(prop, "pool.acquireTimeoutMs", 5000),
+                    intProp(prop, "pool.idleTimeoutMs", 300000),
+                    intProp(prop, "pool.validationTimeoutSec", 2));
+            AppLogger.log("INFO", "복제본 조회 풀 초기화: " + url);
+            return new ReadRouter(primary, replica,
+                    intProp(prop, "replica.maxLagMs", 5000),
+                    intProp(prop, "replica.lagCheckMs", 1000));
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "복제본 설정 로드 실패, primary만 사용: " + e.getMessage());
+            return ReadRouter.primaryOnly(primary);
         }
-        return conn;
     }
-}
\ No newline at end of file
+
+    private static Properties loadProperties() throws IOException {
+        try (InputStream input = DBConnection.class.getClassLoader().getResourceAsStream("db.properties")) {
+            if (input == null) throw new IOException("db.properties를 찾을 수 없습니다.");
+            Properties prop = new Properties();
+            prop.load(input);
+            return prop;
+        }
+    }
+
+    private static int intProp(Properties prop, String key, int defaultValue) {
+        String value = prop.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,143 @@
+package com.scm.config;
+
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 읽기/쓰기 커넥션 분리.
+ * 쓰기와 트랜잭션은 primary 풀을 그대로 쓰고, 조회 전용 DAO 메서드는 getReadConnection()으로
+ * 복제본(replica) 풀의 readOnly 커넥션을 받는다.
+ * 복제본이 없거나, 접속에 실패했거나, 복제 지연이 허용치(maxLagMs)를 넘으면 primary의 readOnly 커넥션으로 대체한다.
+ * 지연은 checkIntervalMs마다 한 번, 복제본 커넥션을 대여한 스레드가 측정한다.
+ */
+public class ReadRouter implements AutoCloseable {
+    // 복제 지연(ms). 재생할 WAL이 남아 있지 않으면 0, 복구 중이 아닌 서버(같은 인스턴스의 다른 포트 등)도 0
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+                    "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+                    "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+
+    private static final Metrics.Counter REPLICA_READS = Metrics.counter("route.read.replica");
+    private static final Metrics.Counter PRIMARY_READS = Metrics.counter("route.read.primary");
+    private static final Metrics.Counter LAG_FALLBACKS = Metrics.counter("route.fallback.lag");
+    private static final Metrics.Counter ERROR_FALLBACKS = Metrics.counter("route.fallback.error");
+
+    private final ConnectionPool primary;
+    private final ConnectionPool replica;
+    private final long maxLagMs;
+    private final long checkIntervalMs;
+
+    private final AtomicLong nextCheckAt = new AtomicLong();
+    private volatile long lagMs;
+    private volatile boolean replicaUp = true;
+
+    /**
+     * @param primary 쓰기/대체용 풀
+     * @param replica 조회용 복제본 풀 (null이면 항상 primary)
+     * @param maxLagMs 허용 복제 지연
+     * @param checkIntervalMs 지연 측정 및 장애 복제본 재시도 간격
+     */
+    public ReadRouter(ConnectionPool primary, ConnectionPool replica, long maxLagMs, long checkIntervalMs) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMs = maxLagMs;
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    /** 복제본 없이 primary만 쓰는 라우터 */
+    public static ReadRouter primaryOnly(ConnectionPool primary) {
+        return new ReadRouter(primary, null, 0, 0);
+    }
+
+    public ConnectionPool getPrimary() {
+        return primary;
+    }
+
+    /**
+     * 조회 전용 커넥션을 대여한다 (readOnly=true). 반납은 close()로 하며 풀이 readOnly를 되돌린다.
+     */
+    public Connection getReadConnection() throws SQLException {
+        if (replica != null) {
+            Connection conn = borrowReplica();
+            if (conn != null) {
+                conn.setReadOnly(true);
+                REPLICA_READS.increment();
+                return conn;
+            }
+        }
+        Connection conn = primary.getConnection();
+        conn.setReadOnly(true);
+        PRIMARY_READS.increment();
+        return conn;
+    }
+
+    /** 사용 가능한 복제본 커넥션, 지연 초과/장애면 null */
+    private Connection borrowReplica() {
+        long now = System.currentTimeMillis();
+        long due = nextCheckAt.get();
+        boolean check = now >= due && nextCheckAt.compareAndSet(due, now + checkIntervalMs);
+        if (!replicaUp && !check) {
+            ERROR_FALLBACKS.increment();
+            return null;
+        }
+
+        Connection conn = null;
+        try {
+            conn = replica.getConnection();
+            if (check) measureLag(conn);
+            if (lagMs <= maxLagMs) return conn;
+            LAG_FALLBACKS.increment();
+        } catch (SQLException e) {
+            if (replicaUp) AppLogger.log("WARN", "복제본 사용 불가, primary로 조회: " + e.getMessage());
+            replicaUp = false;
+            ERROR_FALLBACKS.increment();
+        }
+        if (conn != null) {
+            try { conn.close(); } catch (SQLException ignored) {}
+        }
+        return null;
+    }
+
+    private void measureLag(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            ResultSet rs = stmt.executeQuery(LAG_SQL);
+            rs.next();
+            long measured = rs.getLong(1);
+            if (measured > maxLagMs && lagMs <= maxLagMs) {
+                AppLogger.log("WARN", "복제 지연 " + measured + "ms > 허용 " + maxLagMs + "ms, primary로 조회");
+            }
+            lagMs = measured;
+        }
+        if (!replicaUp) AppLogger.log("INFO", "복제본 복구, 조회를 복제본으로 전환");
+        replicaUp = true;
+    }
+
+    public RouterStats getStats() {
+        return new RouterStats(replica != null, replica != null && replicaUp, lagMs, maxLagMs,
+                REPLICA_READS.get(), PRIMARY_READS.get(), LAG_FALLBACKS.get(), ERROR_FALLBACKS.get());
+    }
+
+    /** 복제본 풀을 닫는다 (primary 풀은 소유자가 닫는다). */
+    @Override
+    public void close() {
+        if (replica != null) replica.close();
+    }
+
+    /**
+     * 라우팅 지표
+     */
+    public record RouterStats(boolean replicaConfigured, boolean replicaUp, long lagMs, long maxLagMs,
+                              long replicaReads, long primaryReads, long lagFallbacks, long errorFallbacks) {
+        @Override
+        public String toString() {
+            if (!replicaConfigured) return "replica=없음 (모든 조회 primary), primaryReads=" + primaryReads;
+            return String.format("replica=%s, lag=%dms (허용 %dms), replicaReads=%d, primaryReads=%d, lagFallbacks=%d, errorFallbacks=%d",
+                    replicaUp ? "정상" : "장애", lagMs, maxLagMs, replicaReads, primaryReads, lagFallbacks, errorFallbacks);
+        }
+    }
+}
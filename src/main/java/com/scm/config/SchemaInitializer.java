@@ -0,0 +1,172 @@
+package com.scm.config;
+
+import com.scm.util.AppLogger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * 기본 13개 테이블 위에 애플리케이션 보조 스키마(schema_ext.sql)를 적용한다.
+ * 스크립트는 재실행에 안전하도록 작성되어 있으며, 마지막으로 적용한 스크립트와 해시가 같으면 실행을 생략한다.
+ * (명령 모드처럼 자주 시작하는 경우 시작 비용의 대부분이 스크립트 실행이므로)
+ * 대용량 테이블 인덱스, 물리화 뷰 등 무거운 작업은 schema_migrate.sql로 분리하여 migrate 명령으로만 실행하고,
+ * 시작 시에는 적용 이력만 확인한다.
+ */
+public class SchemaInitializer {
+    private static final String SCRIPT = "schema_ext.sql";
+    private static final String MIGRATION = "schema_migrate.sql";
+    /** true면 해시가 같아도 스크립트를 다시 적용 */
+    private static final boolean FORCE = Boolean.getBoolean("scm.schema.force");
+
+    private static final String APPLIED_HASH_SQL = "SELECT Script_Hash FROM SCHEMA_STATUS WHERE Script = ?";
+    private static final String MARK_SQL =
+            "INSERT INTO SCHEMA_STATUS (Script, Script_Hash) VALUES (?, ?) " +
+                    "ON CONFLICT (Script) DO UPDATE SET Script_Hash = EXCLUDED.Script_Hash, Applied_At = now()";
+    // 동시 인덱스 생성이 중간에 실패하면 INVALID 인덱스가 남고, IF NOT EXISTS가 이를 건너뛰므로 따로 확인한다
+    private static final String INVALID_INDEX_SQL =
+            "SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid " +
+                    "WHERE NOT i.indisvalid AND c.relnamespace::regnamespace::text = ANY (current_schemas(false)) " +
+                    "ORDER BY c.relname";
+
+    /**
+     * 보조 스키마를 한 트랜잭션으로 적용한다. 실패 시 롤백하고 false를 반환한다 (발주 집계 등이 이 스키마에 의존하므로 호출자는 시작을 중단한다).
+     * @param pool 커넥션 풀
+     * @return 적용 성공 여부 (변경이 없어 생략한 경우도 true)
+     */
+    public static boolean apply(ConnectionPool pool) {
+        try {
+            byte[] bytes = readScript(SCRIPT);
+            String hash = sha256(bytes);
+
+            try (Connection conn = pool.getConnection()) {
+                if (!FORCE && hash.equals(appliedHash(conn, SCRIPT))) {
+                    AppLogger.log("DEBUG", "보조 스키마 변경 없음, 적용 생략: " + SCRIPT);
+                    return true;
+                }
+                conn.setAutoCommit(false);
+                try (Statement stmt = conn.createStatement();
+                     PreparedStatement mark = conn.prepareStatement(MARK_SQL)) {
+                    stmt.execute(new String(bytes, StandardCharsets.UTF_8));
+                    mark(mark, SCRIPT, hash);
+                    conn.commit();
+                } catch (Exception e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+            AppLogger.log("INFO", "보조 스키마 적용 완료: " + SCRIPT);
+            return true;
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "보조 스키마 적용 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 마이그레이션 적용 여부를 확인한다. 시작 시 호출하며 SCHEMA_STATUS 조회 한 번으로 끝난다.
+     * 적용 후 스크립트가 바뀌었으면 경고만 남긴다 (새 인덱스 등은 성능에만 영향).
+     * @throws SQLException 마이그레이션을 한 번도 실행하지 않은 DB인 경우
+     */
+    public static void checkMigrated(ConnectionPool pool) throws SQLException {
+        String hash;
+        try {
+            hash = sha256(readScript(MIGRATION));
+        } catch (IOException e) {
+            throw new SQLException("마이그레이션 스크립트를 읽을 수 없습니다: " + e.getMessage(), e);
+        }
+        String applied;
+        try (Connection conn = pool.getConnection()) {
+            applied = appliedHash(conn, MIGRATION);
+        }
+        if (applied == null) {
+            throw new SQLException("스키마 마이그레이션(" + MIGRATION + ")이 적용되지 않았습니다. "
+                    + "먼저 'smart-scm-app migrate'를 실행하세요");
+        }
+        if (!applied.equals(hash)) {
+            AppLogger.log("WARN", "스키마 마이그레이션 스크립트가 변경되었습니다. 'smart-scm-app migrate'로 적용하세요");
+        }
+    }
+
+    /**
+     * 보조 스키마를 적용한 뒤 마이그레이션 스크립트를 문장 하나씩 자동 커밋으로 실행한다.
+     * (CREATE INDEX CONCURRENTLY는 트랜잭션 블록 안에서 실행할 수 없고, 문장별로 커밋해야 긴 잠금을 피한다)
+     * 모든 문장이 재실행에 안전하므로 실패하면 원인을 고친 뒤 다시 실행하면 된다.
+     * @return 실행한 문장 수
+     * @throws SQLException 문장 실행 실패 또는 동시 인덱스 생성 실패로 INVALID 인덱스가 남은 경우 (이력은 기록하지 않음)
+     */
+    public static int migrate(ConnectionPool pool) throws SQLException, IOException {
+        if (!apply(pool)) throw new SQLException("보조 스키마 적용 실패 (로그 참고)");
+        byte[] bytes = readScript(MIGRATION);
+        List<String> statements = SqlScript.split(new String(bytes, StandardCharsets.UTF_8));
+        try (Connection conn = pool.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (int i = 0; i < statements.size(); i++) {
+                long start = System.nanoTime();
+                try {
+                    stmt.execute(statements.get(i));
+                } catch (SQLException e) {
+                    throw new SQLException("마이그레이션 " + (i + 1) + "번째 문장 실패: " + e.getMessage(), e.getSQLState(), e);
+                }
+                AppLogger.log("INFO", String.format("마이그레이션 %d/%d 완료 (%,d ms)",
+                        i + 1, statements.size(), (System.nanoTime() - start) / 1_000_000));
+            }
+            List<String> invalid = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery(INVALID_INDEX_SQL)) {
+                while (rs.next()) invalid.add(rs.getString(1));
+            }
+            if (!invalid.isEmpty()) {
+                throw new SQLException("생성에 실패한 INVALID 인덱스가 있습니다. DROP INDEX 후 다시 실행하세요: " + invalid);
+            }
+            try (PreparedStatement mark = conn.prepareStatement(MARK_SQL)) {
+                mark(mark, MIGRATION, sha256(bytes));
+            }
+        }
+        AppLogger.log("INFO", "스키마 마이그레이션 완료: " + MIGRATION);
+        return statements.size();
+    }
+
+    private static byte[] readScript(String name) throws IOException {
+        try (InputStream input = SchemaInitializer.class.getClassLoader().getResourceAsStream(name)) {
+            if (input == null) throw new IOException("스키마 스크립트를 찾을 수 없습니다: " + name);
+            return input.readAllBytes();
+        }
+    }
+
+    private static void mark(PreparedStatement mark, String script, String hash) throws SQLException {
+        mark.setString(1, script);
+        mark.setString(2, hash);
+        mark.executeUpdate();
+    }
+
+    /** 마지막으로 적용한 스크립트 해시 (처음 적용하는 DB면 null) */
+    private static String appliedHash(Connection conn, String script) {
+        try (PreparedStatement pstmt = conn.prepareStatement(APPLIED_HASH_SQL)) {
+            pstmt.setString(1, script);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            // SCHEMA_STATUS가 아직 없음 (자동 커밋 상태라 이후 적용에는 영향 없음)
+            return null;
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // 모든 JDK가 SHA-256을 제공한다
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.scm.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL 스크립트를 문장 단위로 나눈다.
+ * 트랜잭션 블록 안에서 실행할 수 없는 문장(CREATE INDEX CONCURRENTLY 등)을 자동 커밋으로 하나씩 실행하기 위해 사용한다.
+ * 작은따옴표 문자열, 큰따옴표 식별자, 달러 인용($$ / $tag$), 주석(-- / 블록 주석) 안의 세미콜론은 구분자로 보지 않는다.
+ */
+public final class SqlScript {
+    private SqlScript() {
+    }
+
+    /**
+     * @param script 스크립트 전체
+     * @return 세미콜론을 뺀 문장 목록 (주석/공백뿐인 조각은 제외)
+     */
+    public static List<String> split(String script) {
+        List<String> statements = new ArrayList<>();
+        int start = 0;
+        boolean hasCode = false; // 현재 조각에 주석/공백이 아닌 내용이 있는지
+        int i = 0;
+        int n = script.length();
+        while (i < n) {
+            char c = script.charAt(i);
+            if (c == '-' && i + 1 < n && script.charAt(i + 1) == '-') {
+                int eol = script.indexOf('\n', i);
+                i = eol < 0 ? n : eol + 1;
+            } else if (c == '/' && i + 1 < n && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (c == '\'' || c == '"') {
+                i = skipQuoted(script, i, c);
+                hasCode = true;
+            } else if (c == '$' && dollarTag(script, i) != null) {
+                String tag = dollarTag(script, i);
+                int end = script.indexOf(tag, i + tag.length());
+                i = end < 0 ? n : end + tag.length();
+                hasCode = true;
+            } else if (c == ';') {
+                if (hasCode) statements.add(script.substring(start, i).strip());
+                start = ++i;
+                hasCode = false;
+            } else {
+                if (!Character.isWhitespace(c)) hasCode = true;
+                i++;
+            }
+        }
+        if (hasCode) statements.add(script.substring(start).strip());
+        return statements;
+    }
+
+    /** 따옴표 짝까지 건너뛴다. 두 번 연속된 따옴표는 이스케이프. */
+    private static int skipQuoted(String s, int i, char quote) {
+        int n = s.length();
+        i++;
+        while (i < n) {
+            if (s.charAt(i++) == quote) {
+                if (i < n && s.charAt(i) == quote) i++;
+                else return i;
+            }
+        }
+        return n;
+    }
+
+    /** i 위치에서 시작하는 달러 인용 태그 ($$ 또는 $이름$), 아니면 null ($1 같은 위치 매개변수 포함) */
+    private static String dollarTag(String s, int i) {
+        if (i > 0 && (Character.isLetterOrDigit(s.charAt(i - 1)) || s.charAt(i - 1) == '_')) return null;
+        int j = i + 1;
+        while (j < s.length() && (Character.isLetter(s.charAt(j)) || s.charAt(j) == '_'
+                || (j > i + 1 && Character.isDigit(s.charAt(j))))) j++;
+        return j < s.length() && s.charAt(j) == '$' ? s.substring(i, j + 1) : null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.config.ReadRouter;
+import com.scm.model.CarbonBucketRow;
+import com.scm.model.DeliveryEmission;
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 프로젝트 탄소 배출 추이를 시간 버킷(CARBON_PROJECT_BUCKET, CARBON_DELIVERY_BUCKET)에서 조회하는 Data Access Object 클래스.
+ * 조회 비용은 원천 기록 수가 아니라 버킷 수(기간)에 비례한다.
+ */
+public class CarbonDAO {
+    private static final SqlStatement MONTHLY = SqlStatement.of("carbon.monthly",
+            "SELECT Bucket, Transport_Em, Storage_Em, Total_Em, Record_Count FROM CARBON_PROJECT_BUCKET " +
+                    "WHERE Proj_ID = ? AND Grain = 'M' ORDER BY Bucket DESC LIMIT ?");
+
+    private static final SqlStatement DAILY = SqlStatement.of("carbon.daily",
+            "SELECT Bucket, Transport_Em, Storage_Em, Total_Em, Record_Count FROM CARBON_PROJECT_BUCKET " +
+                    "WHERE Proj_ID = ? AND Grain = 'D' AND Bucket >= ? AND Bucket < ? ORDER BY Bucket");
+
+    // 프로젝트 납품의 월 버킷을 기간 합산 (납품 수만큼 집계, Proj_ID 인덱스로 범위 탐색)
+    private static final SqlStatement TOP_DELIVERIES = SqlStatement.of("carbon.top_deliveries",
+            "SELECT b.Del_ID, d.TransType, d.Distance, b.total_em, b.records FROM (" +
+                    "  SELECT Del_ID, SUM(Total_Em) AS total_em, SUM(Record_Count) AS records " +
+                    "  FROM CARBON_DELIVERY_BUCKET WHERE Proj_ID = ? AND Grain = 'M' AND Bucket >= ? " +
+                    "  GROUP BY Del_ID ORDER BY total_em DESC LIMIT ?) b " +
+                    "JOIN DELIVERY d ON d.Del_ID = b.Del_ID ORDER BY b.total_em DESC");
+
+    private final ReadRouter router;
+
+    public CarbonDAO(ConnectionPool pool) {
+        this(ReadRouter.primaryOnly(pool));
+    }
+
+    public CarbonDAO(ReadRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * 최근 months개월(기록이 있는 달 기준)의 월별 배출량을 오래된 달부터 반환한다.
+     * @param pid 프로젝트 ID
+     */
+    public List<CarbonBucketRow> monthlyTrend(int pid, int months) throws SQLException {
+        List<CarbonBucketRow> rows = new ArrayList<>(months);
+        try (Connection conn = router.getReadConnection();
+             PreparedStatement pstmt = MONTHLY.prepare(conn)) {
+            pstmt.setInt(1, pid); pstmt.setInt(2, months);
+            long t = MONTHLY.timer().start();
+            readBuckets(pstmt.executeQuery(), rows);
+            MONTHLY.timer().stop(t);
+        }
+        Collections.reverse(rows);
+        return rows;
+    }
+
+    /**
+     * 한 달의 일별 배출량 (기록이 있는 날만)
+     * @param pid 프로젝트 ID
+     */
+    public List<CarbonBucketRow> dailyTrend(int pid, YearMonth month) throws SQLException {
+        List<CarbonBucketRow> rows = new ArrayList<>(month.lengthOfMonth());
+        try (Connection conn = router.getReadConnection();
+             PreparedStatement pstmt = DAILY.prepare(conn)) {
+            pstmt.setInt(1, pid);
+            pstmt.setDate(2, Date.valueOf(month.atDay(1)));
+            pstmt.setDate(3, Date.valueOf(month.plusMonths(1).atDay(1)));
+            long t = DAILY.timer().start();
+            readBuckets(pstmt.executeQuery(), rows);
+            DAILY.timer().stop(t);
+        }
+        return rows;
+    }
+
+    /**
+     * 프로젝트 납품 중 since가 속한 달부터의 배출량 상위 limit건
+     */
+    public List<DeliveryEmission> topDeliveries(int pid, YearMonth since, int limit) throws SQLException {
+        List<DeliveryEmission> rows = new ArrayList<>(limit);
+        try (Connection conn = router.getReadConnection();
+             PreparedStatement pstmt = TOP_DELIVERIES.prepare(conn)) {
+            pstmt.setInt(1, pid);
+            pstmt.setDate(2, Date.valueOf(since.atDay(1)));
+            pstmt.setInt(3, limit);
+            long t = TOP_DELIVERIES.timer().start();
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                rows.add(new DeliveryEmission(rs.getInt(1), rs.getString(2), rs.getDouble(3), rs.getDouble(4), rs.getLong(5)));
+            }
+            TOP_DELIVERIES.timer().stop(t);
+        }
+        return rows;
+    }
+
+    private static void readBuckets(ResultSet rs, List<CarbonBucketRow> out) throws SQLException {
+        while (rs.next()) {
+            LocalDate bucket = rs.getDate(1).toLocalDate();
+            out.add(new CarbonBucketRow(bucket, rs.getDouble(2), rs.getDouble(3), rs.getDouble(4), rs.getLong(5)));
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.model.CarbonEvent;
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.List;
+import java.util.Locale;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * 운송/보관 탄소 배출 기록을 대량 적재하는 Data Access Object 클래스.
+ * 입력을 COPY로 임시 스테이징 테이블에 스트리밍한 뒤 한 번의 INSERT ... SELECT로 CARBON_RECORD에 반영한다.
+ * 배출량이 없는 운송 기록은 납품 거리 x 운송수단 계수(EMISSION_FACTOR)로 계산한다.
+ * 일/월 버킷과 프로젝트 집계는 CARBON_RECORD의 문장 단위 트리거(trg_carbon_aggregate)가 같은 트랜잭션에서 갱신한다.
+ */
+public class CarbonIngestDAO {
+    /** 입력 파일 컬럼 순서 (CSV 헤더 및 JSON 키) */
+    static final String[] COLUMNS = {"date", "type", "amount", "criteria", "del_id", "proj_id", "user_id"};
+
+    private static final String STAGE_SQL =
+            "CREATE TEMP TABLE STG_CARBON (" +
+                    "Seq BIGSERIAL, Date DATE, Type TEXT, Amount NUMERIC, Criteria TEXT, " +
+                    "Del_ID INT, Proj_ID INT, User_ID TEXT) ON COMMIT DROP";
+
+    private static final String COPY_CSV_SQL =
+            "COPY STG_CARBON (Date, Type, Amount, Criteria, Del_ID, Proj_ID, User_ID) " +
+                    "FROM STDIN WITH (FORMAT csv, HEADER %s)";
+
+    // 유효한 행만 입력 순서대로 반영: 유형이 운송/보관, 참조하는 납품/프로젝트/사용자가 존재,
+    // 프로젝트나 납품 중 하나에는 귀속, 날짜와 배출량이 주어졌거나 납품에서 계산 가능
+    private static final String INSERT_SQL =
+            "INSERT INTO CARBON_RECORD (Date, Type, Amount, Criteria, Del_ID, Proj_ID, User_ID) " +
+                    "SELECT x.Date, x.Type, x.Amount, x.Criteria, x.Del_ID, x.Proj_ID, x.User_ID FROM (" +
+                    "  SELECT s.Seq, COALESCE(s.Date, d.ArrivalDate) AS Date, s.Type, " +
+                    "         COALESCE(s.Amount, CASE WHEN s.Type = '운송' THEN d.Distance * f.Kg_Per_Km END) AS Amount, " +
+                    "         LEFT(COALESCE(s.Criteria, CASE WHEN s.Amount IS NULL THEN '거리x계수(' || d.TransType || ')' END), 30) AS Criteria, " +
+                    "         s.Del_ID, s.Proj_ID, s.User_ID " +
+                    "  FROM STG_CARBON s " +
+                    "  LEFT JOIN DELIVERY d ON d.Del_ID = s.Del_ID " +
+                    "  LEFT JOIN EMISSION_FACTOR f ON f.TransType = d.TransType " +
+                    "  WHERE s.Type IN ('운송', '보관') " +
+                    "    AND (s.Proj_ID IS NOT NULL OR s.Del_ID IS NOT NULL) " +
+                    "    AND (s.Del_ID IS NULL OR d.Del_ID IS NOT NULL) " +
+                    "    AND (s.Proj_ID IS NULL OR EXISTS (SELECT 1 FROM SHIP_PROJECT p WHERE p.Proj_ID = s.Proj_ID)) " +
+                    "    AND (s.User_ID IS NULL OR EXISTS (SELECT 1 FROM \"USER\" u WHERE u.User_ID = s.User_ID))" +
+                    ") x WHERE x.Date IS NOT NULL AND x.Amount IS NOT NULL ORDER BY x.Seq";
+
+    private static final SqlStatement REBUILD_BUCKETS = SqlStatement.of("carbon.rebuild_buckets",
+            "SELECT fn_carbon_bucket_rebuild(?)");
+
+    /** COPY 한 번에 보내는 바이트 수 (이벤트 목록 적재 시) */
+    private static final int COPY_CHUNK = 64 * 1024;
+
+    private static final Metrics.Timer INGEST = Metrics.timer("carbon.ingest");
+    private static final Metrics.Counter INGESTED = Metrics.counter("carbon.ingest.rows");
+    private static final Metrics.Counter REJECTED = Metrics.counter("carbon.ingest.rejected");
+
+    private final ConnectionPool pool;
+
+    public CarbonIngestDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 배출 기록 파일을 적재한다. 확장자가 .jsonl/.ndjson이면 JSON-lines, 그 외는 헤더가 있는 CSV로 처리한다.
+     * CSV 컬럼: date,type,amount,criteria,del_id,proj_id,user_id (빈 값은 NULL)
+     * @param file 입력 파일 경로
+     * @return 적재 결과 (입력 행 수, 반영 행 수, 소요 시간)
+     */
+    public IngestResult importFile(Path file) throws IOException, SQLException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean jsonLines = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Reader source = jsonLines ? new JsonLinesCsvReader(in, COLUMNS) : in;
+            IngestResult result = load(copy ->
+                    copy.copyIn(String.format(COPY_CSV_SQL, jsonLines ? "false" : "true"), source, COPY_CHUNK));
+            AppLogger.log("INFO", "탄소 배출 기록 적재: " + result + " (" + file + ")");
+            return result;
+        }
+    }
+
+    /**
+     * 수집한 배출 기록 묶음을 한 트랜잭션으로 적재한다.
+     * @param events 적재할 기록 (입력 순서대로 Record_ID 부여)
+     */
+    public IngestResult ingest(List<CarbonEvent> events) throws SQLException {
+        if (events.isEmpty()) return new IngestResult(0, 0, 0);
+        try {
+            return load(copy -> copyEvents(copy, events));
+        } catch (IOException e) {
+            throw new SQLException("탄소 배출 기록 전송 실패: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 원천 기록에서 버킷을 다시 계산한다. 커밋은 호출자가 수행한다.
+     * @param pid 프로젝트 ID (null이면 전체)
+     */
+    static void rebuildBuckets(Connection conn, Integer pid) throws SQLException {
+        try (PreparedStatement pstmt = REBUILD_BUCKETS.prepare(conn)) {
+            if (pid == null) pstmt.setNull(1, Types.INTEGER);
+            else pstmt.setInt(1, pid);
+            long t = REBUILD_BUCKETS.timer().start();
+            pstmt.execute();
+            REBUILD_BUCKETS.timer().stop(t);
+        }
+    }
+
+    /** 스테이징 -> CARBON_RECORD 반영을 한 트랜잭션으로 수행한다. */
+    private IngestResult load(CopySource source) throws IOException, SQLException {
+        long start = System.nanoTime();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                long rows;
+                long inserted;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(STAGE_SQL);
+                    rows = source.copy(conn.unwrap(PGConnection.class).getCopyAPI());
+                    stmt.execute("ANALYZE STG_CARBON");
+                    inserted = stmt.executeUpdate(INSERT_SQL);
+                }
+                conn.commit();
+
+                long elapsed = System.nanoTime() - start;
+                INGEST.record(elapsed);
+                INGESTED.add(inserted);
+                REJECTED.add(rows - inserted);
+                IngestResult result = new IngestResult(rows, inserted, elapsed / 1_000_000);
+                if (result.rejected() > 0) {
+                    AppLogger.log("WARN", "탄소 배출 기록 " + result.rejected() + "건 제외 (유형/참조/날짜/배출량 확인 필요)");
+                }
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                AppLogger.log("ERROR", "탄소 배출 기록 적재 롤백: " + e.getMessage());
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /** 기록을 CSV 행으로 바꿔 COPY_CHUNK 단위로 보낸다. */
+    private static long copyEvents(CopyManager copy, List<CarbonEvent> events) throws SQLException {
+        CopyIn in = copy.copyIn(String.format(COPY_CSV_SQL, "false"));
+        try {
+            StringBuilder sb = new StringBuilder(COPY_CHUNK + 256);
+            for (CarbonEvent e : events) {
+                if (e.date() != null) sb.append(e.date());
+                sb.append(',');
+                appendCsv(sb, e.type()).append(',');
+                if (e.amount() != null) sb.append(e.amount());
+                sb.append(',');
+                appendCsv(sb, e.criteria()).append(',');
+                if (e.delId() != null) sb.append(e.delId());
+                sb.append(',');
+                if (e.projId() != null) sb.append(e.projId());
+                sb.append(',');
+                appendCsv(sb, e.userId()).append('\n');
+                if (sb.length() >= COPY_CHUNK) {
+                    byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+                    in.writeToCopy(bytes, 0, bytes.length);
+                    sb.setLength(0);
+                }
+            }
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            in.writeToCopy(bytes, 0, bytes.length);
+            return in.endCopy();
+        } finally {
+            if (in.isActive()) in.cancelCopy();
+        }
+    }
+
+    /** 따옴표로 감싼 CSV 값 (null은 빈 값 = NULL) */
+    private static StringBuilder appendCsv(StringBuilder sb, String v) {
+        if (v == null) return sb;
+        sb.append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == '"') sb.append('"');
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+
+    /** 스테이징 테이블로 입력을 보내고 행 수를 반환 */
+    private interface CopySource {
+        long copy(CopyManager copy) throws SQLException, IOException;
+    }
+
+    /**
+     * 적재 결과.
+     * @param rows 입력 행 수
+     * @param inserted CARBON_RECORD에 반영한 행 수 (나머지는 검증에서 제외)
+     */
+    public record IngestResult(long rows, long inserted, long elapsedMs) {
+        public long rejected() {
+            return rows - inserted;
+        }
+
+        public double rowsPerSec() {
+            return elapsedMs == 0 ? rows * 1000.0 : rows * 1000.0 / elapsedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d행 중 %,d행 반영 (제외 %,d) / %,d ms (%,.0f rows/sec)",
+                    rows, inserted, rejected(), elapsedMs, rowsPerSec());
+        }
+    }
+}
@@ -1,111 +1,80 @@
 package com.scm.dao;
 
+import com.scm.config.ConnectionPool;
+import com.scm.config.ReadRouter;
+import com.scm.model.ProjectDashboard;
+import com.scm.model.ProjectInfo;
+import com.scm.model.ProjectMatch;
+import com.scm.model.ProjectTotals;
 import java.sql.*;
+import java.util.List;
 
 public class DashboardDAO {
-    private Connection conn;
+    private final ReadRouter router;
 
-    public DashboardDAO(Connection conn) {
-        this.conn = conn;
+    public DashboardDAO(ConnectionPool pool) {
+        this(ReadRouter.primaryOnly(pool));
+    }
+
+    /** 검색과 집계 조회는 복제본, 아직 없는 집계의 구축은 primary에서 수행한다. */
+    public DashboardDAO(ReadRouter router) {
+        this.router = router;
     }
     /**
-     * 프로젝트 ID 또는 선박명을 기반으로 대시보드 정보를 출력한다.
+     * 프로젝트 ID 또는 선박명을 기반으로 대시보드 정보를 조회한다.
+     * 후보가 여러 개면 검색 순위가 가장 높은 프로젝트를 사용한다 (후보 선택은 ProjectSearchDAO 참고).
      * @param input 프로젝트 ID 또는 선박명 일부
+     * @return 대시보드 (조건에 맞는 프로젝트가 없으면 null)
      */
-    public void printProjectDashboard(String input) {
-        // 1. 프로젝트 기본 정보 조회 쿼리 (프로젝트 ID 혹은 선박명 일부)
-        String basicSql = "SELECT * FROM SHIP_PROJECT WHERE Proj_ID::text = ? OR ShipName LIKE ?";
-
-        try (PreparedStatement pstmt = conn.prepareStatement(basicSql)) {
-            pstmt.setString(1, input);
-            pstmt.setString(2, "%" + input + "%");
-            ResultSet rs = pstmt.executeQuery();
-
-            if (!rs.next()) {
-                System.out.println("\n[안내] 해당 조건에 맞는 프로젝트를 찾을 수 없습니다.");
-                return;
-            }
-
-            int pid = rs.getInt("Proj_ID");
-            System.out.println("\n========= [ 프로젝트 기본 정보 ] =========");
-            System.out.println("프로젝트 ID: " + pid);
-            System.out.println("선 박 명: " + rs.getString("ShipName"));
-            System.out.println("선    종: " + rs.getString("Type"));
-            System.out.println("계 약 일: " + rs.getDate("ContractDate"));
-            System.out.println("인도예정일: " + rs.getDate("DeliveryDate"));
-            System.out.println("상    태: " + rs.getString("Status"));
-
-            // 2. 비용 정보 및 탄소 정보 집계 (집계 함수, JOIN 활용)
-            printFinancialAndCarbonInfo(pid);
-
-        } catch (SQLException e) {
-            System.err.println("[ERROR] 대시보드 조회 중 오류: " + e.getMessage());
+    public ProjectDashboard findDashboard(String input) throws SQLException {
+        ProjectInfo project;
+        try (Connection conn = router.getReadConnection()) {
+            // 1. 프로젝트 검색 (ID는 기본키, 선박명은 인덱스 검색)
+            List<ProjectMatch> matches = ProjectSearchDAO.search(conn, input, 1);
+            if (matches.isEmpty()) return null;
+
+            // 2. 비용 및 탄소 정보 (집계 테이블)
+            project = matches.get(0).project();
+            ProjectDashboard dashboard = loadDashboard(conn, project);
+            if (dashboard != null) return dashboard;
         }
+        return buildDashboard(project);
     }
 
     /**
-     * 특정 프로젝트의 비용 및 탄소 배출 정보를 집계하여 출력한다.
-     * @param pid 프로젝트 ID
+     * 검색으로 고른 프로젝트의 대시보드 정보를 조회한다.
+     * @param project 프로젝트 기본 정보
      */
-    private void printFinancialAndCarbonInfo(int pid) throws SQLException {
-        // 총 발주 금액 계산
-        String costSql = "SELECT SUM(l.Qty * l.OrderPrice) as total_cost " +
-                "FROM PURCHASE_ORDER o JOIN PO_LINE l ON o.PO_ID = l.PO_ID " +
-                "WHERE o.Proj_ID = ?";
-
-        // 탄소 배출량 유형별 계산
-        String carbonSql = "SELECT " +
-                "SUM(CASE WHEN Type = '운송' THEN Amount ELSE 0 END) as transport_em, " +
-                "SUM(CASE WHEN Type = '보관' THEN Amount ELSE 0 END) as storage_em, " +
-                "SUM(Amount) as total_em " +
-                "FROM CARBON_RECORD WHERE Proj_ID = ? OR Del_ID IN (SELECT Del_ID FROM DELIVERY WHERE PO_ID IN (SELECT PO_ID FROM PURCHASE_ORDER WHERE Proj_ID = ?))";
-
-        double totalCost = 0;
-        try (PreparedStatement pstmt = conn.prepareStatement(costSql)) {
-            pstmt.setInt(1, pid);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) totalCost = rs.getDouble("total_cost");
-        }
-
-        System.out.println("\n========= [ 비용 및 탄소 리포트 ] =========");
-        System.out.printf("총 발주 금액: %,.0f 원\n", totalCost);
-
-        try (PreparedStatement pstmt = conn.prepareStatement(carbonSql)) {
-            pstmt.setInt(1, pid);
-            pstmt.setInt(2, pid);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                double transport = rs.getDouble("transport_em");
-                double storage = rs.getDouble("storage_em");
-                double totalEm = rs.getDouble("total_em");
-
-                System.out.printf("운송 탄소배출: %,.2f kg CO2e\n", transport);
-                System.out.printf("보관 탄소배출: %,.2f kg CO2e\n", storage);
-                System.out.printf("전체 탄소배출: %,.2f kg CO2e\n", totalEm);
-
-                // 간단한 지표: 탄소 집약도 계산 (kg / 백만 원)
-                if (totalCost > 0) {
-                    double intensity = totalEm / (totalCost / 1_000_000.0);
-                    System.out.printf("탄소 집약도: %,.4f kg CO2e / 백만 원\n", intensity);
-                }
-            }
+    public ProjectDashboard findDashboard(ProjectInfo project) throws SQLException {
+        try (Connection conn = router.getReadConnection()) {
+            ProjectDashboard dashboard = loadDashboard(conn, project);
+            if (dashboard != null) return dashboard;
         }
+        return buildDashboard(project);
+    }
 
-        // 공급업체별 발주 금액 상위 3개 (GROUP BY 활용)
-        String supplierSql = "SELECT s.Name, SUM(l.Qty * l.OrderPrice) as supp_total " +
-                "FROM PURCHASE_ORDER o " +
-                "JOIN SUPPLIER s ON o.Supp_ID = s.Supp_ID " +
-                "JOIN PO_LINE l ON o.PO_ID = l.PO_ID " +
-                "WHERE o.Proj_ID = ? " +
-                "GROUP BY s.Name ORDER BY supp_total DESC LIMIT 3";
+    /**
+     * 특정 프로젝트의 비용 및 탄소 배출 정보를 집계 테이블(PROJECT_ROLLUP)에서 읽는다.
+     * @param conn 대시보드 조회에 대여한 커넥션
+     * @param project 프로젝트 기본 정보
+     * @return 대시보드 (아직 집계되지 않은 프로젝트면 null)
+     */
+    private ProjectDashboard loadDashboard(Connection conn, ProjectInfo project) throws SQLException {
+        int pid = project.projId();
+        ProjectTotals totals = ProjectRollupDAO.load(conn, pid);
+        if (totals == null) return null;
+        // 공급업체별 발주 금액 상위 3개 (집계 테이블 인덱스 활용)
+        return new ProjectDashboard(project, totals, ProjectRollupDAO.topSuppliers(conn, pid, 3));
+    }
 
-        System.out.println("\n[ 공급업체별 발주 상위 3선 ]");
-        try (PreparedStatement pstmt = conn.prepareStatement(supplierSql)) {
-            pstmt.setInt(1, pid);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                System.out.printf("- %s: %,.0f 원\n", rs.getString("Name"), rs.getDouble("supp_total"));
-            }
+    /**
+     * 집계가 없는 프로젝트는 첫 조회 시 primary에서 원천 테이블로 구축하고, 복제 지연을 피하려 그대로 primary에서 읽는다.
+     */
+    private ProjectDashboard buildDashboard(ProjectInfo project) throws SQLException {
+        int pid = project.projId();
+        try (Connection conn = router.getPrimary().getConnection()) {
+            return new ProjectDashboard(project, ProjectRollupDAO.loadOrBuild(conn, pid),
+                    ProjectRollupDAO.topSuppliers(conn, pid, 3));
         }
     }
-}
\ No newline at end of file
+}
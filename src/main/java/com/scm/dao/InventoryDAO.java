@@ -0,0 +1,181 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.util.StripedLongMap;
+import java.sql.*;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 재고 엔진(InventoryEngine)의 STORES 적재/반영을 담당하는 Data Access Object 클래스.
+ * 엔진의 키는 StripedLongMap.pack(Wh_ID, Part_ID)이다.
+ * 엔진은 실행 중 STORES 기록자 advisory lock(배타, 세션 단위)을 잡고, 엔진 없이 STORES를 직접 갱신하는
+ * 트랜잭션은 같은 키의 공유 잠금을 트랜잭션 안에서 잡아야 한다 (checkDirectWrite).
+ */
+public class InventoryDAO {
+    // STORES 기록자 advisory lock 키 (임의의 고정값)
+    private static final long WRITER_LOCK_KEY = 0x5343_4D49_4E56_5752L;
+    // 엔진 시작 시 진행 중인 직접 갱신 트랜잭션이 끝나기를 기다리는 시간
+    private static final String WRITER_LOCK_TIMEOUT = "10s";
+
+    private static final SqlStatement LOAD = SqlStatement.of("inventory.load",
+            "SELECT Wh_ID, Part_ID, Inventory FROM STORES");
+    private static final SqlStatement CHECKPOINT = SqlStatement.of("inventory.checkpoint",
+            "SELECT Journal_Seq FROM INVENTORY_CHECKPOINT WHERE Journal_Id = ?");
+    private static final SqlStatement APPLY_DELTA = SqlStatement.of("inventory.apply_delta",
+            "INSERT INTO STORES (Wh_ID, Part_ID, Inventory) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (Wh_ID, Part_ID) DO UPDATE SET Inventory = STORES.Inventory + EXCLUDED.Inventory");
+    private static final SqlStatement MARK_CHECKPOINT = SqlStatement.of("inventory.mark_checkpoint",
+            "INSERT INTO INVENTORY_CHECKPOINT (Journal_Id, Journal_Seq, Flushed_At) VALUES (?, ?, now()) " +
+                    "ON CONFLICT (Journal_Id) DO UPDATE SET Journal_Seq = EXCLUDED.Journal_Seq, Flushed_At = EXCLUDED.Flushed_At");
+    private static final SqlStatement WRITER_LOCK = SqlStatement.of("inventory.writer_lock",
+            "SELECT pg_advisory_lock(?)");
+    private static final SqlStatement DIRECT_WRITE_LOCK = SqlStatement.of("inventory.direct_write_lock",
+            "SELECT pg_try_advisory_xact_lock_shared(?)");
+    private static final SqlStatement COMMITTED_ORDERS = SqlStatement.of("inventory.committed_orders",
+            "SELECT PO_ID FROM PURCHASE_ORDER WHERE PO_ID = ANY(?)");
+
+    private final ConnectionPool pool;
+
+    public InventoryDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 전용 커넥션을 열어 STORES 기록자 잠금을 잡는다. 엔진이 닫을 때 커넥션을 닫으면 풀린다.
+     * 진행 중인 직접 갱신 트랜잭션은 끝날 때까지 기다리고, 다른 엔진이 잡고 있으면 실패한다.
+     * @return 잠금을 잡은 커넥션
+     */
+    public Connection lockWriter() throws SQLException {
+        Connection conn = pool.openUnpooled();
+        try {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("SET lock_timeout = '" + WRITER_LOCK_TIMEOUT + "'");
+            }
+            try (PreparedStatement pstmt = WRITER_LOCK.prepare(conn)) {
+                pstmt.setLong(1, WRITER_LOCK_KEY);
+                pstmt.executeQuery();
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("RESET lock_timeout");
+            }
+            return conn;
+        } catch (SQLException e) {
+            conn.close();
+            if ("55P03".equals(e.getSQLState())) {
+                throw new SQLException("다른 재고 엔진이 실행 중이거나 STORES 직접 갱신 트랜잭션이 끝나지 않았습니다", e.getSQLState(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 엔진 없이 STORES를 직접 갱신하기 전에 트랜잭션 안에서 호출한다.
+     * 공유 잠금은 커밋/롤백까지 유지되므로 그동안 엔진이 시작하지 못한다.
+     * @throws SQLException 재고 엔진이 실행 중인 경우 (그 엔진의 메모리 재고와 어긋나므로 거부)
+     */
+    public static void checkDirectWrite(Connection conn) throws SQLException {
+        if (!tryDirectWriteLock(conn)) {
+            throw new SQLException("재고 엔진이 실행 중이어서 STORES를 직접 갱신할 수 없습니다. 엔진을 실행한 프로세스(데몬)를 통해 처리하세요.");
+        }
+    }
+
+    private static boolean tryDirectWriteLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = DIRECT_WRITE_LOCK.prepare(conn)) {
+            pstmt.setLong(1, WRITER_LOCK_KEY);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    /**
+     * 재고 엔진이 실행 중인지 확인한다 (미리 안내하는 용도, 실제 거부는 checkDirectWrite).
+     */
+    public boolean isWriterLocked() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                return !tryDirectWriteLock(conn);
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * STORES 전체를 맵에 적재한다.
+     * @param journalId 저널 식별자 (체크포인트 행 키)
+     * @return 이 저널에서 STORES에 반영된 마지막 저널 순번 (처음 쓰는 저널이면 0)
+     */
+    public long load(StripedLongMap target, String journalId) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            long t = LOAD.timer().start();
+            ResultStreamer.stream(conn, LOAD.sql(), (c, pstmt) -> {}, ResultStreamer.DEFAULT_FETCH_SIZE, rs ->
+                    target.put(StripedLongMap.pack(rs.getInt(1), rs.getInt(2)), rs.getLong(3)));
+            LOAD.timer().stop(t);
+            try (PreparedStatement pstmt = CHECKPOINT.prepare(conn)) {
+                pstmt.setString(1, journalId);
+                ResultSet rs = pstmt.executeQuery();
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * 창고/부품별로 합산된 증감량을 한 트랜잭션으로 STORES에 더하고 반영 순번을 기록한다.
+     * @param keys 키 (오름차순으로 정렬되어 있어야 한다: 발주 트랜잭션과 같은 (Wh_ID, Part_ID) 잠금 순서)
+     * @param deltas keys와 같은 순서의 증감량
+     * @param count 사용할 원소 수
+     * @param journalId 저널 식별자 (체크포인트 행 키)
+     * @param journalSeq 이번 반영에 포함된 마지막 저널 순번
+     */
+    public void applyDeltas(long[] keys, long[] deltas, int count, String journalId, long journalSeq) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (count > 0) {
+                    try (PreparedStatement pstmt = APPLY_DELTA.prepare(conn)) {
+                        for (int i = 0; i < count; i++) {
+                            pstmt.setInt(1, StripedLongMap.high(keys[i]));
+                            pstmt.setInt(2, StripedLongMap.low(keys[i]));
+                            pstmt.setLong(3, deltas[i]);
+                            pstmt.addBatch();
+                        }
+                        long t = APPLY_DELTA.timer().start();
+                        pstmt.executeBatch();
+                        APPLY_DELTA.timer().stop(t);
+                    }
+                }
+                try (PreparedStatement pstmt = MARK_CHECKPOINT.prepare(conn)) {
+                    pstmt.setString(1, journalId);
+                    pstmt.setLong(2, journalSeq);
+                    pstmt.executeUpdate();
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * 저널의 발주 참조 중 실제로 커밋된 발주를 고른다 (롤백된 발주의 입고 기록은 반영하지 않는다).
+     * 복구와 커밋 결과를 알 수 없는 발주의 확인에 쓴다.
+     */
+    public Set<Integer> committedOrders(Collection<Integer> poIds) throws SQLException {
+        Set<Integer> committed = new HashSet<>();
+        if (poIds.isEmpty()) return committed;
+        try (Connection conn = pool.getConnection();
+             PreparedStatement pstmt = COMMITTED_ORDERS.prepare(conn)) {
+            pstmt.setArray(1, conn.createArrayOf("integer", poIds.toArray()));
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) committed.add(rs.getInt(1));
+        }
+        return committed;
+    }
+}
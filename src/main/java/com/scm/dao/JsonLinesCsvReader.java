@@ -0,0 +1,149 @@
+package com.scm.dao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * JSON-lines 입력을 한 줄씩 읽어 지정된 컬럼 순서의 CSV 행으로 변환하는 Reader.
+ * 한 번에 한 줄만 변환하므로 파일 크기와 무관하게 메모리 사용량이 일정하다.
+ * 각 줄은 문자열/숫자/불리언/null 값만 갖는 평면 JSON 객체여야 한다.
+ */
+class JsonLinesCsvReader extends Reader {
+    private final BufferedReader source;
+    private final String[] columns;
+    private final StringBuilder row = new StringBuilder(256);
+    private int rowPos = 0;
+    private long lineNo = 0;
+
+    JsonLinesCsvReader(BufferedReader source, String[] columns) {
+        this.source = source;
+        this.columns = columns;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) return 0;
+        int written = 0;
+        while (written < len) {
+            if (rowPos == row.length() && !nextRow()) break;
+            int n = Math.min(len - written, row.length() - rowPos);
+            row.getChars(rowPos, rowPos + n, cbuf, off + written);
+            rowPos += n;
+            written += n;
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    /** 다음 비어있지 않은 JSON 줄을 CSV 행으로 변환한다. 입력 끝이면 false. */
+    private boolean nextRow() throws IOException {
+        String line;
+        do {
+            line = source.readLine();
+            if (line == null) return false;
+            lineNo++;
+        } while (line.isBlank());
+
+        Map<String, String> values = parseObject(line);
+        row.setLength(0);
+        rowPos = 0;
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) row.append(',');
+            String v = values.get(columns[i]);
+            if (v != null) appendCsv(v);
+        }
+        row.append('\n');
+        return true;
+    }
+
+    private void appendCsv(String v) {
+        row.append('"');
+        for (int i = 0; i < v.length(); i++) {
+            char c = v.charAt(i);
+            if (c == '"') row.append('"');
+            row.append(c);
+        }
+        row.append('"');
+    }
+
+    private Map<String, String> parseObject(String s) throws IOException {
+        Map<String, String> out = new HashMap<>();
+        int[] pos = {skipWs(s, 0)};
+        expect(s, pos, '{');
+        pos[0] = skipWs(s, pos[0]);
+        if (pos[0] < s.length() && s.charAt(pos[0]) == '}') return out;
+        while (true) {
+            pos[0] = skipWs(s, pos[0]);
+            String key = parseString(s, pos);
+            pos[0] = skipWs(s, pos[0]);
+            expect(s, pos, ':');
+            pos[0] = skipWs(s, pos[0]);
+            String value = pos[0] < s.length() && s.charAt(pos[0]) == '"' ? parseString(s, pos) : parseLiteral(s, pos);
+            out.put(key.toLowerCase(Locale.ROOT), value);
+            pos[0] = skipWs(s, pos[0]);
+            if (pos[0] >= s.length()) throw error("객체가 닫히지 않았습니다");
+            char c = s.charAt(pos[0]++);
+            if (c == '}') return out;
+            if (c != ',') throw error("',' 또는 '}'가 필요합니다");
+        }
+    }
+
+    private String parseString(String s, int[] pos) throws IOException {
+        expect(s, pos, '"');
+        StringBuilder sb = new StringBuilder();
+        while (pos[0] < s.length()) {
+            char c = s.charAt(pos[0]++);
+            if (c == '"') return sb.toString();
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            if (pos[0] >= s.length()) break;
+            char esc = s.charAt(pos[0]++);
+            switch (esc) {
+                case 'n': sb.append('\n'); break;
+                case 't': sb.append('\t'); break;
+                case 'r': sb.append('\r'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u':
+                    if (pos[0] + 4 > s.length()) throw error("잘못된 유니코드 이스케이프");
+                    sb.append((char) Integer.parseInt(s.substring(pos[0], pos[0] + 4), 16));
+                    pos[0] += 4;
+                    break;
+                default: sb.append(esc);
+            }
+        }
+        throw error("문자열이 닫히지 않았습니다");
+    }
+
+    /** 숫자/불리언/null 리터럴. null은 CSV 빈 값(NULL)으로 변환된다. */
+    private String parseLiteral(String s, int[] pos) {
+        int start = pos[0];
+        while (pos[0] < s.length() && ",} \t".indexOf(s.charAt(pos[0])) < 0) pos[0]++;
+        String literal = s.substring(start, pos[0]);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private void expect(String s, int[] pos, char c) throws IOException {
+        if (pos[0] >= s.length() || s.charAt(pos[0]) != c) throw error("'" + c + "'가 필요합니다");
+        pos[0]++;
+    }
+
+    private static int skipWs(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+
+    private IOException error(String message) {
+        return new IOException("JSON-lines 파싱 오류 (" + lineNo + "행): " + message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
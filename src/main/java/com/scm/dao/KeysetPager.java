@@ -0,0 +1,83 @@
+package com.scm.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋(seek) 방식 페이지 탐색기.
+ * 각 페이지는 "직전 페이지 마지막 키 이후 N건"으로 조회하므로 OFFSET처럼 앞 페이지를 다시 읽지 않는다.
+ * 이전 페이지 이동을 위해 지나온 페이지들의 시작 키만 보관한다.
+ * @param <K> 정렬 키 타입 (첫 페이지의 시작 키는 null)
+ * @param <T> 행 타입
+ */
+public class KeysetPager<K, T> {
+    private final PageFetcher<K, T> fetcher;
+    private final Function<T, K> keyOf;
+    private final int pageSize;
+    private final Deque<K> previousStarts = new ArrayDeque<>();
+    private K currentStart;
+    private Page<T> current;
+    private int pageNo;
+
+    public KeysetPager(PageFetcher<K, T> fetcher, Function<T, K> keyOf, int pageSize) {
+        this.fetcher = fetcher;
+        this.keyOf = keyOf;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 시작 키 이후 최대 limit건을 키 순서로 조회하는 방법
+     */
+    public interface PageFetcher<K, T> {
+        Page<T> fetch(K after, int limit) throws SQLException;
+    }
+
+    /** 첫 페이지로 이동한다. */
+    public Page<T> first() throws SQLException {
+        previousStarts.clear();
+        currentStart = null;
+        pageNo = 1;
+        return current = fetcher.fetch(null, pageSize);
+    }
+
+    /** 다음 페이지로 이동한다. 마지막 페이지이면 현재 페이지를 그대로 반환한다. */
+    public Page<T> next() throws SQLException {
+        if (current == null) return first();
+        if (!current.hasNext()) return current;
+        // ArrayDeque는 null을 담을 수 없으므로 첫 페이지는 비어 있는 스택으로 표현한다
+        if (pageNo > 1) previousStarts.push(currentStart);
+        currentStart = keyOf.apply(current.rows().get(current.rows().size() - 1));
+        pageNo++;
+        return current = fetcher.fetch(currentStart, pageSize);
+    }
+
+    /** 이전 페이지로 이동한다. 첫 페이지이면 첫 페이지를 다시 조회한다. */
+    public Page<T> prev() throws SQLException {
+        if (pageNo <= 2) return first();
+        currentStart = previousStarts.pop();
+        pageNo--;
+        return current = fetcher.fetch(currentStart, pageSize);
+    }
+
+    public int getPageNo() {
+        return pageNo;
+    }
+
+    public boolean hasPrev() {
+        return pageNo > 1;
+    }
+
+    /**
+     * 한 페이지 분량의 행과 다음 페이지 존재 여부
+     */
+    public record Page<T>(List<T> rows, boolean hasNext) {
+        /** limit + 1건까지 조회한 결과에서 페이지를 만든다. 초과분 1건은 다음 페이지 존재 여부로만 사용한다. */
+        public static <T> Page<T> of(List<T> fetched, int limit) {
+            return fetched.size() > limit ? new Page<>(List.copyOf(fetched.subList(0, limit)), true)
+                    : new Page<>(List.copyOf(fetched), false);
+        }
+    }
+}
@@ -1,108 +1,261 @@
 package com.scm.dao;
 
+import com.scm.config.ConnectionPool;
+import com.scm.inventory.InventoryEngine;
+import com.scm.model.OrderReceipt;
 import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import com.scm.util.RetryPolicy;
+import java.io.IOException;
 import java.sql.*;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 발주 및 납품 관리를 담당하는 Data Access Object 클래스
  */
 public class OrderDAO {
-    private Connection conn;
-    private static final int MAX_RETRIES = 3;
+    private static final SqlStatement INSERT_PO = SqlStatement.of("order.insert_po",
+            "INSERT INTO PURCHASE_ORDER (Proj_ID, Supp_ID, User_ID, Status) VALUES (?, ?, ?, '발주완료') RETURNING PO_ID");
+    private static final SqlStatement INSERT_DELIVERY = SqlStatement.of("order.insert_delivery",
+            "INSERT INTO DELIVERY (ArrivalDate, TransType, Distance, Status, PO_ID) VALUES (CURRENT_DATE, '트럭', 0, '정상', ?) RETURNING Del_ID");
+    private static final SqlStatement INSERT_LINE = SqlStatement.of("order.insert_line",
+            "INSERT INTO PO_LINE (PO_ID, LineNo, Part_ID, Qty, OrderPrice, DueDate) VALUES (?, ?, ?, ?, ?, CURRENT_DATE + 30)");
+    private static final SqlStatement INSERT_INCLUDES = SqlStatement.of("order.insert_includes",
+            "INSERT INTO INCLUDES (Del_ID, PO_ID, LineNo, DelivQty, Inspection) VALUES (?, ?, ?, ?, '초기입고')");
+    private static final SqlStatement UPSERT_STORES = SqlStatement.of("order.upsert_stores",
+            "INSERT INTO STORES (Wh_ID, Part_ID, Inventory) VALUES (?, ?, ?) " +
+                    "ON CONFLICT (Wh_ID, Part_ID) DO UPDATE SET Inventory = STORES.Inventory + EXCLUDED.Inventory");
 
-    public OrderDAO(Connection conn) {
-        this.conn = conn;
+    private static final Metrics.Timer COMMIT = Metrics.timer("sql.order.commit");
+    private static final Metrics.Timer TX = Metrics.timer("tx.order");
+    private static final Metrics.Counter COMMITS = Metrics.counter("tx.commit");
+    private static final Metrics.Counter ROLLBACKS = Metrics.counter("tx.rollback");
+    private static final Metrics.Counter RETRIES = Metrics.counter("tx.retry");
+    private static final Metrics.Counter DEADLOCKS = Metrics.counter("tx.deadlock");
+    private static final Metrics.Counter SERIALIZATION_FAILURES = Metrics.counter("tx.serialization_failure");
+
+    private final ConnectionPool pool;
+    private final RetryPolicy retryPolicy;
+    private final InventoryEngine inventory;
+
+    public OrderDAO(ConnectionPool pool) {
+        this(pool, RetryPolicy.defaults());
+    }
+
+    public OrderDAO(ConnectionPool pool, RetryPolicy retryPolicy) {
+        this(pool, retryPolicy, null);
+    }
+
+    /**
+     * @param inventory 재고 엔진 (null이면 트랜잭션 안에서 STORES를 직접 Upsert)
+     */
+    public OrderDAO(ConnectionPool pool, RetryPolicy retryPolicy, InventoryEngine inventory) {
+        this.pool = pool;
+        this.retryPolicy = retryPolicy;
+        this.inventory = inventory;
+    }
+
+    public ConnectionPool getPool() {
+        return pool;
     }
 
     /**
      * 신규 발주 등록, 초기 납품 생성 및 재고 반영을 하나의 트랜잭션으로 처리한다.
+     * 데드락/직렬화 실패 시 재시도 정책에 따라 지수 백오프 후 재시도한다.
+     * 시도마다 커넥션을 빌리고, 백오프 대기 전에 풀에 돌려주어 대기 중에 다른 요청이 쓸 수 있게 한다.
      * @param pid 프로젝트 ID
      * @param sid 공급업체 ID
      * @param userId 담당 사용자 ID
      * @param items 발주 항목 리스트
      * @param wid 입고할 창고 ID
+     * @return 처리 결과 (롤백 후 재시도하지 못하면 null)
      */
-    public void processOrderTransaction(int pid, int sid, String userId, List<OrderItem> items, int wid) {
-        int retryCount = 0;
-        boolean success = false;
-
-        while (retryCount < MAX_RETRIES && !success) {
-            try {
-                conn.setAutoCommit(false);
-                AppLogger.log("INFO", "발주 트랜잭션 시도 " + (retryCount + 1));
-
-                // 1. 발주서 생성
-                int poId = 0;
-                String poSql = "INSERT INTO PURCHASE_ORDER (Proj_ID, Supp_ID, User_ID, Status) VALUES (?, ?, ?, '발주완료') RETURNING PO_ID";
-                try (PreparedStatement pstmt = conn.prepareStatement(poSql)) {
-                    pstmt.setInt(1, pid); pstmt.setInt(2, sid); pstmt.setString(3, userId);
-                    ResultSet rs = pstmt.executeQuery();
-                    if (rs.next()) poId = rs.getInt(1);
+    public OrderReceipt processOrderTransaction(int pid, int sid, String userId, List<OrderItem> items, int wid) {
+        OrderRequest request = new OrderRequest(pid, sid, userId, items, wid);
+        for (int attempt = 1; ; attempt++) {
+            SQLException failure;
+            try (Connection conn = pool.getConnection()) {
+                try {
+                    AppLogger.log("INFO", "발주 트랜잭션 시도 " + attempt);
+                    return executeOrder(conn, request);
+                } catch (SQLException e) {
+                    failure = e;
                 }
+            } catch (SQLException e) {
+                AppLogger.log("ERROR", "발주 처리용 커넥션 대여 실패: " + e.getMessage());
+                return null;
+            }
+            AppLogger.log("ERROR", "트랜잭션 롤백: " + failure.getMessage());
+            if (!retryPolicy.shouldRetry(failure, attempt)) return null;
+            recordRetry();
+            try {
+                Thread.sleep(retryPolicy.backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
 
-                // 2. 초기 납품 기록 생성
-                int delId = 0;
-                String delSql = "INSERT INTO DELIVERY (ArrivalDate, TransType, Distance, Status, PO_ID) VALUES (CURRENT_DATE, '트럭', 0, '정상', ?) RETURNING Del_ID";
-                try (PreparedStatement pstmt = conn.prepareStatement(delSql)) {
-                    pstmt.setInt(1, poId);
-                    ResultSet rs = pstmt.executeQuery();
-                    if (rs.next()) delId = rs.getInt(1);
-                }
+    /**
+     * 발주 트랜잭션을 한 번 수행한다. 실패 시 롤백 후 예외를 그대로 던지며 재시도는 호출자가 결정한다.
+     * @param conn 트랜잭션에 사용할 커넥션
+     * @param request 발주 요청
+     * @return 커밋된 발주의 처리 결과
+     */
+    public OrderReceipt executeOrder(Connection conn, OrderRequest request) throws SQLException {
+        long txStart = TX.start();
+        InventoryEngine.Staged staged = null;
+        try {
+            conn.setAutoCommit(false);
+
+            // 1. 발주서 생성
+            int poId = 0;
+            try (PreparedStatement pstmt = INSERT_PO.prepare(conn)) {
+                pstmt.setInt(1, request.pid); pstmt.setInt(2, request.sid); pstmt.setString(3, request.userId);
+                long t = INSERT_PO.timer().start();
+                ResultSet rs = pstmt.executeQuery();
+                INSERT_PO.timer().stop(t);
+                if (rs.next()) poId = rs.getInt(1);
+            }
+
+            // 2. 초기 납품 기록 생성
+            int delId = 0;
+            try (PreparedStatement pstmt = INSERT_DELIVERY.prepare(conn)) {
+                pstmt.setInt(1, poId);
+                long t = INSERT_DELIVERY.timer().start();
+                ResultSet rs = pstmt.executeQuery();
+                INSERT_DELIVERY.timer().stop(t);
+                if (rs.next()) delId = rs.getInt(1);
+            }
 
-                // 3. 각 항목 처리
+            // 3. 각 항목 처리 (문장은 트랜잭션당 한 번만 준비하고 배치로 전송)
+            // Part_ID 오름차순 정렬: 동시 발주들이 STORES 행 잠금을 (Wh_ID, Part_ID) 순서로 획득하도록 한다
+            Map<Integer, Integer> storeQtyByPart = new TreeMap<>();
+            double totalAmount = 0;
+            long receivedQty = 0;
+            List<OrderItem> items = request.items;
+            try (PreparedStatement linePstmt = INSERT_LINE.prepare(conn);
+                 PreparedStatement incPstmt = INSERT_INCLUDES.prepare(conn)) {
                 for (int i = 0; i < items.size(); i++) {
                     OrderItem item = items.get(i);
                     int lineNo = i + 1;
 
                     // 3-1. PO_LINE 삽입
-                    String lineSql = "INSERT INTO PO_LINE (PO_ID, LineNo, Part_ID, Qty, OrderPrice, DueDate) VALUES (?, ?, ?, ?, ?, CURRENT_DATE + 30)";
-                    try (PreparedStatement pstmt = conn.prepareStatement(lineSql)) {
-                        pstmt.setInt(1, poId); pstmt.setInt(2, lineNo); pstmt.setInt(3, item.partId);
-                        pstmt.setInt(4, item.qty); pstmt.setDouble(5, item.price);
-                        pstmt.executeUpdate();
-                    }
+                    linePstmt.setInt(1, poId); linePstmt.setInt(2, lineNo); linePstmt.setInt(3, item.partId);
+                    linePstmt.setInt(4, item.qty); linePstmt.setDouble(5, item.price);
+                    linePstmt.addBatch();
 
                     // 3-2. INCLUDES(DeliveryItem) 삽입
                     int delivQty = (int) (item.qty * 0.5);
-                    String incSql = "INSERT INTO INCLUDES (Del_ID, PO_ID, LineNo, DelivQty, Inspection) VALUES (?, ?, ?, ?, '초기입고')";
-                    try (PreparedStatement pstmt = conn.prepareStatement(incSql)) {
-                        pstmt.setInt(1, delId); pstmt.setInt(2, poId); pstmt.setInt(3, lineNo);
-                        pstmt.setInt(4, delivQty);
-                        pstmt.executeUpdate();
-                    }
+                    incPstmt.setInt(1, delId); incPstmt.setInt(2, poId); incPstmt.setInt(3, lineNo);
+                    incPstmt.setInt(4, delivQty);
+                    incPstmt.addBatch();
 
-                    // 3-3. 재고 반영 (Upsert)
-                    String upsertSql = "INSERT INTO STORES (Wh_ID, Part_ID, Inventory) VALUES (?, ?, ?) " +
-                            "ON CONFLICT (Wh_ID, Part_ID) DO UPDATE SET Inventory = STORES.Inventory + EXCLUDED.Inventory";
-                    try (PreparedStatement pstmt = conn.prepareStatement(upsertSql)) {
-                        pstmt.setInt(1, wid); pstmt.setInt(2, item.partId); pstmt.setInt(3, delivQty);
-                        pstmt.executeUpdate();
+                    // 동일 부품이 여러 라인에 있으면 재고 반영량을 합산
+                    storeQtyByPart.merge(item.partId, delivQty, Integer::sum);
+                    totalAmount += item.qty * item.price;
+                    receivedQty += delivQty;
+                }
+                long t = INSERT_LINE.timer().start();
+                linePstmt.executeBatch();
+                INSERT_LINE.timer().stop(t);
+                t = INSERT_INCLUDES.timer().start();
+                incPstmt.executeBatch();
+                INSERT_INCLUDES.timer().stop(t);
+            }
+
+            // 3-3. 재고 반영 (부품별 1회 Upsert, 재고 엔진을 쓰면 커밋 직전에 저널 기록으로 대신한다)
+            //      다른 프로세스의 엔진이 STORES를 맡고 있으면 직접 갱신하지 않고 거부한다
+            if (inventory == null) {
+                InventoryDAO.checkDirectWrite(conn);
+                try (PreparedStatement pstmt = UPSERT_STORES.prepare(conn)) {
+                    for (Map.Entry<Integer, Integer> e : storeQtyByPart.entrySet()) {
+                        pstmt.setInt(1, request.wid); pstmt.setInt(2, e.getKey()); pstmt.setInt(3, e.getValue());
+                        pstmt.addBatch();
                     }
+                    long t = UPSERT_STORES.timer().start();
+                    pstmt.executeBatch();
+                    UPSERT_STORES.timer().stop(t);
                 }
+            }
 
+            // 4. 재고 엔진: STORES 행 잠금 없이 입고분을 저널에 남기고 커밋 후 메모리 재고에 반영
+            if (inventory != null) {
+                try {
+                    staged = inventory.stage(poId, request.wid, storeQtyByPart);
+                } catch (IOException e) {
+                    throw new SQLException("재고 저널 기록 실패: " + e.getMessage(), e);
+                }
+            }
+
+            // 5. 프로젝트 비용 집계 반영: 같은 프로젝트의 발주는 집계 행 잠금에서 차례를 기다리므로
+            //    저널 동기화 등 느린 작업을 모두 마친 뒤 커밋 직전 마지막 문장으로 수행한다
+            ProjectRollupDAO.applyOrder(conn, poId, request.pid, request.sid);
+
+            long t = COMMIT.start();
+            try {
                 conn.commit();
-                AppLogger.log("INFO", "발주 트랜잭션 커밋 완료 (PO_ID: " + poId + ")");
-                success = true;
             } catch (SQLException e) {
-                try {
-                    conn.rollback();
-                    AppLogger.log("ERROR", "트랜잭션 롤백: " + e.getMessage());
-                    if ("40P01".equals(e.getSQLState())) { // Deadlock retry
-                        retryCount++;
-                        Thread.sleep(1000);
-                    } else { break; }
-                } catch (Exception ex) { break; }
-            } finally {
-                try { conn.setAutoCommit(true); } catch (SQLException e) {}
+                // 서버에서는 커밋되었을 수 있다: 저널 기록을 남겨 두고 다음 반영 때 PO_ID로 확인한다
+                if (staged != null) staged.inDoubt();
+                throw e;
             }
+            COMMIT.stop(t);
+            if (staged != null) staged.apply();
+            COMMITS.increment();
+            TX.stop(txStart);
+            // 스냅샷 모드는 MV 갱신 후 캐시 전체가 무효화된다
+            if (!SupplierSnapshotDAO.isEnabled()) SupplierStatsCache.shared().invalidate(request.sid);
+            AppLogger.log("INFO", "발주 트랜잭션 커밋 완료 (PO_ID: " + poId + ")");
+            return new OrderReceipt(poId, delId, request.pid, request.sid, request.wid, items.size(), totalAmount, receivedQty);
+        } catch (SQLException e) {
+            try { conn.rollback(); } catch (SQLException ignored) {}
+            recordFailure(e);
+            throw e;
+        } finally {
+            if (staged != null) staged.cancel(); // apply()/inDoubt() 이후에는 무시된다
+            try { conn.setAutoCommit(true); } catch (SQLException e) {}
         }
     }
 
+    /** 롤백된 트랜잭션을 원인별로 집계한다. */
+    private static void recordFailure(SQLException e) {
+        ROLLBACKS.increment();
+        for (SQLException cur = e; cur != null; cur = cur.getNextException()) {
+            if (RetryPolicy.DEADLOCK_DETECTED.equals(cur.getSQLState())) {
+                DEADLOCKS.increment();
+                return;
+            }
+            if (RetryPolicy.SERIALIZATION_FAILURE.equals(cur.getSQLState())) {
+                SERIALIZATION_FAILURES.increment();
+                return;
+            }
+        }
+    }
+
+    /** 재시도 횟수 카운터 (OrderProcessingEngine과 공유) */
+    public static void recordRetry() {
+        RETRIES.increment();
+    }
+
     public static class OrderItem {
         public int partId; public int qty; public double price;
         public OrderItem(int partId, int qty, double price) {
             this.partId = partId; this.qty = qty; this.price = price;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 발주 한 건의 입력값 묶음
+     */
+    public static class OrderRequest {
+        public final int pid; public final int sid; public final String userId;
+        public final List<OrderItem> items; public final int wid;
+        public OrderRequest(int pid, int sid, String userId, List<OrderItem> items, int wid) {
+            this.pid = pid; this.sid = sid; this.userId = userId; this.items = items; this.wid = wid;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.inventory.InventoryEngine;
+import com.scm.util.AppLogger;
+import com.scm.util.StripedLongMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+
+/**
+ * ERP 내보내기 파일(CSV 또는 JSON-lines)의 발주를 일괄 등록하는 Data Access Object 클래스.
+ * 파일을 COPY로 임시 스테이징 테이블에 스트리밍한 뒤, 집합 연산 SQL로
+ * PURCHASE_ORDER, DELIVERY, PO_LINE, INCLUDES, STORES에 한 트랜잭션으로 반영한다.
+ * 발주당 초기 납품 1건, 발주수량 50% 입고, 재고 Upsert 및 프로젝트 집계 반영 규칙은 OrderDAO와 동일하다.
+ */
+public class OrderImportDAO {
+    /** 입력 파일 컬럼 순서 (CSV 헤더 및 JSON 키) */
+    static final String[] COLUMNS = {"order_ref", "proj_id", "supp_id", "user_id", "wh_id", "part_id", "qty", "price"};
+
+    private static final String STAGE_SQL =
+            "CREATE TEMP TABLE STG_ORDER_LINE (" +
+                    "Seq BIGSERIAL, Order_Ref TEXT NOT NULL, Proj_ID INT NOT NULL, Supp_ID INT NOT NULL, " +
+                    "User_ID TEXT NOT NULL, Wh_ID INT NOT NULL, Part_ID INT NOT NULL, Qty INT NOT NULL, " +
+                    "Price NUMERIC NOT NULL) ON COMMIT DROP";
+
+    private static final String COPY_CSV_SQL =
+            "COPY STG_ORDER_LINE (Order_Ref, Proj_ID, Supp_ID, User_ID, Wh_ID, Part_ID, Qty, Price) " +
+                    "FROM STDIN WITH (FORMAT csv, HEADER %s)";
+
+    // 같은 주문 참조번호인데 헤더(프로젝트/공급업체/담당자/창고)가 행마다 다른 발주 (최대 10건 + 초과 여부 확인용 1건)
+    private static final String HEADER_CONFLICT_SQL =
+            "SELECT Order_Ref FROM STG_ORDER_LINE GROUP BY Order_Ref " +
+                    "HAVING MIN(Proj_ID) <> MAX(Proj_ID) OR MIN(Supp_ID) <> MAX(Supp_ID) " +
+                    "OR MIN(User_ID) <> MAX(User_ID) OR MIN(Wh_ID) <> MAX(Wh_ID) " +
+                    "ORDER BY Order_Ref LIMIT 11";
+
+    // 발주 단위 헤더: 주문 참조번호별 첫 행 기준으로 PO_ID/Del_ID를 시퀀스에서 미리 할당 (헤더는 검증을 거쳐 모든 행이 같다)
+    private static final String STAGE_PO_SQL =
+            "CREATE TEMP TABLE STG_PO ON COMMIT DROP AS " +
+                    "SELECT h.Order_Ref, h.Proj_ID, h.Supp_ID, h.User_ID, h.Wh_ID, " +
+                    "nextval(pg_get_serial_sequence('purchase_order', 'po_id'))::int AS PO_ID, " +
+                    "nextval(pg_get_serial_sequence('delivery', 'del_id'))::int AS Del_ID " +
+                    "FROM (SELECT DISTINCT ON (Order_Ref) Order_Ref, Proj_ID, Supp_ID, User_ID, Wh_ID " +
+                    "      FROM STG_ORDER_LINE ORDER BY Order_Ref, Seq) h";
+
+    // 라인 단위: 파일 내 순서대로 발주별 LineNo 부여
+    private static final String STAGE_LINE_SQL =
+            "CREATE TEMP TABLE STG_LINE ON COMMIT DROP AS " +
+                    "SELECT p.PO_ID, p.Del_ID, p.Wh_ID, " +
+                    "ROW_NUMBER() OVER (PARTITION BY l.Order_Ref ORDER BY l.Seq)::int AS LineNo, " +
+                    "l.Part_ID, l.Qty, l.Price " +
+                    "FROM STG_ORDER_LINE l JOIN STG_PO p ON p.Order_Ref = l.Order_Ref";
+
+    private static final String[] FAN_OUT_SQL = {
+            "INSERT INTO PURCHASE_ORDER (PO_ID, Proj_ID, Supp_ID, User_ID, Status) " +
+                    "SELECT PO_ID, Proj_ID, Supp_ID, User_ID, '발주완료' FROM STG_PO ORDER BY PO_ID",
+            "INSERT INTO DELIVERY (Del_ID, ArrivalDate, TransType, Distance, Status, PO_ID) " +
+                    "SELECT Del_ID, CURRENT_DATE, '트럭', 0, '정상', PO_ID FROM STG_PO ORDER BY Del_ID",
+            "INSERT INTO PO_LINE (PO_ID, LineNo, Part_ID, Qty, OrderPrice, DueDate) " +
+                    "SELECT PO_ID, LineNo, Part_ID, Qty, Price, CURRENT_DATE + 30 FROM STG_LINE",
+            // 발주수량 50% 초기 입고 (정수 나눗셈 = OrderDAO의 (int)(qty * 0.5))
+            "INSERT INTO INCLUDES (Del_ID, PO_ID, LineNo, DelivQty, Inspection) " +
+                    "SELECT Del_ID, PO_ID, LineNo, Qty / 2, '초기입고' FROM STG_LINE"
+    };
+
+    // 이미 집계된 프로젝트의 비용 집계에 가져온 발주 금액 반영. 프로젝트 잠금(Proj_ID 순서)을 먼저 잡고,
+    // 잠금을 커밋까지 유지하므로 재고 반영까지 마친 뒤 마지막에 실행한다
+    private static final String[] ROLLUP_SQL = {
+            "SELECT fn_project_rollup_lock(ARRAY(SELECT Proj_ID FROM STG_PO))",
+            "UPDATE PROJECT_ROLLUP r SET Total_Cost = r.Total_Cost + c.amt, Updated_At = now() " +
+                    "FROM (SELECT p.Proj_ID, SUM(l.Qty * l.Price) AS amt FROM STG_LINE l JOIN STG_PO p ON p.PO_ID = l.PO_ID " +
+                    "      GROUP BY p.Proj_ID) c WHERE r.Proj_ID = c.Proj_ID",
+            "INSERT INTO PROJECT_SUPPLIER_ROLLUP AS r (Proj_ID, Supp_ID, Total_Cost) " +
+                    "SELECT p.Proj_ID, p.Supp_ID, SUM(l.Qty * l.Price) FROM STG_LINE l JOIN STG_PO p ON p.PO_ID = l.PO_ID " +
+                    "WHERE EXISTS (SELECT 1 FROM PROJECT_ROLLUP pr WHERE pr.Proj_ID = p.Proj_ID) " +
+                    "GROUP BY p.Proj_ID, p.Supp_ID " +
+                    "ON CONFLICT (Proj_ID, Supp_ID) DO UPDATE SET Total_Cost = r.Total_Cost + EXCLUDED.Total_Cost"
+    };
+
+    // 창고/부품별로 합산하여 한 번만 Upsert, 잠금 순서를 (Wh_ID, Part_ID)로 고정
+    private static final String UPSERT_STORES_SQL =
+            "INSERT INTO STORES (Wh_ID, Part_ID, Inventory) " +
+                    "SELECT Wh_ID, Part_ID, SUM(Qty / 2) FROM STG_LINE GROUP BY Wh_ID, Part_ID ORDER BY Wh_ID, Part_ID " +
+                    "ON CONFLICT (Wh_ID, Part_ID) DO UPDATE SET Inventory = STORES.Inventory + EXCLUDED.Inventory";
+
+    // 재고 엔진 사용 시 창고/부품별 입고량과 저널 참조용 PO_ID (가져온 발주는 한 트랜잭션이므로 하나로 충분)
+    private static final String STORES_DELTA_SQL =
+            "SELECT Wh_ID, Part_ID, SUM(Qty / 2)::int, (SELECT MIN(PO_ID) FROM STG_PO) " +
+                    "FROM STG_LINE GROUP BY Wh_ID, Part_ID ORDER BY Wh_ID, Part_ID";
+
+    private final ConnectionPool pool;
+    private final InventoryEngine inventory;
+
+    public OrderImportDAO(ConnectionPool pool) {
+        this(pool, null);
+    }
+
+    /**
+     * @param inventory 재고 엔진 (null이면 STORES를 직접 Upsert)
+     */
+    public OrderImportDAO(ConnectionPool pool, InventoryEngine inventory) {
+        this.pool = pool;
+        this.inventory = inventory;
+    }
+
+    /**
+     * 발주 파일을 일괄 등록한다. 확장자가 .jsonl/.ndjson이면 JSON-lines, 그 외는 헤더가 있는 CSV로 처리한다.
+     * CSV 컬럼: order_ref,proj_id,supp_id,user_id,wh_id,part_id,qty,price (같은 order_ref 행이 한 발주)
+     * @param file 입력 파일 경로
+     * @return 가져오기 결과 (행 수, 발주 수, 소요 시간)
+     */
+    public ImportResult importOrders(Path file) throws IOException, SQLException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean jsonLines = name.endsWith(".jsonl") || name.endsWith(".ndjson");
+        long start = System.nanoTime();
+
+        InventoryEngine.Staged staged = null;
+        try (Connection conn = pool.getConnection();
+             BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            conn.setAutoCommit(false);
+            try {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute(STAGE_SQL);
+                }
+
+                // 1. 파일을 스테이징 테이블로 스트리밍
+                CopyManager copy = conn.unwrap(PGConnection.class).getCopyAPI();
+                Reader source = jsonLines ? new JsonLinesCsvReader(in, COLUMNS) : in;
+                long rows = copy.copyIn(String.format(COPY_CSV_SQL, jsonLines ? "false" : "true"), source, 64 * 1024);
+                AppLogger.log("INFO", "스테이징 적재 완료: " + rows + "행 (" + file + ")");
+
+                // 2. 스테이징 데이터를 실제 테이블로 분배
+                long orders;
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ANALYZE STG_ORDER_LINE");
+                    checkHeaders(stmt);
+                    orders = stmt.executeUpdate(STAGE_PO_SQL);
+                    stmt.executeUpdate(STAGE_LINE_SQL);
+                    for (String sql : FAN_OUT_SQL) stmt.executeUpdate(sql);
+                    if (inventory == null) {
+                        // 다른 프로세스의 엔진이 STORES를 맡고 있으면 직접 갱신하지 않고 거부한다
+                        InventoryDAO.checkDirectWrite(conn);
+                        stmt.executeUpdate(UPSERT_STORES_SQL);
+                    } else {
+                        staged = stageInventory(stmt);
+                    }
+                    for (String sql : ROLLUP_SQL) stmt.execute(sql);
+                }
+
+                try {
+                    conn.commit();
+                } catch (SQLException e) {
+                    // 서버에서는 커밋되었을 수 있다: 저널 기록을 남겨 두고 다음 반영 때 PO_ID로 확인한다
+                    if (staged != null) staged.inDoubt();
+                    throw e;
+                }
+                if (staged != null) staged.apply();
+                if (!SupplierSnapshotDAO.isEnabled()) SupplierStatsCache.shared().invalidateAll();
+                ImportResult result = new ImportResult(rows, orders, (System.nanoTime() - start) / 1_000_000);
+                AppLogger.log("INFO", "발주 일괄 등록 커밋 완료: " + result);
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                // 롤백 실패가 원래 오류를 가리지 않도록 덧붙여 던진다
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                AppLogger.log("ERROR", "발주 일괄 등록 롤백: " + e.getMessage());
+                throw e;
+            }
+        } finally {
+            if (staged != null) staged.cancel(); // apply()/inDoubt() 이후에는 무시된다
+        }
+    }
+
+    /**
+     * 한 발주의 행들이 같은 헤더를 갖는지 확인한다. 다르면 어느 행을 기준으로 할지 정할 수 없으므로 파일 전체를 거부한다.
+     * @throws IOException 헤더가 다른 주문 참조번호가 있는 경우 (최대 10건을 메시지에 표시)
+     */
+    private static void checkHeaders(Statement stmt) throws SQLException, IOException {
+        List<String> conflicts = new ArrayList<>();
+        try (ResultSet rs = stmt.executeQuery(HEADER_CONFLICT_SQL)) {
+            while (rs.next()) conflicts.add(rs.getString(1));
+        }
+        if (conflicts.isEmpty()) return;
+        String refs = String.join(", ", conflicts.subList(0, Math.min(10, conflicts.size())));
+        throw new IOException("같은 order_ref의 행끼리 proj_id/supp_id/user_id/wh_id가 다릅니다: " + refs
+                + (conflicts.size() > 10 ? " 외" : ""));
+    }
+
+    /** 가져온 입고분을 재고 엔진 저널에 기록한다 (커밋 후 apply). */
+    private InventoryEngine.Staged stageInventory(Statement stmt) throws SQLException, IOException {
+        List<Long> keys = new ArrayList<>();
+        List<Integer> deltas = new ArrayList<>();
+        int ref = 0;
+        try (ResultSet rs = stmt.executeQuery(STORES_DELTA_SQL)) {
+            while (rs.next()) {
+                keys.add(StripedLongMap.pack(rs.getInt(1), rs.getInt(2)));
+                deltas.add(rs.getInt(3));
+                ref = rs.getInt(4);
+            }
+        }
+        return inventory.stage(ref, keys.stream().mapToLong(Long::longValue).toArray(),
+                deltas.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * 일괄 등록 결과.
+     */
+    public record ImportResult(long rows, long orders, long elapsedMs) {
+        public double rowsPerSec() {
+            return elapsedMs == 0 ? rows * 1000.0 : rows * 1000.0 / elapsedMs;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%,d행 / 발주 %,d건 / %,d ms (%,.0f rows/sec)", rows, orders, elapsedMs, rowsPerSec());
+        }
+    }
+}
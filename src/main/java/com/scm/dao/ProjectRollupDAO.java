@@ -0,0 +1,249 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.model.ProjectTotals;
+import com.scm.model.SupplierTotal;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 프로젝트별 비용/탄소 집계(PROJECT_ROLLUP, PROJECT_SUPPLIER_ROLLUP)를 관리하는 Data Access Object 클래스.
+ * 발주 커밋과 탄소 기록 적재 시 증분 갱신되며, 원천 테이블과의 차이는 검증/재구축으로 복구한다.
+ * 탄소 배출량은 재구축할 때도 원천 기록 대신 월 버킷(CARBON_PROJECT_BUCKET) 합계를 사용한다.
+ * 증분 갱신과 재구축은 프로젝트별 advisory lock(fn_project_rollup_lock)으로 직렬화하여,
+ * 재구축이 읽은 뒤 커밋된 증분을 덮어쓰거나 재구축 중 아직 없는 행에 대한 증분이 사라지지 않게 한다.
+ */
+public class ProjectRollupDAO {
+    /** 검증 시 허용하는 금액/배출량 오차 */
+    private static final double TOLERANCE = 0.005;
+
+    // 프로젝트 집계 갱신 잠금 (트랜잭션 끝까지 유지)
+    private static final SqlStatement LOCK = SqlStatement.of("rollup.lock",
+            "SELECT fn_project_rollup_lock(ARRAY[?]::int[])");
+
+    // 발주 1건의 금액을 프로젝트/공급업체 집계에 반영 (이미 집계된 프로젝트만)
+    private static final SqlStatement APPLY_ORDER = SqlStatement.of("rollup.apply_order",
+            "WITH c AS (SELECT COALESCE(SUM(Qty * OrderPrice), 0) AS amt FROM PO_LINE WHERE PO_ID = ?), " +
+                    "p AS (UPDATE PROJECT_ROLLUP r SET Total_Cost = r.Total_Cost + c.amt, Updated_At = now() " +
+                    "      FROM c WHERE r.Proj_ID = ? RETURNING r.Proj_ID) " +
+                    "INSERT INTO PROJECT_SUPPLIER_ROLLUP AS s (Proj_ID, Supp_ID, Total_Cost) " +
+                    "SELECT p.Proj_ID, ?, c.amt FROM p, c " +
+                    "ON CONFLICT (Proj_ID, Supp_ID) DO UPDATE SET Total_Cost = s.Total_Cost + EXCLUDED.Total_Cost");
+
+    // 원천 테이블 기준 집계 (검증용, 대시보드 기존 계산식과 동일), 파라미터: pid x3
+    private static final String LIVE_SQL =
+            "SELECT c.total_cost, e.transport_em, e.storage_em, e.total_em FROM " +
+                    "(SELECT COALESCE(SUM(l.Qty * l.OrderPrice), 0) AS total_cost " +
+                    " FROM PURCHASE_ORDER o JOIN PO_LINE l ON o.PO_ID = l.PO_ID WHERE o.Proj_ID = ?) c, " +
+                    "(SELECT COALESCE(SUM(CASE WHEN Type = '운송' THEN Amount ELSE 0 END), 0) AS transport_em, " +
+                    "        COALESCE(SUM(CASE WHEN Type = '보관' THEN Amount ELSE 0 END), 0) AS storage_em, " +
+                    "        COALESCE(SUM(Amount), 0) AS total_em " +
+                    " FROM CARBON_RECORD WHERE Proj_ID = ? OR Del_ID IN (SELECT d.Del_ID FROM DELIVERY d " +
+                    " JOIN PURCHASE_ORDER o ON o.PO_ID = d.PO_ID WHERE o.Proj_ID = ?)) e";
+    private static final SqlStatement LIVE = SqlStatement.of("rollup.live", LIVE_SQL);
+
+    // 발주 금액은 원천, 탄소는 월 버킷 합계 (기록 수와 무관하게 월 수만큼 읽음), 파라미터: pid, pid
+    private static final String BUILD_SQL =
+            "SELECT c.total_cost, e.transport_em, e.storage_em, e.total_em FROM " +
+                    "(SELECT COALESCE(SUM(l.Qty * l.OrderPrice), 0) AS total_cost " +
+                    " FROM PURCHASE_ORDER o JOIN PO_LINE l ON o.PO_ID = l.PO_ID WHERE o.Proj_ID = ?) c, " +
+                    "(SELECT COALESCE(SUM(Transport_Em), 0) AS transport_em, COALESCE(SUM(Storage_Em), 0) AS storage_em, " +
+                    "        COALESCE(SUM(Total_Em), 0) AS total_em " +
+                    " FROM CARBON_PROJECT_BUCKET WHERE Proj_ID = ? AND Grain = 'M') e";
+
+    // 파라미터: pid, BUILD_SQL(pid x2)
+    private static final SqlStatement REBUILD_ROLLUP = SqlStatement.of("rollup.rebuild",
+            "INSERT INTO PROJECT_ROLLUP (Proj_ID, Total_Cost, Transport_Em, Storage_Em, Total_Em, Updated_At) " +
+                    "SELECT ?, b.total_cost, b.transport_em, b.storage_em, b.total_em, now() " +
+                    "FROM (" + BUILD_SQL + ") b " +
+                    "ON CONFLICT (Proj_ID) DO UPDATE SET Total_Cost = EXCLUDED.Total_Cost, " +
+                    "Transport_Em = EXCLUDED.Transport_Em, Storage_Em = EXCLUDED.Storage_Em, " +
+                    "Total_Em = EXCLUDED.Total_Em, Updated_At = now()");
+
+    private static final SqlStatement DELETE_SUPPLIER_ROLLUP = SqlStatement.of("rollup.delete_suppliers",
+            "DELETE FROM PROJECT_SUPPLIER_ROLLUP WHERE Proj_ID = ?");
+
+    private static final SqlStatement REBUILD_SUPPLIER = SqlStatement.of("rollup.rebuild_suppliers",
+            "INSERT INTO PROJECT_SUPPLIER_ROLLUP (Proj_ID, Supp_ID, Total_Cost) " +
+                    "SELECT o.Proj_ID, o.Supp_ID, SUM(l.Qty * l.OrderPrice) " +
+                    "FROM PURCHASE_ORDER o JOIN PO_LINE l ON o.PO_ID = l.PO_ID " +
+                    "WHERE o.Proj_ID = ? GROUP BY o.Proj_ID, o.Supp_ID");
+
+    private static final SqlStatement LOAD = SqlStatement.of("rollup.load",
+            "SELECT Total_Cost, Transport_Em, Storage_Em, Total_Em FROM PROJECT_ROLLUP WHERE Proj_ID = ?");
+
+    private static final SqlStatement TOP_SUPPLIERS = SqlStatement.of("rollup.top_suppliers",
+            "SELECT s.Name, r.Total_Cost FROM PROJECT_SUPPLIER_ROLLUP r JOIN SUPPLIER s ON s.Supp_ID = r.Supp_ID " +
+                    "WHERE r.Proj_ID = ? ORDER BY r.Total_Cost DESC LIMIT ?");
+
+    private static final SqlStatement PROJECT_IDS = SqlStatement.of("rollup.project_ids",
+            "SELECT Proj_ID FROM SHIP_PROJECT ORDER BY Proj_ID");
+
+    private final ConnectionPool pool;
+
+    public ProjectRollupDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * 발주 트랜잭션 안에서 해당 발주 금액을 집계에 더한다. 커밋은 호출자가 수행한다.
+     * 프로젝트 잠금을 커밋까지 잡고 있으므로 트랜잭션의 마지막 작업으로 호출한다.
+     * @param conn 발주 트랜잭션 커넥션
+     * @param poId 방금 생성한 발주 ID
+     * @param pid 프로젝트 ID
+     * @param sid 공급업체 ID
+     */
+    static void applyOrder(Connection conn, int poId, int pid, int sid) throws SQLException {
+        lock(conn, pid);
+        try (PreparedStatement pstmt = APPLY_ORDER.prepare(conn)) {
+            pstmt.setInt(1, poId); pstmt.setInt(2, pid); pstmt.setInt(3, sid);
+            long t = APPLY_ORDER.timer().start();
+            pstmt.executeUpdate();
+            APPLY_ORDER.timer().stop(t);
+        }
+    }
+
+    /** 프로젝트 집계 갱신 잠금을 잡는다 (진행 중인 재구축/증분이 커밋될 때까지 대기). */
+    private static void lock(Connection conn, int pid) throws SQLException {
+        try (PreparedStatement pstmt = LOCK.prepare(conn)) {
+            pstmt.setInt(1, pid);
+            long t = LOCK.timer().start();
+            pstmt.execute();
+            LOCK.timer().stop(t);
+        }
+    }
+
+    /**
+     * 프로젝트 집계를 조회한다. 아직 집계되지 않은 프로젝트는 원천 테이블에서 구축 후 반환한다.
+     * @param conn 조회 커넥션 (autoCommit 상태)
+     * @param pid 프로젝트 ID
+     */
+    static ProjectTotals loadOrBuild(Connection conn, int pid) throws SQLException {
+        ProjectTotals totals = load(conn, pid);
+        return totals != null ? totals : rebuild(conn, pid, false);
+    }
+
+    /**
+     * 공급업체별 발주 금액 상위 N개를 집계 테이블에서 조회한다.
+     */
+    static List<SupplierTotal> topSuppliers(Connection conn, int pid, int limit) throws SQLException {
+        List<SupplierTotal> result = new ArrayList<>();
+        try (PreparedStatement pstmt = TOP_SUPPLIERS.prepare(conn)) {
+            pstmt.setInt(1, pid); pstmt.setInt(2, limit);
+            long t = TOP_SUPPLIERS.timer().start();
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) result.add(new SupplierTotal(rs.getString(1), rs.getDouble(2)));
+            TOP_SUPPLIERS.timer().stop(t);
+        }
+        return result;
+    }
+
+    static ProjectTotals load(Connection conn, int pid) throws SQLException {
+        try (PreparedStatement pstmt = LOAD.prepare(conn)) {
+            pstmt.setInt(1, pid);
+            long t = LOAD.timer().start();
+            ResultSet rs = pstmt.executeQuery();
+            LOAD.timer().stop(t);
+            if (!rs.next()) return null;
+            return new ProjectTotals(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4));
+        }
+    }
+
+    private static ProjectTotals computeLive(Connection conn, int pid) throws SQLException {
+        try (PreparedStatement pstmt = LIVE.prepare(conn)) {
+            pstmt.setInt(1, pid); pstmt.setInt(2, pid); pstmt.setInt(3, pid);
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            return new ProjectTotals(rs.getDouble(1), rs.getDouble(2), rs.getDouble(3), rs.getDouble(4));
+        }
+    }
+
+    /**
+     * 한 프로젝트의 집계를 다시 계산하여 덮어쓴다.
+     * 원천을 읽기 전에 프로젝트 잠금을 잡으므로 진행 중인 증분은 먼저 커밋되어 계산에 포함되거나, 재구축 커밋 후 더해진다.
+     * @param buckets true면 탄소 버킷도 원천 기록에서 먼저 다시 계산한다 (불일치 복구)
+     */
+    private static ProjectTotals rebuild(Connection conn, int pid, boolean buckets) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            lock(conn, pid);
+            if (buckets) CarbonIngestDAO.rebuildBuckets(conn, pid);
+            try (PreparedStatement pstmt = REBUILD_ROLLUP.prepare(conn)) {
+                pstmt.setInt(1, pid); pstmt.setInt(2, pid); pstmt.setInt(3, pid);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = DELETE_SUPPLIER_ROLLUP.prepare(conn)) {
+                pstmt.setInt(1, pid);
+                pstmt.executeUpdate();
+            }
+            try (PreparedStatement pstmt = REBUILD_SUPPLIER.prepare(conn)) {
+                pstmt.setInt(1, pid);
+                pstmt.executeUpdate();
+            }
+            conn.commit();
+            return load(conn, pid);
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * 저장된 집계와 원천 테이블 재계산 값을 비교한다.
+     * @param pid 프로젝트 ID
+     * @return 검증 결과 (집계가 없으면 stored는 null)
+     */
+    public VerifyResult verify(int pid) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return new VerifyResult(pid, load(conn, pid), computeLive(conn, pid));
+        }
+    }
+
+    /**
+     * 지정한 프로젝트의 탄소 버킷과 집계를 원천 데이터에서 재구축한다.
+     */
+    public ProjectTotals rebuild(int pid) throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return rebuild(conn, pid, true);
+        }
+    }
+
+    /**
+     * 전체 탄소 버킷을 원천 기록에서 재구축한 뒤 모든 프로젝트의 집계를 재구축한다.
+     * @return 재구축한 프로젝트 수
+     */
+    public int rebuildAll() throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                CarbonIngestDAO.rebuildBuckets(conn, null);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            try (PreparedStatement pstmt = PROJECT_IDS.prepare(conn)) {
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) ids.add(rs.getInt(1));
+            }
+            for (int pid : ids) rebuild(conn, pid, false);
+        }
+        return ids.size();
+    }
+
+    /**
+     * 집계 검증 결과
+     */
+    public record VerifyResult(int pid, ProjectTotals stored, ProjectTotals live) {
+        public boolean isConsistent() {
+            return stored != null && stored.matches(live, TOLERANCE);
+        }
+    }
+}
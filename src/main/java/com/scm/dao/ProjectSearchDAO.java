@@ -0,0 +1,165 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.config.ReadRouter;
+import com.scm.model.ProjectInfo;
+import com.scm.model.ProjectMatch;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 대시보드 프로젝트 검색.
+ * 숫자 입력은 기본키로 바로 찾고, 선박명은 대소문자를 무시한 부분 일치로 찾아 순위를 매긴다.
+ * 순위: 프로젝트 ID 일치 > 선박명 완전 일치 > 접두 일치 > 중간 일치, 같은 순위는 짧은 이름 우선.
+ * pg_trgm 인덱스가 있으면 중간 일치도 인덱스로 찾고, 없으면 접두 일치를 인덱스로 먼저 찾은 뒤
+ * 결과가 모자랄 때만 중간 일치를 순차 탐색한다.
+ */
+public class ProjectSearchDAO {
+    /** 화면에 보여줄 후보 수 */
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final String PROJECT_COLUMNS = "SELECT Proj_ID, ShipName, Type, ContractDate, DeliveryDate, Status";
+
+    private static final SqlStatement BY_ID = SqlStatement.of("search.project_by_id",
+            PROJECT_COLUMNS + " FROM SHIP_PROJECT WHERE Proj_ID = ?");
+
+    // 파라미터: 소문자 입력(완전 일치), 접두 패턴(순위), 검색 패턴, 제외할 Proj_ID, limit
+    private static final SqlStatement BY_NAME = SqlStatement.of("search.project_by_name",
+            PROJECT_COLUMNS + ", CASE WHEN lower(ShipName) = ? THEN 1 WHEN lower(ShipName) LIKE ? THEN 2 ELSE 3 END AS rank " +
+                    "FROM SHIP_PROJECT WHERE lower(ShipName) LIKE ? AND Proj_ID <> ? " +
+                    "ORDER BY rank, length(ShipName), ShipName, Proj_ID LIMIT ?");
+
+    private static final SqlStatement TRGM_INDEXED = SqlStatement.of("search.trgm_indexed",
+            "SELECT EXISTS (SELECT 1 FROM pg_indexes WHERE indexname = 'idx_ship_project_name_trgm')");
+
+    private static volatile Boolean trigramIndexed;
+
+    private final ReadRouter router;
+
+    public ProjectSearchDAO(ConnectionPool pool) {
+        this(ReadRouter.primaryOnly(pool));
+    }
+
+    public ProjectSearchDAO(ReadRouter router) {
+        this.router = router;
+    }
+
+    /**
+     * 프로젝트 ID 또는 선박명 일부로 프로젝트를 찾아 순위순으로 반환한다.
+     * @param input 사용자 입력
+     * @param limit 최대 결과 수
+     * @return 순위순 후보 (없으면 빈 리스트)
+     */
+    public List<ProjectMatch> search(String input, int limit) throws SQLException {
+        try (Connection conn = router.getReadConnection()) {
+            return search(conn, input, limit);
+        }
+    }
+
+    static List<ProjectMatch> search(Connection conn, String input, int limit) throws SQLException {
+        String text = input == null ? "" : input.trim();
+        List<ProjectMatch> matches = new ArrayList<>();
+        if (text.isEmpty() || limit <= 0) return matches;
+
+        // 1. 숫자 입력은 기본키 조회 (선박명에도 숫자가 들어가므로 이름 검색도 이어서 수행)
+        int excludeId = 0;
+        Integer id = parseId(text);
+        if (id != null) {
+            ProjectInfo project = findProject(conn, id);
+            if (project != null) {
+                matches.add(new ProjectMatch(1, project, ProjectMatch.Kind.ID));
+                excludeId = id;
+            }
+        }
+
+        // 2. 선박명 검색
+        int remaining = limit - matches.size();
+        if (remaining == 0) return matches;
+        String lower = text.toLowerCase(Locale.ROOT);
+        String escaped = escapeLike(lower);
+        if (isTrigramIndexed(conn)) {
+            addByName(conn, lower, escaped, "%" + escaped + "%", excludeId, remaining, matches);
+        } else {
+            int before = matches.size();
+            addByName(conn, lower, escaped, escaped + "%", excludeId, remaining, matches);
+            if (matches.size() - before < remaining) {
+                // 중간 일치 결과가 접두 일치를 포함하므로 다시 채운다
+                matches.subList(before, matches.size()).clear();
+                addByName(conn, lower, escaped, "%" + escaped + "%", excludeId, remaining, matches);
+            }
+        }
+        return matches;
+    }
+
+    /** 기본키로 프로젝트 기본 정보를 조회한다 (없으면 null). */
+    static ProjectInfo findProject(Connection conn, int projId) throws SQLException {
+        try (PreparedStatement pstmt = BY_ID.prepare(conn)) {
+            pstmt.setInt(1, projId);
+            long t = BY_ID.timer().start();
+            ResultSet rs = pstmt.executeQuery();
+            BY_ID.timer().stop(t);
+            return rs.next() ? toProject(rs) : null;
+        }
+    }
+
+    private static void addByName(Connection conn, String lower, String escaped, String pattern, int excludeId,
+                                  int limit, List<ProjectMatch> matches) throws SQLException {
+        try (PreparedStatement pstmt = BY_NAME.prepare(conn)) {
+            pstmt.setString(1, lower);
+            pstmt.setString(2, escaped + "%");
+            pstmt.setString(3, pattern);
+            pstmt.setInt(4, excludeId);
+            pstmt.setInt(5, limit);
+            long t = BY_NAME.timer().start();
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                ProjectMatch.Kind kind = switch (rs.getInt("rank")) {
+                    case 1 -> ProjectMatch.Kind.EXACT;
+                    case 2 -> ProjectMatch.Kind.PREFIX;
+                    default -> ProjectMatch.Kind.CONTAINS;
+                };
+                matches.add(new ProjectMatch(matches.size() + 1, toProject(rs), kind));
+            }
+            BY_NAME.timer().stop(t);
+        }
+    }
+
+    /** 선박명 중간 일치에 쓸 pg_trgm 인덱스가 있는지 (처음 한 번만 확인) */
+    private static boolean isTrigramIndexed(Connection conn) throws SQLException {
+        Boolean indexed = trigramIndexed;
+        if (indexed == null) {
+            try (PreparedStatement pstmt = TRGM_INDEXED.prepare(conn)) {
+                ResultSet rs = pstmt.executeQuery();
+                indexed = rs.next() && rs.getBoolean(1);
+            }
+            trigramIndexed = indexed;
+        }
+        return indexed;
+    }
+
+    private static ProjectInfo toProject(ResultSet rs) throws SQLException {
+        return new ProjectInfo(rs.getInt("Proj_ID"), rs.getString("ShipName"), rs.getString("Type"),
+                rs.getDate("ContractDate"), rs.getDate("DeliveryDate"), rs.getString("Status"));
+    }
+
+    private static Integer parseId(String text) {
+        if (text.length() > 9) return null;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isDigit(text.charAt(i))) return null;
+        }
+        return Integer.parseInt(text);
+    }
+
+    /** LIKE 특수문자(\, %, _)를 이스케이프한다 (PostgreSQL 기본 이스케이프 문자 \). */
+    private static String escapeLike(String text) {
+        StringBuilder sb = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') sb.append('\\');
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
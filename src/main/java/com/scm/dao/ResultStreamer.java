@@ -0,0 +1,56 @@
+package com.scm.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 대량 조회 결과를 서버 커서로 나누어 읽는 도우미.
+ * pgjdbc는 autoCommit 상태이거나 fetchSize가 0이면 결과 전체를 클라이언트에 적재한 뒤 첫 행을 돌려주므로,
+ * 조회를 트랜잭션 안에서 실행하고 fetchSize만큼씩 받아 행 단위로 처리한다.
+ * 설정: -Dscm.fetchSize (기본 500)
+ */
+final class ResultStreamer {
+    static final int DEFAULT_FETCH_SIZE = Integer.getInteger("scm.fetchSize", 500);
+
+    private ResultStreamer() {}
+
+    /** 조회 파라미터 바인딩 */
+    interface Binder {
+        void bind(Connection conn, PreparedStatement pstmt) throws SQLException;
+    }
+
+    /** 현재 행 처리 */
+    interface RowHandler {
+        void handle(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * 조회 결과를 fetchSize 단위로 받아 한 행씩 처리한다.
+     * 커넥션이 autoCommit 상태이면 조회 동안만 트랜잭션을 열고 끝나면 원래 상태로 되돌린다.
+     * @return 처리한 행 수
+     */
+    static long stream(Connection conn, String sql, Binder binder, int fetchSize, RowHandler handler) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        if (autoCommit) conn.setAutoCommit(false);
+        long rows = 0;
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(fetchSize);
+            binder.bind(conn, pstmt);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    handler.handle(rs);
+                    rows++;
+                }
+            }
+            if (autoCommit) conn.commit();
+            return rows;
+        } catch (SQLException | RuntimeException e) {
+            if (autoCommit) conn.rollback();
+            throw e;
+        } finally {
+            if (autoCommit) conn.setAutoCommit(true);
+        }
+    }
+}
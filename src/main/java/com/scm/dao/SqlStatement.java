@@ -0,0 +1,63 @@
+package com.scm.dao;
+
+import com.scm.util.Metrics;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 이름이 붙은 정규 SQL 문장 레지스트리.
+ * DAO는 SQL 텍스트를 호출마다 만들지 않고 여기에 등록한 상수만 사용한다.
+ * 텍스트가 항상 같으므로 pgjdbc의 커넥션별 문장 캐시(preparedStatementCacheQueries)가
+ * 풀에서 재사용되는 물리 커넥션마다 서버 측 named statement를 유지하고, 파싱/계획 비용을 한 번만 치른다.
+ * 문장마다 실행 시간 타이머(sql.<이름>)를 함께 가진다.
+ */
+public final class SqlStatement {
+    private static final Map<String, SqlStatement> registry = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String sql;
+    private final Metrics.Timer timer;
+
+    private SqlStatement(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+        this.timer = Metrics.timer("sql." + name);
+    }
+
+    /**
+     * 문장을 등록한다. 같은 이름에 다른 텍스트를 등록하면 IllegalStateException.
+     * @param name 문장 이름 (예: order.insert_po)
+     * @param sql 바인드 변수(?)만 사용하는 고정 SQL
+     */
+    static SqlStatement of(String name, String sql) {
+        SqlStatement created = new SqlStatement(name, sql);
+        SqlStatement existing = registry.putIfAbsent(name, created);
+        if (existing == null) return created;
+        if (!existing.sql.equals(sql)) throw new IllegalStateException("SQL 문장 이름 중복: " + name);
+        return existing;
+    }
+
+    /** 등록된 문장 수 (커넥션별 문장 캐시 크기를 정할 때 참고) */
+    public static int registeredCount() {
+        return registry.size();
+    }
+
+    PreparedStatement prepare(Connection conn) throws SQLException {
+        return conn.prepareStatement(sql);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String sql() {
+        return sql;
+    }
+
+    Metrics.Timer timer() {
+        return timer;
+    }
+}
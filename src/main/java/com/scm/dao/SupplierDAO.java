@@ -1,95 +1,302 @@
 package com.scm.dao;
 
+import com.scm.config.ConnectionPool;
+import com.scm.config.ReadRouter;
+import com.scm.model.OrderHistoryRow;
+import com.scm.model.SupplierMonthRow;
+import com.scm.model.SupplierReportRow;
+import com.scm.render.RowRenderer;
 import java.sql.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 public class SupplierDAO {
-    private Connection conn;
+    /*
+     * 공급업체별 총 금액, 납품 건수, 지연 건수 집계.
+     * PO_LINE과 DELIVERY를 각각 공급업체 단위로 먼저 집계한 뒤 SUPPLIER에 붙여
+     * 라인 x 납품 조합으로 행이 불어나 금액이 중복 합산되는 문제를 막는다.
+     * %1$s: 발주 범위 조건(하위 집계 WHERE), %2$s: 공급업체 조건(외부 WHERE)
+     */
+    private static final String STATS_TEMPLATE =
+            "SELECT s.Supp_ID, s.Name, s.Country, s.ESG, " +
+                    "COALESCE(a.total_order_amt, 0) AS total_order_amt, " +
+                    "COALESCE(dl.total_deliv_count, 0) AS total_deliv_count, " +
+                    "COALESCE(dl.delay_count, 0) AS delay_count " +
+                    "FROM SUPPLIER s " +
+                    "LEFT JOIN (SELECT o.Supp_ID, SUM(l.Qty * l.OrderPrice) AS total_order_amt " +
+                    "           FROM PURCHASE_ORDER o JOIN PO_LINE l ON l.PO_ID = o.PO_ID %1$s " +
+                    "           GROUP BY o.Supp_ID) a ON a.Supp_ID = s.Supp_ID " +
+                    "LEFT JOIN (SELECT o.Supp_ID, COUNT(*) AS total_deliv_count, " +
+                    "                  COUNT(*) FILTER (WHERE d.Status = '지연') AS delay_count " +
+                    "           FROM PURCHASE_ORDER o JOIN DELIVERY d ON d.PO_ID = o.PO_ID %1$s " +
+                    "           GROUP BY o.Supp_ID) dl ON dl.Supp_ID = s.Supp_ID " +
+                    "%2$s";
+
+    private static final String DELAY_RATE_EXPR =
+            "(CASE WHEN COALESCE(dl.total_deliv_count, 0) = 0 THEN 0 " +
+                    "ELSE dl.delay_count * 100.0 / dl.total_deliv_count END)";
+
+    // 지정 공급업체만 (무효화된 캐시 항목 재적재용), 파라미터: Supp_ID 배열 x3
+    private static final SqlStatement STATS_BY_IDS = SqlStatement.of("supplier.stats_by_ids",
+            String.format(STATS_TEMPLATE, "WHERE o.Supp_ID = ANY(?)", "WHERE s.Supp_ID = ANY(?)"));
+
+    /*
+     * 필터를 DB에서 적용하는 키셋 페이지 조회 (캐시가 채워지기 전이거나 담을 수 없을 만큼 공급업체가 많을 때,
+     * 그리고 필터 없이 캐시를 청크 단위로 채울 때).
+     * Supp_ID 순으로 공급업체를 훑으며 업체마다 LATERAL로 금액/납품을 집계하고 limit건을 채우면 멈추므로
+     * 전체 공급업체를 집계하지 않고 첫 페이지를 돌려준다.
+     * 파라미터: 직전 Supp_ID, ESG 배열 x2, 하한, 상한, limit
+     */
+    private static final SqlStatement STATS_PAGE = SqlStatement.of("supplier.stats_page",
+            "SELECT s.Supp_ID, s.Name, s.Country, s.ESG, " +
+                    "COALESCE(a.total_order_amt, 0) AS total_order_amt, " +
+                    "dl.total_deliv_count, dl.delay_count " +
+                    "FROM SUPPLIER s " +
+                    "CROSS JOIN LATERAL (SELECT SUM(l.Qty * l.OrderPrice) AS total_order_amt " +
+                    "      FROM PURCHASE_ORDER o JOIN PO_LINE l ON l.PO_ID = o.PO_ID WHERE o.Supp_ID = s.Supp_ID) a " +
+                    "CROSS JOIN LATERAL (SELECT COUNT(*) AS total_deliv_count, " +
+                    "      COUNT(*) FILTER (WHERE d.Status = '지연') AS delay_count " +
+                    "      FROM PURCHASE_ORDER o JOIN DELIVERY d ON d.PO_ID = o.PO_ID WHERE o.Supp_ID = s.Supp_ID) dl " +
+                    "WHERE s.Supp_ID > ? AND (cardinality(?::text[]) = 0 OR s.ESG = ANY(?::text[])) " +
+                    "AND " + DELAY_RATE_EXPR + " BETWEEN ? AND ? " +
+                    "ORDER BY s.Supp_ID LIMIT ?");
+
+    /*
+     * 스냅샷(MV_SUPPLIER_STATS) 조회. 행이 이미 공급업체 단위로 집계되어 있어 이력 크기와 무관하게
+     * Supp_ID 인덱스 범위만 읽는다. 파라미터는 위 실시간 문장과 같다 (BY_IDS는 배열 하나).
+     */
+    private static final String SNAPSHOT_COLUMNS =
+            "SELECT Supp_ID, Name, Country, ESG, total_order_amt, total_deliv_count, delay_count FROM MV_SUPPLIER_STATS ";
+    private static final SqlStatement SNAPSHOT_BY_IDS = SqlStatement.of("supplier.snapshot_by_ids",
+            SNAPSHOT_COLUMNS + "WHERE Supp_ID = ANY(?)");
+    private static final SqlStatement SNAPSHOT_PAGE = SqlStatement.of("supplier.snapshot_page",
+            SNAPSHOT_COLUMNS + "WHERE Supp_ID > ? AND (cardinality(?::text[]) = 0 OR ESG = ANY(?::text[])) " +
+                    "AND delay_rate BETWEEN ? AND ? ORDER BY Supp_ID LIMIT ?");
 
-    public SupplierDAO(Connection conn) {
-        this.conn = conn;
+    /*
+     * 공급업체 월별 실적 (최근 월부터). 스냅샷은 (Supp_ID, Month) 인덱스에서 limit건만 읽고,
+     * 실시간 문장은 MV_SUPPLIER_MONTHLY 정의와 같은 집계를 해당 공급업체 범위에서 수행한다.
+     * 파라미터: Supp_ID, limit (실시간은 Supp_ID x2, limit)
+     */
+    private static final SqlStatement MONTHLY_SNAPSHOT = SqlStatement.of("supplier.monthly_snapshot",
+            "SELECT Month, Order_Count, Order_Amt, Deliv_Count, Delay_Count FROM MV_SUPPLIER_MONTHLY " +
+                    "WHERE Supp_ID = ? ORDER BY Month DESC LIMIT ?");
+    private static final SqlStatement MONTHLY_LIVE = SqlStatement.of("supplier.monthly_live",
+            "SELECT COALESCE(a.Month, dl.Month) AS Month, COALESCE(a.Order_Count, 0) AS Order_Count, " +
+                    "COALESCE(a.Order_Amt, 0) AS Order_Amt, COALESCE(dl.Deliv_Count, 0) AS Deliv_Count, " +
+                    "COALESCE(dl.Delay_Count, 0) AS Delay_Count " +
+                    "FROM (SELECT date_trunc('month', o.OrderDate)::date AS Month, COUNT(DISTINCT o.PO_ID) AS Order_Count, " +
+                    "             COALESCE(SUM(l.Qty * l.OrderPrice), 0) AS Order_Amt " +
+                    "      FROM PURCHASE_ORDER o LEFT JOIN PO_LINE l ON l.PO_ID = o.PO_ID WHERE o.Supp_ID = ? GROUP BY 1) a " +
+                    "FULL JOIN (SELECT date_trunc('month', COALESCE(d.ArrivalDate, o.OrderDate))::date AS Month, " +
+                    "                  COUNT(*) AS Deliv_Count, COUNT(*) FILTER (WHERE d.Status = '지연') AS Delay_Count " +
+                    "           FROM PURCHASE_ORDER o JOIN DELIVERY d ON d.PO_ID = o.PO_ID WHERE o.Supp_ID = ? GROUP BY 1) dl " +
+                    "ON dl.Month = a.Month ORDER BY 1 DESC LIMIT ?");
+
+    // 공급업체 발주 이력 (최신순 키셋), 파라미터: Supp_ID, limit / Supp_ID, 직전 OrderDate, 직전 PO_ID, limit
+    private static final String HISTORY_COLUMNS =
+            "SELECT o.PO_ID, o.OrderDate, o.Status, " +
+                    "EXISTS(SELECT 1 FROM DELIVERY d WHERE d.PO_ID = o.PO_ID AND d.Status = '지연') as is_delayed " +
+                    "FROM PURCHASE_ORDER o WHERE o.Supp_ID = ? ";
+    private static final SqlStatement HISTORY_FIRST = SqlStatement.of("supplier.history_first",
+            HISTORY_COLUMNS + "ORDER BY o.OrderDate DESC, o.PO_ID DESC LIMIT ?");
+    private static final SqlStatement HISTORY_AFTER = SqlStatement.of("supplier.history_after",
+            HISTORY_COLUMNS + "AND (o.OrderDate, o.PO_ID) < (?, ?) ORDER BY o.OrderDate DESC, o.PO_ID DESC LIMIT ?");
+
+    /** 전체 내보내기 시 한 번에 조회/출력하는 행 수 */
+    public static final int REPORT_PAGE_SIZE = 200;
+
+    private final ReadRouter router;
+    private final boolean useSnapshot;
+
+    public SupplierDAO(ConnectionPool pool) {
+        this(ReadRouter.primaryOnly(pool));
     }
+
+    /** 집계/이력 조회는 복제본, 무효화된 캐시 항목 재적재는 primary에서 읽는다. */
+    public SupplierDAO(ReadRouter router) {
+        this(router, SupplierSnapshotDAO.isEnabled());
+    }
+
+    /**
+     * @param useSnapshot true면 공급업체 집계/월별 실적을 스냅샷(MV)에서, false면 원천 테이블에서 실시간 집계
+     */
+    public SupplierDAO(ReadRouter router, boolean useSnapshot) {
+        this.router = router;
+        this.useSnapshot = useSnapshot;
+    }
+
     /**
-     * ESG 등급과 지연율 필터를 적용하여 공급업체 리포트를 출력한다.
+     * 리포트 수치의 기준 시각.
+     * @return 스냅샷 마지막 갱신 시각 (실시간 집계 모드이면 null)
+     */
+    public Timestamp snapshotTime() throws SQLException {
+        if (!useSnapshot) return null;
+        try (Connection conn = router.getReadConnection()) {
+            return SupplierSnapshotDAO.refreshedAt(conn);
+        }
+    }
+    /**
+     * ESG 등급과 지연율 필터를 적용한 공급업체 리포트 전체를 렌더러로 내보낸다.
+     * 페이지 단위로 조회하여 쓰고 페이지마다 flush하므로 첫 페이지가 바로 출력된다.
      * @param esgFilters 선택된 ESG 등급 리스트
      * @param minDelay 지연율 하한값
      * @param maxDelay 지연율 상한값
+     * @param renderer 출력 렌더러 (begin/end 포함)
+     * @return 출력한 행 수
      */
-    public void printSupplierReport(List<String> esgFilters, double minDelay, double maxDelay) {
-        // 복잡한 집계 쿼리: 공급업체별 총 금액 및 지연 비율 계산
-        StringBuilder sql = new StringBuilder(
-                "SELECT s.Supp_ID, s.Name, s.Country, s.ESG, " +
-                        "COALESCE(SUM(l.Qty * l.OrderPrice), 0) as total_order_amt, " +
-                        "COUNT(DISTINCT d.Del_ID) as total_deliv_count, " +
-                        "COUNT(DISTINCT CASE WHEN d.Status = '지연' THEN d.Del_ID END) as delay_count " +
-                        "FROM SUPPLIER s " +
-                        "LEFT JOIN PURCHASE_ORDER o ON s.Supp_ID = o.Supp_ID " +
-                        "LEFT JOIN PO_LINE l ON o.PO_ID = l.PO_ID " +
-                        "LEFT JOIN DELIVERY d ON o.PO_ID = d.PO_ID " +
-                        "WHERE 1=1 "
-        );
-
-        // ESG 필터링 추가 (다수 선택 가능)
-        if (esgFilters != null && !esgFilters.isEmpty()) {
-            sql.append("AND s.ESG IN (");
-            for (int i = 0; i < esgFilters.size(); i++) {
-                sql.append("'").append(esgFilters.get(i)).append("'").append(i < esgFilters.size() - 1 ? "," : "");
-            }
-            sql.append(") ");
+    public long renderSupplierReport(List<String> esgFilters, double minDelay, double maxDelay,
+                                     RowRenderer<SupplierReportRow> renderer) throws SQLException {
+        KeysetPager<Integer, SupplierReportRow> pager = reportPager(esgFilters, minDelay, maxDelay, REPORT_PAGE_SIZE);
+        renderer.begin();
+        for (KeysetPager.Page<SupplierReportRow> page = pager.first(); ; page = pager.next()) {
+            for (SupplierReportRow row : page.rows()) renderer.row(row);
+            renderer.flush();
+            if (!page.hasNext()) break;
         }
+        renderer.end();
+        renderer.flush();
+        return renderer.getRowCount();
+    }
 
-        sql.append("GROUP BY s.Supp_ID, s.Name, s.Country, s.ESG ");
+    /**
+     * 공급업체 리포트의 키셋 페이지 탐색기를 만든다 (정렬 키: Supp_ID).
+     * 공급업체 집계는 SupplierStatsCache에서 제공되며, 필터와 페이지 구분은 메모리에서 적용한다.
+     * (캐시가 채워지는 중이거나 공급업체 수가 캐시 상한을 넘으면 필터를 바인딩 파라미터로 DB 키셋 쿼리에 위임)
+     * @param pageSize 페이지 크기
+     */
+    public KeysetPager<Integer, SupplierReportRow> reportPager(List<String> esgFilters, double minDelay,
+                                                               double maxDelay, int pageSize) {
+        SupplierStatsCache.Loader loader = statsLoader();
+        return new KeysetPager<>((after, limit) -> SupplierStatsCache.shared().page(esgFilters, minDelay, maxDelay,
+                after == null ? 0 : after, limit, loader), SupplierReportRow::suppId, pageSize);
+    }
 
-        // 지연 비율 필터링 (HAVING 사용)
-        sql.append("HAVING (CASE WHEN COUNT(DISTINCT d.Del_ID) = 0 THEN 0 ");
-        sql.append("ELSE CAST(COUNT(DISTINCT CASE WHEN d.Status = '지연' THEN d.Del_ID END) AS FLOAT) / COUNT(DISTINCT d.Del_ID) * 100 END) ");
-        sql.append("BETWEEN ? AND ?");
+    /**
+     * 공급업체 집계를 DB에서 읽는 캐시 로더
+     */
+    SupplierStatsCache.Loader statsLoader() {
+        return new SupplierStatsCache.Loader() {
+            @Override
+            public List<SupplierReportRow> loadByIds(Collection<Integer> ids) throws SQLException {
+                if (useSnapshot) {
+                    // 스냅샷은 다음 갱신 전까지 바뀌지 않으므로 라우터가 고른 커넥션에서 읽는다
+                    return loadStats(SNAPSHOT_BY_IDS, false, (conn, pstmt) ->
+                            pstmt.setArray(1, conn.createArrayOf("integer", ids.toArray())));
+                }
+                // 방금 커밋된 발주로 무효화된 항목이므로 복제 지연 없이 primary에서 읽는다
+                return loadStats(STATS_BY_IDS, true, (conn, pstmt) -> {
+                    Array idArray = conn.createArrayOf("integer", ids.toArray());
+                    pstmt.setArray(1, idArray); pstmt.setArray(2, idArray); pstmt.setArray(3, idArray);
+                });
+            }
 
-        try (PreparedStatement pstmt = conn.prepareStatement(sql.toString())) {
-            pstmt.setDouble(1, minDelay);
-            pstmt.setDouble(2, maxDelay);
-            ResultSet rs = pstmt.executeQuery();
+            @Override
+            public List<SupplierReportRow> loadPage(List<String> esgFilters, double minDelay, double maxDelay,
+                                                    int afterId, int limit) throws SQLException {
+                return loadStats(useSnapshot ? SNAPSHOT_PAGE : STATS_PAGE, false, (conn, pstmt) -> {
+                    Array esg = conn.createArrayOf("text", esgFilters == null ? new Object[0] : esgFilters.toArray());
+                    pstmt.setInt(1, afterId);
+                    pstmt.setArray(2, esg); pstmt.setArray(3, esg);
+                    pstmt.setDouble(4, minDelay); pstmt.setDouble(5, maxDelay);
+                    pstmt.setInt(6, limit);
+                });
+            }
+        };
+    }
 
-            System.out.println("\n-------------------------------------------------------------------------------------------------");
-            System.out.printf("%-5s | %-12s | %-8s | %-4s | %-15s | %-10s\n", "ID", "공급업체명", "국가", "ESG", "총 발주금액", "지연율(%)");
-            System.out.println("-------------------------------------------------------------------------------------------------");
+    /**
+     * 결과를 커서 단위(fetch size)로 받아 집계 객체로 변환한다. 실행부터 마지막 행 수신까지 시간을 잰다.
+     * @param fromPrimary true면 primary, false면 읽기 라우터가 고른 커넥션
+     */
+    private List<SupplierReportRow> loadStats(SqlStatement stmt, boolean fromPrimary, ResultStreamer.Binder binder)
+            throws SQLException {
+        List<SupplierReportRow> result = new ArrayList<>();
+        try (Connection conn = fromPrimary ? router.getPrimary().getConnection() : router.getReadConnection()) {
+            long t = stmt.timer().start();
+            ResultStreamer.stream(conn, stmt.sql(), binder, ResultStreamer.DEFAULT_FETCH_SIZE, rs ->
+                    result.add(new SupplierReportRow(rs.getInt("Supp_ID"), rs.getString("Name"),
+                            rs.getString("Country"), rs.getString("ESG"), rs.getDouble("total_order_amt"),
+                            rs.getLong("total_deliv_count"), rs.getLong("delay_count"))));
+            stmt.timer().stop(t);
+        }
+        return result;
+    }
 
+    /**
+     * 공급업체의 최근 월별 실적을 오래된 달부터 반환한다 (전월 대비 변화 포함).
+     * @param sid 공급업체 ID
+     * @param months 최대 개월 수 (실적이 있는 달 기준)
+     */
+    public List<SupplierMonthRow> monthlyTrend(int sid, int months) throws SQLException {
+        SqlStatement stmt = useSnapshot ? MONTHLY_SNAPSHOT : MONTHLY_LIVE;
+        List<SupplierMonthRow> rows = new ArrayList<>(months);
+        try (Connection conn = router.getReadConnection();
+             PreparedStatement pstmt = stmt.prepare(conn)) {
+            int i = 1;
+            pstmt.setInt(i++, sid);
+            if (!useSnapshot) pstmt.setInt(i++, sid);
+            pstmt.setInt(i, months);
+            long t = stmt.timer().start();
+            ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                double totalDeliv = rs.getDouble("total_deliv_count");
-                double delayCount = rs.getDouble("delay_count");
-                double delayRate = totalDeliv == 0 ? 0 : (delayCount / totalDeliv) * 100;
-
-                System.out.printf("%-5d | %-12s | %-8s | %-4s | %,15.0f | %-10.1f%%\n",
-                        rs.getInt("Supp_ID"), rs.getString("Name"), rs.getString("Country"),
-                        rs.getString("ESG"), rs.getDouble("total_order_amt"), delayRate);
+                rows.add(new SupplierMonthRow(sid, YearMonth.from(rs.getDate("Month").toLocalDate()),
+                        rs.getLong("Order_Count"), rs.getDouble("Order_Amt"),
+                        rs.getLong("Deliv_Count"), rs.getLong("Delay_Count"), Double.NaN, Double.NaN));
             }
-        } catch (SQLException e) {
-            System.err.println("[ERROR] 공급업체 리포트 조회 실패: " + e.getMessage());
+            stmt.timer().stop(t);
+        }
+        Collections.reverse(rows);
+        return withMonthOverMonth(rows);
+    }
+
+    /** 바로 전 달 행이 있으면 발주금액 증감률(%)과 지연율 증감(%p)을 채운다. */
+    private static List<SupplierMonthRow> withMonthOverMonth(List<SupplierMonthRow> rows) {
+        for (int i = 1; i < rows.size(); i++) {
+            SupplierMonthRow prev = rows.get(i - 1), cur = rows.get(i);
+            if (!prev.month().plusMonths(1).equals(cur.month())) continue;
+            double amtChange = prev.orderAmt() == 0 ? Double.NaN
+                    : (cur.orderAmt() - prev.orderAmt()) / prev.orderAmt() * 100;
+            double delayDiff = prev.delivCount() == 0 || cur.delivCount() == 0 ? Double.NaN
+                    : cur.delayRate() - prev.delayRate();
+            rows.set(i, new SupplierMonthRow(cur.suppId(), cur.month(), cur.orderCount(), cur.orderAmt(),
+                    cur.delivCount(), cur.delayCount(), amtChange, delayDiff));
         }
+        return rows;
     }
 
     /**
-     * 특정 공급업체의 최근 발주 내역 상세 정보를 조회한다.
+     * 공급업체 발주 이력의 키셋 페이지 탐색기를 만든다 (정렬 키: OrderDate, PO_ID 내림차순).
      * @param sid 공급업체 ID
+     * @param pageSize 페이지 크기
      */
-    public void printSupplierDetail(int sid) {
-        String sql = "SELECT o.PO_ID, o.OrderDate, o.Status, " +
-                "EXISTS(SELECT 1 FROM DELIVERY d WHERE d.PO_ID = o.PO_ID AND d.Status = '지연') as is_delayed " +
-                "FROM PURCHASE_ORDER o WHERE o.Supp_ID = ? " +
-                "ORDER BY o.OrderDate DESC LIMIT 5";
-
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, sid);
-            ResultSet rs = pstmt.executeQuery();
+    public KeysetPager<OrderHistoryRow, OrderHistoryRow> orderHistoryPager(int sid, int pageSize) {
+        return new KeysetPager<>((after, limit) -> fetchOrderHistory(sid, after, limit), row -> row, pageSize);
+    }
 
-            System.out.println("\n[ 최근 발주 내역 (최대 5건) ]");
+    private KeysetPager.Page<OrderHistoryRow> fetchOrderHistory(int sid, OrderHistoryRow after, int limit) throws SQLException {
+        List<OrderHistoryRow> rows = new ArrayList<>(limit + 1);
+        SqlStatement stmt = after == null ? HISTORY_FIRST : HISTORY_AFTER;
+        try (Connection conn = router.getReadConnection();
+             PreparedStatement pstmt = stmt.prepare(conn)) {
+            int i = 1;
+            pstmt.setInt(i++, sid);
+            if (after != null) {
+                pstmt.setDate(i++, after.orderDate());
+                pstmt.setInt(i++, after.poId());
+            }
+            pstmt.setInt(i, limit + 1);
+            long t = stmt.timer().start();
+            ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                String delayText = rs.getBoolean("is_delayed") ? "지연 발생" : "정상";
-                System.out.printf("발주ID: %-5d | 날짜: %s | 상태: %-6s | 지연여부: %s\n",
-                        rs.getInt("PO_ID"), rs.getDate("OrderDate"), rs.getString("Status"), delayText);
+                rows.add(new OrderHistoryRow(rs.getInt("PO_ID"), rs.getDate("OrderDate"), rs.getString("Status"),
+                        rs.getBoolean("is_delayed")));
             }
-        } catch (SQLException e) {
-            System.err.println("[ERROR] 상세 조회 실패: " + e.getMessage());
+            stmt.timer().stop(t);
         }
+        return KeysetPager.Page.of(rows, limit);
     }
-}
\ No newline at end of file
+}
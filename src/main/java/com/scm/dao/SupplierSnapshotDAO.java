@@ -0,0 +1,104 @@
+package com.scm.dao;
+
+import com.scm.config.ConnectionPool;
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.sql.*;
+
+/**
+ * 공급업체 성과 스냅샷(MV_SUPPLIER_STATS, MV_SUPPLIER_MONTHLY) 갱신과 기준 시각 조회.
+ * 갱신은 REFRESH MATERIALIZED VIEW CONCURRENTLY로 수행하여 갱신 중에도 리포트 조회가 기존 스냅샷을 읽는다.
+ * 여러 인스턴스가 같은 DB를 쓰면 advisory lock을 먼저 잡은 쪽만 갱신하고 나머지는 건너뛴다.
+ * 설정: -Dscm.snapshot.refreshSec (기본 300, 0이면 스냅샷을 쓰지 않고 원천 테이블에서 실시간 집계)
+ */
+public class SupplierSnapshotDAO {
+    /** 스냅샷 갱신 주기(초) */
+    public static final long REFRESH_SEC = Long.getLong("scm.snapshot.refreshSec", 300);
+
+    private static final String NAME = "supplier";
+    // 스냅샷 갱신 직렬화용 advisory lock 키 (임의의 고정값)
+    private static final long LOCK_KEY = 0x5343_4D53_4E41_5031L;
+
+    private static final SqlStatement TRY_LOCK = SqlStatement.of("snapshot.try_lock",
+            "SELECT pg_try_advisory_xact_lock(?)");
+    private static final SqlStatement REFRESH_STATS = SqlStatement.of("snapshot.refresh_stats",
+            "REFRESH MATERIALIZED VIEW CONCURRENTLY MV_SUPPLIER_STATS");
+    private static final SqlStatement REFRESH_MONTHLY = SqlStatement.of("snapshot.refresh_monthly",
+            "REFRESH MATERIALIZED VIEW CONCURRENTLY MV_SUPPLIER_MONTHLY");
+    // 기준 시각은 트랜잭션 시작 시각(now()) = 갱신이 읽기 시작한 시점
+    private static final SqlStatement MARK = SqlStatement.of("snapshot.mark",
+            "INSERT INTO SNAPSHOT_STATUS (Snapshot_Name, Refreshed_At, Duration_Ms) VALUES (?, now(), ?) " +
+                    "ON CONFLICT (Snapshot_Name) DO UPDATE SET Refreshed_At = EXCLUDED.Refreshed_At, Duration_Ms = EXCLUDED.Duration_Ms");
+    private static final SqlStatement REFRESHED_AT = SqlStatement.of("snapshot.refreshed_at",
+            "SELECT Refreshed_At FROM SNAPSHOT_STATUS WHERE Snapshot_Name = ?");
+
+    private static final Metrics.Timer REFRESH_TIMER = Metrics.timer("snapshot.refresh");
+    private static final Metrics.Counter SKIPPED = Metrics.counter("snapshot.refresh.skipped");
+
+    private final ConnectionPool pool;
+
+    public SupplierSnapshotDAO(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /** 리포트가 스냅샷을 읽는지 (갱신 주기가 0이면 실시간 집계) */
+    public static boolean isEnabled() {
+        return REFRESH_SEC > 0;
+    }
+
+    /**
+     * 두 스냅샷을 한 트랜잭션에서 갱신하고 기준 시각을 기록한다.
+     * @return 갱신했으면 true, 다른 세션이 갱신 중이라 건너뛰었으면 false
+     */
+    public boolean refresh() throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = TRY_LOCK.prepare(conn)) {
+                    pstmt.setLong(1, LOCK_KEY);
+                    ResultSet rs = pstmt.executeQuery();
+                    if (!rs.next() || !rs.getBoolean(1)) {
+                        conn.rollback();
+                        SKIPPED.increment();
+                        return false;
+                    }
+                }
+                long t = REFRESH_TIMER.start();
+                try (PreparedStatement pstmt = REFRESH_STATS.prepare(conn)) {
+                    pstmt.executeUpdate();
+                }
+                try (PreparedStatement pstmt = REFRESH_MONTHLY.prepare(conn)) {
+                    pstmt.executeUpdate();
+                }
+                long elapsed = System.nanoTime() - t;
+                long elapsedMs = elapsed / 1_000_000;
+                try (PreparedStatement pstmt = MARK.prepare(conn)) {
+                    pstmt.setString(1, NAME);
+                    pstmt.setLong(2, elapsedMs);
+                    pstmt.executeUpdate();
+                }
+                conn.commit();
+                REFRESH_TIMER.record(elapsed);
+                AppLogger.log("INFO", "공급업체 스냅샷 갱신 완료 (" + elapsedMs + " ms)");
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * 스냅샷 기준 시각을 조회한다.
+     * @return 마지막 갱신 시각 (스냅샷이 없으면 null)
+     */
+    static Timestamp refreshedAt(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = REFRESHED_AT.prepare(conn)) {
+            pstmt.setString(1, NAME);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getTimestamp(1) : null;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.scm.dao;
+
+import com.scm.model.SupplierReportRow;
+import com.scm.util.AppLogger;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공급업체별 집계(총 발주 금액, 납품 건수, 지연 건수)를 보관하는 프로세스 내 캐시.
+ * 전체 공급업체 스냅샷이 유효하면 ESG/지연율 필터와 페이지 탐색은 DB 왕복 없이 메모리에서 처리한다.
+ * - 스냅샷이 없거나 만료되면 백그라운드에서 키셋 청크 단위로 다시 채우고, 채워지는 동안의 조회는
+ *   필터를 적용한 DB 키셋 쿼리로 한 페이지씩 응답한다 (첫 페이지가 전체 적재를 기다리지 않음).
+ * - 크기 상한(LRU)을 넘으면 스냅샷을 불완전으로 표시하고 다시 채운다.
+ *   채우는 중 공급업체 수가 상한을 넘으면 그 자리에서 멈추고 이를 기억하여, 이후 필터/페이지 조회는 계속 DB 키셋 쿼리로 위임한다.
+ * - TTL이 지난 스냅샷은 전체를 다시 채운다 (신규 공급업체, 외부 납품 상태 변경 반영).
+ * - 발주 커밋 시 해당 공급업체 항목만 무효화하고 다음 조회에서 그 업체만 다시 읽는다.
+ *   다시 읽는 동안 같은 업체가 또 무효화되면 무효화 순번이 바뀌므로 표시를 지우지 않고 다음 조회에서 한 번 더 읽는다.
+ * - 스냅샷(MV) 모드에서는 발주가 MV에 바로 반영되지 않으므로 발주 시 무효화하지 않고, 스냅샷 갱신 후 전체를 무효화한다.
+ * 설정: -Dscm.cache.supplier.ttlSec (기본 300), -Dscm.cache.supplier.maxEntries (기본 50000)
+ */
+public class SupplierStatsCache {
+    private static final SupplierStatsCache SHARED = new SupplierStatsCache(
+            Integer.getInteger("scm.cache.supplier.maxEntries", 50_000),
+            TimeUnit.SECONDS.toNanos(Integer.getInteger("scm.cache.supplier.ttlSec", 300)),
+            Executors.newSingleThreadExecutor(r -> {
+                Thread t = new Thread(r, "scm-supplier-cache-fill");
+                t.setDaemon(true);
+                return t;
+            }));
+    /** 백그라운드 채우기에서 한 번에 읽는 공급업체 수 */
+    static final int FILL_CHUNK = 1000;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Executor filler;
+    private final LinkedHashMap<Integer, SupplierReportRow> entries;
+    /** 무효화된 Supp_ID -> 마지막 무효화 순번 (다시 읽는 동안 들어온 무효화를 구분) */
+    private final Map<Integer, Long> staleIds = new HashMap<>();
+    private long invalidations;
+    /** Supp_ID 순으로 정렬된 스냅샷 (항목이 바뀌면 null로 두고 다음 조회에서 다시 만든다) */
+    private List<SupplierReportRow> sorted;
+    private boolean complete = false;
+    /** 공급업체 수가 크기 상한을 넘어 캐시하지 않는다 (한 번 확인하면 다시 채우지 않음) */
+    private boolean oversized = false;
+    private boolean filling = false;
+    /** invalidateAll마다 증가 (채우는 도중 전체 무효화되면 그 결과를 버린다) */
+    private long generation;
+    private long loadedAt;
+    private long hits, misses;
+
+    /**
+     * @param filler 스냅샷을 채우는 작업을 실행할 Executor
+     */
+    public SupplierStatsCache(int maxEntries, long ttlNanos, Executor filler) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.filler = filler;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, SupplierReportRow> eldest) {
+                if (size() <= SupplierStatsCache.this.maxEntries) return false;
+                complete = false;
+                sorted = null;
+                return true;
+            }
+        };
+    }
+
+    /** 애플리케이션 공용 캐시 */
+    public static SupplierStatsCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 원천 DB에서 공급업체 집계를 읽는 방법
+     */
+    public interface Loader {
+        /** 지정한 공급업체들의 집계 */
+        List<SupplierReportRow> loadByIds(Collection<Integer> ids) throws SQLException;
+
+        /**
+         * 필터를 DB에서 적용하여 afterId 이후 최대 limit건을 Supp_ID 순으로 조회한다.
+         * 스냅샷이 없을 때의 페이지 조회와, 필터 없이(ESG 전체, 지연율 0~100) 스냅샷을 채우는 데 쓴다.
+         */
+        List<SupplierReportRow> loadPage(List<String> esgFilters, double minDelay, double maxDelay, int afterId, int limit)
+                throws SQLException;
+    }
+
+    /**
+     * 필터 조건에 맞는 공급업체 집계 중 afterId 다음부터 한 페이지를 Supp_ID 순으로 반환한다.
+     * @param esgFilters ESG 등급 목록 (null 또는 빈 목록이면 전체)
+     * @param minDelay 지연율 하한(%)
+     * @param maxDelay 지연율 상한(%)
+     * @param afterId 직전 페이지의 마지막 Supp_ID (첫 페이지는 0)
+     * @param pageSize 페이지 크기
+     * @param loader 캐시 미스 시 사용할 로더
+     */
+    public KeysetPager.Page<SupplierReportRow> page(List<String> esgFilters, double minDelay, double maxDelay,
+                                                int afterId, int pageSize, Loader loader) throws SQLException {
+        List<SupplierReportRow> source = snapshot(loader);
+        if (source == null) {
+            return KeysetPager.Page.of(loader.loadPage(esgFilters, minDelay, maxDelay, afterId, pageSize + 1), pageSize);
+        }
+        Set<String> esg = esgFilters == null || esgFilters.isEmpty() ? null : new HashSet<>(esgFilters);
+        List<SupplierReportRow> result = new ArrayList<>(pageSize + 1);
+        for (int i = firstAfter(source, afterId); i < source.size() && result.size() <= pageSize; i++) {
+            SupplierReportRow s = source.get(i);
+            if (esg != null && !esg.contains(s.esg())) continue;
+            double rate = s.delayRate();
+            if (rate >= minDelay && rate <= maxDelay) result.add(s);
+        }
+        return KeysetPager.Page.of(result, pageSize);
+    }
+
+    /** 정렬된 스냅샷에서 Supp_ID가 afterId보다 큰 첫 위치 (이진 탐색) */
+    private static int firstAfter(List<SupplierReportRow> source, int afterId) {
+        int lo = 0, hi = source.size();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (source.get(mid).suppId() <= afterId) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Supp_ID 순으로 정렬된 변경 불가 스냅샷 (항목이 바뀌기 전까지 재사용) */
+    private List<SupplierReportRow> sortedEntries() {
+        if (sorted == null) {
+            List<SupplierReportRow> list = new ArrayList<>(entries.values());
+            list.sort(Comparator.comparingInt(SupplierReportRow::suppId));
+            sorted = Collections.unmodifiableList(list);
+        }
+        return sorted;
+    }
+
+    /**
+     * 캐시된 전체 스냅샷 (Supp_ID 순).
+     * 스냅샷이 없거나 만료되었으면 채우기를 시작하고, 그 사이 또는 캐시할 수 없는 크기이면 null.
+     */
+    private List<SupplierReportRow> snapshot(Loader loader) throws SQLException {
+        Map<Integer, Long> reload;
+        synchronized (this) {
+            if (complete && System.nanoTime() - loadedAt > ttlNanos) complete = false;
+            if (!complete && !oversized && !filling) {
+                filling = true;
+                long gen = generation;
+                filler.execute(() -> fill(loader, gen));
+            }
+            if (!complete) {
+                misses++;
+                return null;
+            }
+            hits++;
+            if (staleIds.isEmpty()) return sortedEntries();
+            reload = new HashMap<>(staleIds);
+        }
+
+        // 무효화된 공급업체만 다시 읽어 반영
+        List<SupplierReportRow> fresh = loader.loadByIds(reload.keySet());
+        synchronized (this) {
+            for (SupplierReportRow s : fresh) entries.put(s.suppId(), s);
+            // 읽는 동안 다시 무효화된 업체는 순번이 달라 남는다 (읽은 값이 그 발주 커밋 전일 수 있음)
+            reload.forEach(staleIds::remove);
+            sorted = null;
+            return complete ? sortedEntries() : null;
+        }
+    }
+
+    /**
+     * 필터 없는 키셋 청크로 전체 공급업체를 읽어 스냅샷을 만든다.
+     * 크기 상한을 넘는 순간 멈추고 캐시할 수 없음을 기록한다.
+     * @param gen 시작 시점의 전체 무효화 세대 (그 사이 invalidateAll되면 결과를 버린다)
+     */
+    private void fill(Loader loader, long gen) {
+        Map<Integer, Long> staleBefore;
+        synchronized (this) {
+            staleBefore = new HashMap<>(staleIds);
+        }
+        long startedAt = System.nanoTime();
+        List<SupplierReportRow> all = new ArrayList<>();
+        try {
+            int after = 0;
+            while (all.size() <= maxEntries) {
+                List<SupplierReportRow> chunk = loader.loadPage(null, 0, 100, after, FILL_CHUNK);
+                all.addAll(chunk);
+                if (chunk.size() < FILL_CHUNK) break;
+                after = chunk.get(chunk.size() - 1).suppId();
+            }
+        } catch (SQLException | RuntimeException e) {
+            AppLogger.log("WARN", "공급업체 집계 캐시 적재 실패: " + e.getMessage());
+            synchronized (this) {
+                filling = false;
+            }
+            return;
+        }
+        synchronized (this) {
+            filling = false;
+            if (gen != generation) return;
+            entries.clear();
+            sorted = null;
+            // 적재 중에 들어온 무효화는 남겨 두어 다음 조회에서 다시 읽는다
+            staleBefore.forEach(staleIds::remove);
+            loadedAt = startedAt;
+            oversized = all.size() > maxEntries;
+            complete = !oversized;
+            if (oversized) {
+                AppLogger.log("INFO", "공급업체 수가 집계 캐시 상한(" + maxEntries + ")을 넘어 리포트를 DB 키셋 쿼리로 조회합니다");
+                return;
+            }
+            for (SupplierReportRow s : all) entries.put(s.suppId(), s);
+        }
+    }
+
+    /**
+     * 해당 공급업체의 집계를 무효화한다. 발주 커밋 후 호출한다.
+     * 스냅샷 모드에서는 다시 읽어도 MV 값이 같으므로 호출하지 않는다 (스냅샷 갱신 후 invalidateAll로 반영).
+     */
+    public synchronized void invalidate(int suppId) {
+        staleIds.put(suppId, ++invalidations);
+    }
+
+    /**
+     * 캐시 전체를 무효화한다. 일괄 가져오기 등 다수 공급업체가 바뀐 경우 사용한다.
+     * 캐시할 수 없는 크기라는 판단은 유지한다 (공급업체 수는 무효화로 줄지 않음).
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        complete = false;
+        entries.clear();
+        sorted = null;
+        staleIds.clear();
+    }
+
+    public synchronized String getStats() {
+        return "entries=" + entries.size() + ", complete=" + complete + ", oversized=" + oversized
+                + ", filling=" + filling + ", stale=" + staleIds.size()
+                + ", hits=" + hits + ", misses=" + misses;
+    }
+}
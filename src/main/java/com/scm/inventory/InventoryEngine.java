@@ -0,0 +1,551 @@
+package com.scm.inventory;
+
+import com.scm.config.ConnectionPool;
+import com.scm.dao.InventoryDAO;
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import com.scm.util.StripedLongMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 창고/부품별 재고를 메모리에 두고 STORES에는 모아서 나중에 반영(write-behind)하는 재고 엔진.
+ * - 재고는 StripedLongMap(키: Wh_ID/Part_ID 묶음)에 있어 조회와 입고/출고가 DB 왕복 없이 처리된다.
+ * - 모든 변경은 먼저 저널(InventoryJournal)에 기록하고 디스크 동기화 후 반환하므로 프로세스가 죽어도 잃지 않는다.
+ * - 반영 대기 증감량은 키별로 합산해 두었다가 flushMs마다 한 트랜잭션의 배치 Upsert로 STORES에 더하고,
+ *   반영한 마지막 저널 순번을 INVENTORY_CHECKPOINT에 같은 트랜잭션으로 기록한다.
+ * - 시작 시 STORES를 적재한 뒤 체크포인트 이후 저널 레코드를 다시 적용하여 복구한다.
+ * 발주 트랜잭션의 입고는 stage()로 커밋 전에 저널에 남기고, 커밋 후 apply() / 롤백 시 cancel()한다.
+ * 결과가 정해지지 않은 입고 기록이 있는 동안 체크포인트는 그 기록 바로 앞에서 멈추고, 그보다 뒤 순번의 변경은
+ * 체크포인트가 지나갈 때까지 STORES 반영을 보류한다 (복구 시 두 번 더해지지 않도록).
+ * 커밋 요청이 실패해 결과를 알 수 없으면 inDoubt()로 남겨 두고 다음 반영 때 발주가 커밋되었는지 확인해 반영한다.
+ * 복구 시 발주 참조(PO_ID)가 커밋되지 않은 레코드는 건너뛴다.
+ * 엔진은 STORES의 유일한 기록자여야 한다 (같은 DB에 엔진을 여러 개 띄우거나 STORES를 직접 고치면 메모리 값과 어긋난다).
+ * 그래서 실행 중 전용 커넥션으로 STORES 기록자 advisory lock을 잡고 있으며, 같은 DB의 두 번째 엔진은 시작하지 못하고
+ * 엔진 없이 STORES를 직접 갱신하는 트랜잭션은 InventoryDAO.checkDirectWrite에서 거부된다.
+ * 저널 디렉터리도 엔진이 잠그며, 체크포인트는 저널 디렉터리별로 기록한다.
+ * 설정: -Dscm.inventory.mode (engine | db, 기본 db), -Dscm.inventory.journalDir (기본 inventory-journal),
+ * -Dscm.inventory.flushMs (기본 1000), -Dscm.inventory.fsync (기본 true)
+ */
+public class InventoryEngine implements AutoCloseable {
+    private static final int STRIPES = 64;
+
+    private static final Metrics.Counter RECEIVES = Metrics.counter("inventory.receive");
+    private static final Metrics.Counter RESERVES = Metrics.counter("inventory.reserve");
+    private static final Metrics.Counter REJECTED = Metrics.counter("inventory.reserve.rejected");
+    private static final Metrics.Timer FLUSH = Metrics.timer("inventory.flush");
+
+    private final InventoryDAO inventoryDAO;
+    private final InventoryJournal journal;
+    private final StripedLongMap onHand = new StripedLongMap(STRIPES);
+    private final StripedLongMap pending = new StripedLongMap(STRIPES);
+    /**
+     * 변경(읽기 잠금)과 반영 대상 수집(쓰기 잠금)의 경계. 읽기 잠금은 저널 기록과 메모리 반영 동안만 잡는다.
+     * 수집 시점에는 저널에 기록되고 아직 pending/held에 들어가지 않은 변경이 없어야 체크포인트 순번이 정확하다.
+     */
+    private final ReentrantReadWriteLock gate = new ReentrantReadWriteLock();
+    /**
+     * 결과가 정해지지 않은 입고 기록(stage 후 apply/cancel 전, 결과 불명 포함)의 첫 저널 순번.
+     * 체크포인트는 가장 작은 값 - 1을 넘지 않는다. 첫 기록과 등록을 이 객체의 잠금 안에서 함께 하고
+     * 보류 여부도 이 잠금 안에서 판단하므로, 어떤 변경이든 그보다 앞 순번의 미결 기록을 놓치지 않는다.
+     */
+    private final TreeSet<Long> outstanding = new TreeSet<>();
+    /** 미결 기록보다 뒤 순번이라 체크포인트가 지나갈 때까지 STORES 반영을 보류한 변경 */
+    private final List<Held> held = new ArrayList<>();
+    /** 커밋 결과를 알 수 없는 입고분 (다음 반영 때 발주 커밋 여부로 확정, 그때까지 미결) */
+    private final List<Staged> inDoubt = new ArrayList<>();
+    private final Object flushLock = new Object();
+    private final ScheduledExecutorService flusher;
+    private final long flushMs;
+
+    private String journalId;
+    /** STORES 기록자 잠금을 잡고 있는 전용 커넥션 */
+    private Connection writerLock;
+    private volatile long checkpointSeq;
+    private volatile boolean closed;
+
+    private InventoryEngine(ConnectionPool pool, Path journalDir, boolean fsync, long flushMs) {
+        this.inventoryDAO = new InventoryDAO(pool);
+        this.journal = new InventoryJournal(journalDir, fsync);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scm-inventory-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flushMs = flushMs;
+    }
+
+    /** 시스템 속성으로 엔진을 쓰도록 설정되어 있는지 (기본은 db: STORES 직접 갱신) */
+    public static boolean isEnabled() {
+        return System.getProperty("scm.inventory.mode", "db").equalsIgnoreCase("engine");
+    }
+
+    /**
+     * 같은 DB에서 재고 엔진이 실행 중인지 (이 프로세스의 모드와 무관).
+     * 엔진 없이 발주하는 쪽이 미리 안내하는 데 쓴다. 실제 거부는 트랜잭션 안의 InventoryDAO.checkDirectWrite가 한다.
+     */
+    public static boolean isRunningElsewhere(ConnectionPool pool) throws SQLException {
+        return new InventoryDAO(pool).isWriterLocked();
+    }
+
+    private static Path journalDir() {
+        return Path.of(System.getProperty("scm.inventory.journalDir", "inventory-journal"));
+    }
+
+    /** 시스템 속성 설정으로 엔진을 연다. */
+    public static InventoryEngine open(ConnectionPool pool) throws SQLException, IOException {
+        return open(pool, journalDir(),
+                Boolean.parseBoolean(System.getProperty("scm.inventory.fsync", "true")),
+                Long.getLong("scm.inventory.flushMs", 1000));
+    }
+
+    /**
+     * STORES 기록자 잠금과 저널 디렉터리를 잠그고 STORES를 적재해 저널로 복구한 뒤 주기 반영을 시작한다.
+     * 실패하면 잠금을 풀고 예외를 던진다 (다른 엔진이 실행 중이거나 디렉터리를 쓰고 있는 경우 포함).
+     * @param journalDir 저널 세그먼트 디렉터리
+     * @param fsync 변경마다 디스크 동기화 여부
+     * @param flushMs STORES 반영 주기
+     */
+    public static InventoryEngine open(ConnectionPool pool, Path journalDir, boolean fsync, long flushMs)
+            throws SQLException, IOException {
+        InventoryEngine engine = new InventoryEngine(pool, journalDir, fsync, flushMs);
+        try {
+            engine.recover();
+        } catch (SQLException | IOException | RuntimeException e) {
+            engine.flusher.shutdownNow();
+            try {
+                engine.journal.close();
+            } catch (IOException closeError) {
+                e.addSuppressed(closeError);
+            }
+            engine.releaseWriterLock();
+            throw e;
+        }
+        engine.flusher.scheduleWithFixedDelay(engine::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        return engine;
+    }
+
+    private void recover() throws SQLException, IOException {
+        long start = System.nanoTime();
+        writerLock = inventoryDAO.lockWriter();
+        journalId = journal.open();
+        checkpointSeq = inventoryDAO.load(onHand, journalId);
+        List<InventoryJournal.Entry> entries = journal.recover(checkpointSeq);
+
+        Set<Integer> refs = new HashSet<>();
+        for (InventoryJournal.Entry e : entries) if (e.ref() != 0) refs.add(e.ref());
+        Set<Integer> committed = inventoryDAO.committedOrders(refs);
+        int replayed = 0;
+        for (InventoryJournal.Entry e : entries) {
+            if (e.ref() != 0 && !committed.contains(e.ref())) continue;
+            long key = StripedLongMap.pack(e.whId(), e.partId());
+            onHand.addAndGet(key, e.delta());
+            pending.addAndGet(key, e.delta());
+            replayed++;
+        }
+        AppLogger.log("INFO", String.format("재고 엔진 시작: %,d개 품목, 체크포인트 %d, 저널 재적용 %d/%d건, %,d ms",
+                onHand.size(), checkpointSeq, replayed, entries.size(), (System.nanoTime() - start) / 1_000_000));
+        // 재적용분을 바로 반영하여 이전 세그먼트를 정리한다
+        flush();
+    }
+
+    /** 메모리상의 현재 재고 (STORES에 아직 반영되지 않은 변경 포함) */
+    public long available(int whId, int partId) {
+        return onHand.get(StripedLongMap.pack(whId, partId));
+    }
+
+    /** STORES 반영을 기다리는 증감량 (체크포인트를 기다리며 보류 중인 변경 포함) */
+    public long pendingDelta(int whId, int partId) {
+        long key = StripedLongMap.pack(whId, partId);
+        long delta = pending.get(key);
+        synchronized (held) {
+            for (Held h : held) if (h.key() == key) delta += h.delta();
+        }
+        return delta;
+    }
+
+    /**
+     * 입고: 재고를 qty만큼 늘린다. 저널이 디스크에 기록된 뒤 반환한다.
+     */
+    public void receive(int whId, int partId, int qty) throws IOException {
+        if (qty <= 0) throw new IllegalArgumentException("입고 수량은 1 이상이어야 합니다: " + qty);
+        long key = StripedLongMap.pack(whId, partId);
+        gate.readLock().lock();
+        try {
+            long seq = journal.append(0, whId, partId, qty);
+            onHand.addAndGet(key, qty);
+            enqueue(seq, key, qty);
+            journal.sync(seq);
+        } finally {
+            gate.readLock().unlock();
+        }
+        RECEIVES.increment();
+    }
+
+    /**
+     * 출고 예약: 재고가 qty 이상이면 원자적으로 차감한다.
+     * @return 차감했으면 true, 재고가 모자라면 false (변경 없음)
+     */
+    public boolean reserve(int whId, int partId, int qty) throws IOException {
+        if (qty <= 0) throw new IllegalArgumentException("출고 수량은 1 이상이어야 합니다: " + qty);
+        long key = StripedLongMap.pack(whId, partId);
+        gate.readLock().lock();
+        try {
+            if (!onHand.tryAdd(key, -qty, 0)) {
+                REJECTED.increment();
+                return false;
+            }
+            long seq;
+            try {
+                seq = journal.append(0, whId, partId, -qty);
+            } catch (IOException | RuntimeException e) {
+                onHand.addAndGet(key, qty); // 기록하지 못한 차감은 되돌린다
+                throw e;
+            }
+            enqueue(seq, key, -qty);
+            journal.sync(seq);
+        } finally {
+            gate.readLock().unlock();
+        }
+        RESERVES.increment();
+        return true;
+    }
+
+    /**
+     * 발주 트랜잭션의 입고분을 커밋 전에 저널에 기록한다. 메모리 재고에는 apply() 시점에 반영된다.
+     * 반환한 핸들은 같은 스레드에서 반드시 apply(), cancel(), inDoubt() 중 하나를 호출해야 한다
+     * (그동안 체크포인트는 이 기록 앞에서 멈춘다).
+     * @param ref 발주 PO_ID (복구 시 커밋 여부 확인용)
+     * @param whId 입고 창고
+     * @param qtyByPart 부품별 입고 수량
+     */
+    public Staged stage(int ref, int whId, Map<Integer, Integer> qtyByPart) throws IOException {
+        long[] keys = new long[qtyByPart.size()];
+        int[] deltas = new int[keys.length];
+        int n = 0;
+        for (Map.Entry<Integer, Integer> e : qtyByPart.entrySet()) {
+            keys[n] = StripedLongMap.pack(whId, e.getKey());
+            deltas[n++] = e.getValue();
+        }
+        return stage(ref, keys, deltas);
+    }
+
+    /**
+     * 여러 창고에 걸친 입고분을 기록한다 (일괄 가져오기용).
+     * @param keys StripedLongMap.pack(Wh_ID, Part_ID)
+     */
+    public Staged stage(int ref, long[] keys, int[] deltas) throws IOException {
+        long[] seqs = new long[keys.length];
+        gate.readLock().lock();
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                if (i == 0) {
+                    synchronized (outstanding) {
+                        seqs[0] = journal.append(ref, StripedLongMap.high(keys[0]), StripedLongMap.low(keys[0]), deltas[0]);
+                        outstanding.add(seqs[0]);
+                    }
+                } else {
+                    seqs[i] = journal.append(ref, StripedLongMap.high(keys[i]), StripedLongMap.low(keys[i]), deltas[i]);
+                }
+            }
+            if (seqs.length > 0) journal.sync(seqs[seqs.length - 1]);
+            return new Staged(ref, keys, deltas, seqs);
+        } catch (IOException | RuntimeException e) {
+            // 발주 트랜잭션이 롤백되므로 남은 기록은 복구 시 참조 발주가 없어 건너뛴다
+            if (seqs.length > 0 && seqs[0] > 0) {
+                synchronized (outstanding) {
+                    outstanding.remove(seqs[0]);
+                }
+            }
+            throw e;
+        } finally {
+            gate.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저널에 기록한 변경을 반영 대기분에 넣는다. 아직 결과가 정해지지 않은 입고 기록보다 뒤 순번이면
+     * 체크포인트가 그 순번을 지나갈 때까지 보류한다. 읽기 잠금(또는 쓰기 잠금) 안에서 호출한다.
+     */
+    private void enqueue(long seq, long key, long delta) {
+        boolean hold;
+        synchronized (outstanding) {
+            hold = !outstanding.isEmpty() && seq > outstanding.first();
+        }
+        if (hold) {
+            synchronized (held) {
+                held.add(new Held(seq, key, delta));
+            }
+        } else {
+            pending.addAndGet(key, delta);
+        }
+    }
+
+    /** 보류한 변경 (저널 순번, 키, 증감량) */
+    private record Held(long seq, long key, long delta) {}
+
+    /**
+     * 커밋 대기 중인 입고분
+     */
+    public final class Staged {
+        private final int ref;
+        private final long[] keys;
+        private final int[] deltas;
+        /** 레코드별 저널 순번 (다른 기록과 섞일 수 있어 연속이 아닐 수 있다) */
+        private final long[] seqs;
+        private boolean done;
+
+        private Staged(int ref, long[] keys, int[] deltas, long[] seqs) {
+            this.ref = ref;
+            this.keys = keys;
+            this.deltas = deltas;
+            this.seqs = seqs;
+        }
+
+        /** 트랜잭션 커밋 후 호출: 메모리 재고와 반영 대기분에 더한다. */
+        public void apply() {
+            if (done) return;
+            done = true;
+            gate.readLock().lock();
+            try {
+                resolve();
+            } finally {
+                gate.readLock().unlock();
+            }
+        }
+
+        /** 미결 표시를 지우고 메모리 재고와 반영 대기분(또는 보류)에 더한다. 읽기 또는 쓰기 잠금 안에서 호출한다. */
+        private void resolve() {
+            long lowest;
+            synchronized (outstanding) {
+                if (seqs.length > 0) outstanding.remove(seqs[0]);
+                lowest = outstanding.isEmpty() ? Long.MAX_VALUE : outstanding.first();
+            }
+            List<Held> later = new ArrayList<>();
+            for (int i = 0; i < keys.length; i++) {
+                onHand.addAndGet(keys[i], deltas[i]);
+                if (seqs[i] > lowest) later.add(new Held(seqs[i], keys[i], deltas[i]));
+                else pending.addAndGet(keys[i], deltas[i]);
+            }
+            if (!later.isEmpty()) {
+                synchronized (held) {
+                    held.addAll(later);
+                }
+            }
+            RECEIVES.add(keys.length);
+        }
+
+        /** 미결 표시만 지운다 (반영하지 않음) */
+        private void release() {
+            if (seqs.length == 0) return;
+            synchronized (outstanding) {
+                outstanding.remove(seqs[0]);
+            }
+        }
+
+        /** 트랜잭션 롤백 시 호출 (apply() 이후 호출은 무시). 저널 레코드는 복구 시 참조 발주가 없어 건너뛴다. */
+        public void cancel() {
+            if (done) return;
+            done = true;
+            release();
+        }
+
+        /**
+         * 커밋 요청이 실패해 서버에서 커밋되었는지 알 수 없을 때 호출한다 (연결 끊김 등).
+         * 저널 레코드를 그대로 두고, 다음 반영 때 참조 발주가 커밋되었으면 메모리 재고와 STORES에 반영한다.
+         * 확인할 때까지 미결로 남아 체크포인트가 이 기록을 지나가지 않는다.
+         */
+        public void inDoubt() {
+            if (done) return;
+            done = true;
+            synchronized (inDoubt) {
+                inDoubt.add(this);
+            }
+        }
+    }
+
+    /**
+     * 반영 대기 증감량을 STORES에 반영한다. 실패하면 대기분을 되돌려 다음 반영에 포함한다.
+     * 체크포인트는 마지막 저널 순번과 가장 앞선 미결 입고 기록 - 1 중 작은 값이며, 보류했던 변경 중
+     * 그 이하 순번인 것을 이번 반영에 넣는다. 커밋 결과를 알 수 없던 입고분은 먼저 발주 커밋 여부를 확인해
+     * 커밋된 것만 메모리 재고와 함께 반영하고 미결 표시를 지운다.
+     * @return 반영한 품목 수
+     */
+    public int flush() throws SQLException, IOException {
+        synchronized (flushLock) {
+            long t = FLUSH.start();
+            List<Staged> doubts;
+            synchronized (inDoubt) {
+                doubts = new ArrayList<>(inDoubt);
+                inDoubt.clear();
+            }
+            Set<Integer> committed = doubts.isEmpty() ? Set.of() : committedOrders(doubts);
+
+            long[][] drained = {new long[64], new long[64]};
+            int[] count = {0};
+            long seq;
+            gate.writeLock().lock();
+            try {
+                for (Staged s : doubts) {
+                    if (committed.contains(s.ref)) s.resolve(); else s.release();
+                }
+                synchronized (outstanding) {
+                    seq = outstanding.isEmpty() ? journal.lastSeq() : Math.min(journal.lastSeq(), outstanding.first() - 1);
+                }
+                journal.roll();
+                synchronized (held) {
+                    held.removeIf(h -> {
+                        if (h.seq() > seq) return false;
+                        pending.addAndGet(h.key(), h.delta());
+                        return true;
+                    });
+                }
+                pending.drain((key, delta) -> {
+                    if (delta != 0) append(drained, count, key, delta);
+                });
+            } finally {
+                gate.writeLock().unlock();
+            }
+            if (!doubts.isEmpty()) {
+                long applied = doubts.stream().filter(s -> committed.contains(s.ref)).count();
+                AppLogger.log("WARN", "커밋 결과를 알 수 없던 입고 " + doubts.size() + "건 확인: 커밋 " + applied + "건 반영, 나머지 버림");
+            }
+            if (count[0] == 0 && seq == checkpointSeq) return 0;
+
+            long[] keys = drained[0], deltas = drained[1];
+            int n = count[0];
+            sortByKey(keys, deltas, n);
+            try {
+                ensureWriterLock();
+                inventoryDAO.applyDeltas(keys, deltas, n, journalId, seq);
+            } catch (SQLException | RuntimeException e) {
+                for (int i = 0; i < n; i++) pending.addAndGet(keys[i], deltas[i]);
+                throw e;
+            }
+            checkpointSeq = seq;
+            journal.deleteUpTo(seq);
+            FLUSH.stop(t);
+            return n;
+        }
+    }
+
+    /**
+     * 커밋 결과를 알 수 없던 입고분 중 발주가 커밋된 것의 PO_ID.
+     * 확인하지 못하면 목록에 되돌려 다음 반영에서 다시 확인한다 (그동안 미결로 남는다).
+     */
+    private Set<Integer> committedOrders(List<Staged> doubts) throws SQLException {
+        Set<Integer> refs = new HashSet<>();
+        for (Staged s : doubts) refs.add(s.ref);
+        try {
+            return inventoryDAO.committedOrders(refs);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (inDoubt) {
+                inDoubt.addAll(doubts);
+            }
+            throw e;
+        }
+    }
+
+    /** 기록자 잠금 커넥션이 끊겼으면 다시 잡는다 (끊긴 동안에는 잠금이 풀려 있었다). */
+    private void ensureWriterLock() throws SQLException {
+        if (writerLock.isValid(5)) return;
+        AppLogger.log("ERROR", "재고 엔진의 STORES 기록자 잠금 커넥션이 끊겨 다시 잡습니다 "
+                + "(그 사이 STORES를 직접 갱신했다면 엔진을 다시 시작해야 메모리 재고가 맞습니다)");
+        releaseWriterLock();
+        writerLock = inventoryDAO.lockWriter();
+    }
+
+    /** 전용 커넥션을 닫아 기록자 잠금을 푼다. */
+    private void releaseWriterLock() {
+        if (writerLock == null) return;
+        try {
+            writerLock.close();
+        } catch (SQLException e) {
+            AppLogger.log("WARN", "재고 엔진 기록자 잠금 커넥션 종료 실패: " + e.getMessage());
+        }
+        writerLock = null;
+    }
+
+    private static void append(long[][] drained, int[] count, long key, long delta) {
+        if (count[0] == drained[0].length) {
+            drained[0] = Arrays.copyOf(drained[0], count[0] * 2);
+            drained[1] = Arrays.copyOf(drained[1], count[0] * 2);
+        }
+        drained[0][count[0]] = key;
+        drained[1][count[0]++] = delta;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "재고 STORES 반영 실패 (다음 주기에 재시도): " + e.getMessage());
+        }
+    }
+
+    /** 키 오름차순 = (Wh_ID, Part_ID) 순서로 정렬한다 (발주 트랜잭션과 같은 잠금 순서). */
+    private static void sortByKey(long[] keys, long[] deltas, int n) {
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Long.compare(keys[a], keys[b]));
+        long[] k = new long[n], d = new long[n];
+        for (int i = 0; i < n; i++) {
+            k[i] = keys[order[i]];
+            d[i] = deltas[order[i]];
+        }
+        System.arraycopy(k, 0, keys, 0, n);
+        System.arraycopy(d, 0, deltas, 0, n);
+    }
+
+    public InventoryStats getStats() {
+        return new InventoryStats(onHand.size(), pending.size(), journal.lastSeq(), checkpointSeq, journal.segmentCount());
+    }
+
+    /** 주기 반영을 멈추고 남은 변경을 반영한 뒤 저널을 닫고 기록자 잠금을 푼다. */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(flushMs + 5_000, TimeUnit.MILLISECONDS);
+            flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "재고 최종 반영 실패 (다음 시작 시 저널로 복구): " + e.getMessage());
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            releaseWriterLock();
+        }
+    }
+
+    /**
+     * 재고 엔진 상태
+     */
+    public record InventoryStats(int items, int pendingItems, long journalSeq, long checkpointSeq, int segments) {
+        @Override
+        public String toString() {
+            return String.format("품목 %,d개, 반영 대기 %,d개, 저널 순번 %d (STORES 반영 %d), 세그먼트 %d개",
+                    items, pendingItems, journalSeq, checkpointSeq, segments);
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.scm.inventory;
+
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * 재고 변경 선행 기록(write-ahead journal).
+ * 변경 한 건을 고정 길이 레코드(순번, 참조 발주, 창고, 부품, 증감량, CRC)로 세그먼트 파일 끝에 덧붙인다.
+ * sync()는 그룹 커밋으로 동작하여, 여러 스레드가 동시에 요청하면 먼저 들어간 한 스레드의 fsync가 모두를 덮는다.
+ * 세그먼트는 STORES 반영(flush) 시점에 닫고, 반영이 커밋된 순번까지의 세그먼트는 삭제한다.
+ * 디렉터리는 open()에서 잠그므로(journal.lock) 한 디렉터리를 두 엔진이 함께 쓸 수 없고,
+ * 디렉터리마다 식별자(journal.id)를 두어 체크포인트를 저널별로 기록한다.
+ */
+class InventoryJournal implements AutoCloseable {
+    /** 레코드 길이: seq(8) + ref(4) + wh(4) + part(4) + delta(4) + crc(4) */
+    static final int RECORD_BYTES = 28;
+    private static final String PREFIX = "inventory-";
+    private static final String SUFFIX = ".wal";
+    private static final String LOCK_FILE = "journal.lock";
+    private static final String ID_FILE = "journal.id";
+    /**
+     * 이 JVM이 잠근 디렉터리. 같은 파일을 다른 채널로 열었다 닫으면 OS가 JVM의 잠금을 모두 풀어 버리므로
+     * 이미 잠근 디렉터리는 파일을 열지 않고 여기서 판단한다.
+     */
+    private static final Set<Path> HELD = ConcurrentHashMap.newKeySet();
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private static final Metrics.Timer SYNC = Metrics.timer("inventory.journal.sync");
+
+    /**
+     * 복구용 레코드
+     * @param ref 발주 트랜잭션에 묶인 변경이면 PO_ID, 단독 변경이면 0
+     */
+    record Entry(long seq, int ref, int whId, int partId, int delta) {}
+
+    private final Path dir;
+    private final boolean fsync;
+    private final Object syncLock = new Object();
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final CRC32 crc = new CRC32();
+    /** 닫힌 세그먼트 (파일, 마지막 순번) */
+    private final Deque<Sealed> sealed = new ArrayDeque<>();
+
+    private FileChannel lockChannel;
+    private FileLock lock;
+    private FileChannel channel;
+    private Path current;
+    private long currentFirstSeq;
+    private long lastSeq;
+    private volatile long durableSeq;
+
+    private record Sealed(Path file, long lastSeq) {}
+
+    /**
+     * @param dir 세그먼트 디렉터리
+     * @param fsync false면 OS 버퍼까지만 쓰고 디스크 동기화는 생략 (전원 장애 시 마지막 기록 유실 가능)
+     */
+    InventoryJournal(Path dir, boolean fsync) {
+        this.dir = dir;
+        this.fsync = fsync;
+    }
+
+    /**
+     * 디렉터리를 잠그고 저널 식별자를 읽는다 (없으면 만든다). recover() 전에 호출하며 잠금은 close()까지 유지한다.
+     * @return 저널 식별자 (INVENTORY_CHECKPOINT 행 키)
+     * @throws IOException 다른 프로세스(또는 같은 프로세스의 다른 엔진)가 이미 쓰고 있는 경우 포함
+     */
+    synchronized String open() throws IOException {
+        Files.createDirectories(dir);
+        Path key = dir.toRealPath();
+        if (!HELD.add(key)) throw locked();
+        FileChannel ch = null;
+        try {
+            ch = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock l;
+            try {
+                l = ch.tryLock();
+            } catch (OverlappingFileLockException e) {
+                l = null;
+            }
+            if (l == null) throw locked();
+            lockChannel = ch;
+            lock = l;
+            return readOrCreateId();
+        } catch (IOException | RuntimeException e) {
+            lock = null;
+            lockChannel = null;
+            if (ch != null) ch.close();
+            HELD.remove(key);
+            throw e;
+        }
+    }
+
+    /** 저널 디렉터리를 다른 프로세스의 엔진이 쓰고 있는지 (잠금을 잡지 못하면 true) */
+    static boolean isLocked(Path dir) {
+        Path file = dir.resolve(LOCK_FILE);
+        if (!Files.exists(file)) return false;
+        try {
+            if (HELD.contains(dir.toRealPath())) return true;
+        } catch (IOException e) {
+            return false;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            FileLock l = ch.tryLock();
+            if (l == null) return true;
+            l.release();
+            return false;
+        } catch (OverlappingFileLockException e) {
+            return true;
+        } catch (IOException e) {
+            AppLogger.log("WARN", "재고 저널 잠금 확인 실패: " + file + " (" + e.getMessage() + ")");
+            return false;
+        }
+    }
+
+    private IOException locked() {
+        return new IOException("재고 저널을 다른 엔진이 사용 중입니다: " + dir.toAbsolutePath());
+    }
+
+    /** 식별자 파일을 읽는다. 없으면 새로 만들어 원자적으로 기록한다. */
+    private String readOrCreateId() throws IOException {
+        Path file = dir.resolve(ID_FILE);
+        if (Files.exists(file)) {
+            String id = Files.readString(file, StandardCharsets.UTF_8).strip();
+            if (!id.isEmpty()) return id;
+        }
+        String id = UUID.randomUUID().toString();
+        Path tmp = dir.resolve(ID_FILE + ".tmp");
+        Files.writeString(tmp, id + "\n", StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return id;
+    }
+
+    /**
+     * 디렉터리의 세그먼트를 순번순으로 읽어 afterSeq 이후 레코드를 반환하고, 이어 쓸 새 세그먼트를 연다.
+     * 길이가 모자라거나 CRC가 맞지 않는 레코드(기록 중 중단된 꼬리)에서 그 세그먼트 읽기를 멈춘다.
+     * @param afterSeq STORES에 이미 반영된 마지막 순번
+     */
+    synchronized List<Entry> recover(long afterSeq) throws IOException {
+        if (lock == null) throw new IllegalStateException("open() 전에 복구할 수 없습니다");
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+            for (Path f : stream) files.add(f);
+        }
+        files.sort(null); // 파일명에 첫 순번을 0으로 채워 넣으므로 이름순 = 순번순
+
+        List<Entry> entries = new ArrayList<>();
+        long maxSeq = afterSeq;
+        for (Path f : files) {
+            long fileLast = 0;
+            ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES);
+            try (FileChannel in = FileChannel.open(f, StandardOpenOption.READ)) {
+                while (true) {
+                    record.clear();
+                    while (record.hasRemaining() && in.read(record) > 0) {}
+                    if (record.position() == 0) break;
+                    if (record.hasRemaining() || !checksumOk(record)) {
+                        AppLogger.log("WARN", "재고 저널 손상 레코드에서 중단: " + f.getFileName() + " @" + (in.position() - record.position()));
+                        break;
+                    }
+                    record.flip();
+                    Entry e = new Entry(record.getLong(), record.getInt(), record.getInt(), record.getInt(), record.getInt());
+                    fileLast = e.seq;
+                    maxSeq = Math.max(maxSeq, e.seq);
+                    if (e.seq > afterSeq) entries.add(e);
+                }
+            }
+            if (fileLast == 0) Files.delete(f); // 기록 전에 중단된 빈 세그먼트
+            else sealed.add(new Sealed(f, fileLast));
+        }
+        lastSeq = maxSeq;
+        durableSeq = maxSeq;
+        openSegment();
+        return entries;
+    }
+
+    /**
+     * 레코드를 버퍼에 추가한다. 디스크 기록은 sync()에서 한다.
+     * @return 레코드 순번
+     */
+    synchronized long append(int ref, int whId, int partId, int delta) throws IOException {
+        if (buffer.remaining() < RECORD_BYTES) writeBuffer();
+        long seq = ++lastSeq;
+        int start = buffer.position();
+        buffer.putLong(seq).putInt(ref).putInt(whId).putInt(partId).putInt(delta);
+        crc.reset();
+        crc.update(buffer.array(), start, RECORD_BYTES - 4);
+        buffer.putInt((int) crc.getValue());
+        return seq;
+    }
+
+    /** seq까지의 레코드가 디스크에 기록되도록 한다 (이미 기록되었으면 바로 반환). */
+    void sync(long seq) throws IOException {
+        if (durableSeq >= seq) return;
+        synchronized (syncLock) {
+            if (durableSeq >= seq) return;
+            long t = SYNC.start();
+            long upTo;
+            FileChannel ch;
+            synchronized (this) {
+                writeBuffer();
+                upTo = lastSeq;
+                ch = channel;
+            }
+            if (fsync) ch.force(false);
+            durableSeq = upTo;
+            SYNC.stop(t);
+        }
+    }
+
+    synchronized long lastSeq() {
+        return lastSeq;
+    }
+
+    /**
+     * 현재 세그먼트를 디스크에 기록하고 닫은 뒤 새 세그먼트를 연다 (비어 있으면 그대로 둔다).
+     * 호출자는 그동안 append가 없도록 보장해야 한다.
+     */
+    void roll() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                if (lastSeq < currentFirstSeq) return;
+                writeBuffer();
+                if (fsync) channel.force(false);
+                durableSeq = lastSeq;
+                channel.close();
+                sealed.add(new Sealed(current, lastSeq));
+                openSegment();
+            }
+        }
+    }
+
+    /** 마지막 순번이 seq 이하인 닫힌 세그먼트를 삭제한다. */
+    synchronized void deleteUpTo(long seq) {
+        while (!sealed.isEmpty() && sealed.peekFirst().lastSeq() <= seq) {
+            Path f = sealed.pollFirst().file();
+            try {
+                Files.deleteIfExists(f);
+            } catch (IOException e) {
+                AppLogger.log("WARN", "재고 저널 세그먼트 삭제 실패: " + f + " (" + e.getMessage() + ")");
+            }
+        }
+    }
+
+    /** 디스크에 남아 있는 세그먼트 수 (현재 세그먼트 포함) */
+    synchronized int segmentCount() {
+        return sealed.size() + 1;
+    }
+
+    /** 남은 기록을 디스크에 쓰고 세그먼트와 디렉터리 잠금을 닫는다. */
+    @Override
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                try {
+                    if (channel == null) return;
+                    writeBuffer();
+                    if (fsync) channel.force(false);
+                    durableSeq = lastSeq;
+                    channel.close();
+                    channel = null;
+                    // 기록이 없는 마지막 세그먼트는 남기지 않는다
+                    if (lastSeq < currentFirstSeq) Files.deleteIfExists(current);
+                } finally {
+                    releaseLock();
+                }
+            }
+        }
+    }
+
+    private void releaseLock() throws IOException {
+        if (lock == null) return;
+        try {
+            lockChannel.close(); // 채널을 닫으면 잠금도 풀린다
+        } finally {
+            lock = null;
+            lockChannel = null;
+            HELD.remove(dir.toRealPath());
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentFirstSeq = lastSeq + 1;
+        current = dir.resolve(String.format("%s%020d%s", PREFIX, currentFirstSeq, SUFFIX));
+        channel = FileChannel.open(current, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+
+    private boolean checksumOk(ByteBuffer record) {
+        crc.reset();
+        crc.update(record.array(), 0, RECORD_BYTES - 4);
+        return record.getInt(RECORD_BYTES - 4) == (int) crc.getValue();
+    }
+}
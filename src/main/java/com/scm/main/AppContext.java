@@ -0,0 +1,103 @@
+package com.scm.main;
+
+import com.scm.config.ConnectionPool;
+import com.scm.config.DBConnection;
+import com.scm.config.ReadRouter;
+import com.scm.config.SchemaInitializer;
+import com.scm.dao.SupplierSnapshotDAO;
+import com.scm.inventory.InventoryEngine;
+import com.scm.service.SnapshotRefresher;
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 실행 모드(대화형 메뉴, 단일 명령, 데몬)가 공유하는 애플리케이션 자원.
+ * 커넥션 풀과 보조 스키마만 시작 시 준비하고(마이그레이션은 적용 이력만 확인), 읽기 라우터와 재고 엔진은 처음 쓰일 때 만든다.
+ * 단일 명령은 한 번 실행하고 끝나므로 스냅샷 주기 갱신, 성능 지표 주기 기록, 재고 엔진을 시작하지 않는다.
+ */
+final class AppContext implements AutoCloseable {
+    private final ConnectionPool pool;
+    private final boolean longRunning;
+    private final SnapshotRefresher refresher;
+    private InventoryEngine inventory;
+    private boolean inventoryOpened;
+    private boolean closed;
+
+    private AppContext(ConnectionPool pool, boolean longRunning) {
+        this.pool = pool;
+        this.longRunning = longRunning;
+        if (longRunning) Metrics.startPeriodicDump();
+        this.refresher = longRunning && SupplierSnapshotDAO.isEnabled()
+                ? new SnapshotRefresher(pool, SupplierSnapshotDAO.REFRESH_SEC) : null;
+    }
+
+    /**
+     * DB 연결을 확인하고 보조 스키마를 적용한다.
+     * @param longRunning 대화형/데몬이면 true (스냅샷 주기 갱신, 성능 지표 주기 기록, 재고 엔진 사용)
+     * @throws SQLException DB에 연결할 수 없거나, 보조 스키마 적용에 실패했거나, 마이그레이션을 실행하지 않은 경우
+     */
+    static AppContext start(boolean longRunning) throws SQLException {
+        ConnectionPool pool = DBConnection.getPool();
+        if (pool == null) throw new SQLException("커넥션 풀을 만들 수 없습니다 (db.properties 확인)");
+        try (Connection conn = pool.getConnection()) {
+            if (conn.isClosed()) throw new SQLException("데이터베이스 연결 실패");
+        }
+        AppLogger.log("INFO", "데이터베이스 연결 성공");
+        // 발주 트랜잭션과 대시보드가 집계 테이블/함수에 의존하므로 적용하지 못하면 시작하지 않는다
+        if (!SchemaInitializer.apply(pool)) throw new SQLException("보조 스키마 적용 실패 (로그 참고)");
+        SchemaInitializer.checkMigrated(pool);
+        return new AppContext(pool, longRunning);
+    }
+
+    ConnectionPool pool() {
+        return pool;
+    }
+
+    /** 조회 전용 DAO용 읽기 라우터 (복제본 풀은 처음 요청 시 구성) */
+    ReadRouter router() {
+        return DBConnection.getReadRouter();
+    }
+
+    /** 공급업체 스냅샷 주기 갱신 작업 (단일 명령이거나 스냅샷을 쓰지 않으면 null) */
+    SnapshotRefresher refresher() {
+        return refresher;
+    }
+
+    /** 단일 명령처럼 한 번 실행하고 끝나는 모드인지 */
+    boolean isOneShot() {
+        return !longRunning;
+    }
+
+    /**
+     * 재고 엔진을 처음 요청할 때 연다 (지난 실행의 미반영 저널 복구 포함).
+     * 단일 명령 모드에서는 열지 않고, 발주 트랜잭션이 STORES를 직접 갱신한다.
+     * 다른 프로세스의 엔진이 STORES 기록자 잠금(또는 저널 디렉터리)을 잡고 있으면 시작에 실패하며,
+     * 그동안 STORES를 직접 갱신하는 발주 트랜잭션은 같은 잠금을 얻지 못해 거부된다 (InventoryDAO.checkDirectWrite).
+     * @return 재고 엔진 (사용하지 않거나 시작에 실패하면 null)
+     */
+    synchronized InventoryEngine inventory() {
+        if (inventoryOpened || closed) return inventory;
+        inventoryOpened = true;
+        if (!longRunning || !InventoryEngine.isEnabled()) return null;
+        try {
+            inventory = InventoryEngine.open(pool);
+        } catch (Exception e) {
+            // 저널은 증감량만 담으므로 다음 시작 때 그대로 재적용할 수 있다
+            AppLogger.log("ERROR", "재고 엔진 시작 실패, STORES 직접 갱신으로 동작: " + e.getMessage());
+        }
+        return inventory;
+    }
+
+    /** 재고 엔진의 남은 변경을 반영하고 자원을 정리한다. 종료 훅과 함께 불려도 한 번만 수행한다. */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        if (inventory != null) inventory.close();
+        if (refresher != null) refresher.close();
+        Metrics.stopPeriodicDump();
+        DBConnection.shutdown();
+    }
+}
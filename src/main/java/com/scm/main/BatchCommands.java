@@ -0,0 +1,350 @@
+package com.scm.main;
+
+import com.scm.dao.*;
+import com.scm.inventory.InventoryEngine;
+import com.scm.model.CarbonBucketRow;
+import com.scm.model.ProjectDashboard;
+import com.scm.model.ProjectMatch;
+import com.scm.render.ConsoleViews;
+import com.scm.render.OutputFormat;
+import com.scm.render.ReportLayouts;
+import com.scm.util.AppLogger;
+import com.scm.util.Metrics;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메뉴 없이 실행하는 명령 (cron / 스크립트용).
+ * 결과는 out, 안내와 오류는 err에 쓰고 종료 코드를 반환한다. 단일 명령 실행과 데몬이 같은 구현을 사용한다.
+ * <pre>
+ * dashboard &lt;프로젝트 ID 또는 선박명&gt; [--months N] [--format table|csv|json]
+ * supplier-report [--esg A,B] [--delay 0-20] [--format table|csv|json] [--out 파일]
+ * import-orders &lt;파일&gt;
+ * import-carbon &lt;파일&gt;
+ * metrics
+ * </pre>
+ */
+final class BatchCommands {
+    static final int EXIT_OK = 0;
+    /** DB / 파일 처리 오류 */
+    static final int EXIT_FAILED = 1;
+    /** 알 수 없는 명령 또는 인자 오류 */
+    static final int EXIT_USAGE = 2;
+    /** 대상 프로젝트가 없거나 후보가 여럿 (후보 목록을 출력) */
+    static final int EXIT_NOT_FOUND = 3;
+    /** 적재는 했으나 검증에서 제외된 행이 있음 */
+    static final int EXIT_PARTIAL = 4;
+
+    static final String USAGE = String.join("\n",
+            "사용법: smart-scm-app <명령> [옵션]   (인자가 없으면 대화형 메뉴)",
+            "  dashboard <프로젝트 ID 또는 선박명> [--months N] [--format table|csv|json]",
+            "  supplier-report [--esg A,B] [--delay 최소-최대] [--format table|csv|json] [--out 파일]",
+            "  import-orders <파일(.csv / .jsonl)>",
+            "  import-carbon <파일(.csv / .jsonl)>",
+            "  metrics",
+            "  serve [--socket 경로]   (표준 입력 또는 로컬 소켓에서 한 줄에 명령 하나씩 처리)",
+            "  migrate   (대용량 인덱스/스냅샷 뷰 등 스키마 마이그레이션, 최초 실행 전과 스크립트 변경 시)",
+            "종료 코드: 0 성공, 1 실행 오류, 2 인자 오류, 3 대상 없음/후보 여럿, 4 일부 행 제외");
+
+    private static final Metrics.Timer COMMAND_TIMER = Metrics.timer("cli.command");
+
+    private final AppContext ctx;
+
+    BatchCommands(AppContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * 명령 한 건을 실행한다. 예외는 종료 코드로 바꾸어 반환한다.
+     * @param args 명령 이름과 인자
+     * @param out 결과 출력 (호출자가 flush 시점을 정하지 않도록 반환 전에 flush)
+     * @param err 안내 / 오류 출력
+     * @return 종료 코드
+     */
+    int run(List<String> args, PrintWriter out, PrintWriter err) {
+        if (args.isEmpty()) {
+            err.println(USAGE);
+            err.flush();
+            return EXIT_USAGE;
+        }
+        String name = args.get(0);
+        List<String> rest = args.subList(1, args.size());
+        long t = COMMAND_TIMER.start();
+        int code;
+        try {
+            code = switch (name) {
+                case "dashboard" -> dashboard(rest, out, err);
+                case "supplier-report" -> supplierReport(rest, out, err);
+                case "import-orders" -> importOrders(rest, out, err);
+                case "import-carbon" -> importCarbon(rest, out, err);
+                case "metrics" -> {
+                    out.print(Metrics.report());
+                    yield EXIT_OK;
+                }
+                case "help", "--help", "-h" -> printUsage(out);
+                default -> usage(err, "알 수 없는 명령: " + name);
+            };
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException, 잘못된 출력 형식 포함
+            code = usage(err, "인자 형식이 올바르지 않습니다: " + e.getMessage());
+        } catch (NoSuchFileException e) {
+            err.println("[오류] 파일을 찾을 수 없습니다: " + e.getFile());
+            code = EXIT_FAILED;
+        } catch (SQLException | IOException | RuntimeException e) {
+            err.println("[오류] 처리 중 예외가 발생했습니다: " + e.getMessage());
+            AppLogger.log("ERROR", "명령 실행 중 예외 (" + name + "): " + e.getMessage());
+            code = EXIT_FAILED;
+        }
+        long elapsed = System.nanoTime() - t;
+        COMMAND_TIMER.record(elapsed);
+        out.flush();
+        err.flush();
+        AppLogger.log("INFO", String.format("명령 실행: %s -> 종료 코드 %d (%,d ms)", join(args), code, elapsed / 1_000_000));
+        return code;
+    }
+
+    /** DB 없이 사용법만 출력하는 명령인지 */
+    static boolean isHelp(String name) {
+        return name.equals("help") || name.equals("--help") || name.equals("-h");
+    }
+
+    private int dashboard(List<String> args, PrintWriter out, PrintWriter err) throws SQLException {
+        Options opts = Options.parse(args, "--months", "--format");
+        if (opts.positional.size() != 1) return usage(err, "dashboard는 프로젝트 ID 또는 선박명 하나가 필요합니다.");
+        int months = Integer.parseInt(opts.get("--months", "12"));
+        if (months < 1) return usage(err, "--months는 1 이상이어야 합니다.");
+        OutputFormat format = OutputFormat.parse(opts.get("--format", ""));
+
+        List<ProjectMatch> matches = new ProjectSearchDAO(ctx.router()).search(opts.positional.get(0), ProjectSearchDAO.DEFAULT_LIMIT);
+        if (matches.isEmpty()) {
+            err.println("[안내] 해당 조건에 맞는 프로젝트를 찾을 수 없습니다.");
+            return EXIT_NOT_FOUND;
+        }
+        // 대화형과 달리 번호를 고를 수 없으므로 ID / 선박명 완전 일치이거나 후보가 하나일 때만 조회한다
+        ProjectMatch chosen = matches.get(0);
+        if (matches.size() > 1 && chosen.kind() != ProjectMatch.Kind.ID && chosen.kind() != ProjectMatch.Kind.EXACT) {
+            err.println("[안내] 후보가 여러 개입니다. 프로젝트 ID로 다시 실행하세요.");
+            OutputFormat.TABLE.renderer(ReportLayouts.PROJECT_MATCH, err).renderAll(matches);
+            return EXIT_NOT_FOUND;
+        }
+
+        ProjectDashboard dashboard = new DashboardDAO(ctx.router()).findDashboard(chosen.project());
+        if (format != OutputFormat.TABLE) {
+            format.renderer(ReportLayouts.DASHBOARD_SUMMARY, out).renderAll(List.of(dashboard));
+            return EXIT_OK;
+        }
+        ConsoleViews.printDashboard(out, dashboard);
+        printCarbonSummary(out, new CarbonDAO(ctx.router()), chosen.project().projId(), months);
+        return EXIT_OK;
+    }
+
+    private int supplierReport(List<String> args, PrintWriter out, PrintWriter err) throws SQLException, IOException {
+        Options opts = Options.parse(args, "--esg", "--delay", "--format", "--out");
+        if (!opts.positional.isEmpty()) return usage(err, "supplier-report는 옵션만 받습니다: " + opts.positional);
+        String esg = opts.get("--esg", "");
+        List<String> esgFilters = esg.isBlank() ? null : Arrays.asList(esg.toUpperCase().split("[,\\s]+"));
+        double minDelay = 0;
+        double maxDelay = 100;
+        String delay = opts.get("--delay", "");
+        if (!delay.isBlank()) {
+            int dash = delay.indexOf('-');
+            if (dash < 0) return usage(err, "--delay는 최소-최대 형식입니다 (예: 0-20, 10-)");
+            String lo = delay.substring(0, dash).trim();
+            String hi = delay.substring(dash + 1).trim();
+            if (!lo.isEmpty()) minDelay = Double.parseDouble(lo);
+            if (!hi.isEmpty()) maxDelay = Double.parseDouble(hi);
+        }
+        OutputFormat format = OutputFormat.parse(opts.get("--format", ""));
+
+        SupplierDAO supplierDAO = new SupplierDAO(ctx.router());
+        refreshStaleSnapshot(supplierDAO);
+        String file = opts.get("--out", null);
+        if (file == null) {
+            // CSV / JSON을 표준 출력으로 받을 때는 결과만 출력한다
+            if (format == OutputFormat.TABLE) printSnapshotTime(out, supplierDAO.snapshotTime());
+            supplierDAO.renderSupplierReport(esgFilters, minDelay, maxDelay, format.renderer(ReportLayouts.SUPPLIER_REPORT, out));
+            return EXIT_OK;
+        }
+        Path path = Path.of(file);
+        try (PrintWriter fileOut = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            long rows = supplierDAO.renderSupplierReport(esgFilters, minDelay, maxDelay,
+                    format.renderer(ReportLayouts.SUPPLIER_REPORT, fileOut));
+            out.println("[완료] " + rows + "행을 " + path + "에 저장했습니다.");
+        }
+        return EXIT_OK;
+    }
+
+    private int importOrders(List<String> args, PrintWriter out, PrintWriter err) throws SQLException, IOException {
+        if (args.size() != 1) return usage(err, "import-orders는 파일 경로 하나가 필요합니다.");
+        InventoryEngine inventory = ctx.inventory();
+        if (inventory == null && InventoryEngine.isRunningElsewhere(ctx.pool())) {
+            // 엔진이 STORES의 유일한 기록자여야 하므로 직접 갱신하지 않는다 (scm.daemon.socket으로 데몬에 전달하면 실행된다)
+            // 트랜잭션 안에서도 같은 잠금으로 거부되며, 여기서는 파일을 읽기 전에 미리 안내한다
+            err.println("[오류] 다른 프로세스의 재고 엔진이 실행 중입니다. import-orders는 그 프로세스(데몬)를 통해 실행하세요.");
+            return EXIT_FAILED;
+        }
+        OrderImportDAO.ImportResult result = new OrderImportDAO(ctx.pool(), inventory).importOrders(Path.of(args.get(0)));
+        out.println("[완료] " + result);
+        return EXIT_OK;
+    }
+
+    private int importCarbon(List<String> args, PrintWriter out, PrintWriter err) throws SQLException, IOException {
+        if (args.size() != 1) return usage(err, "import-carbon은 파일 경로 하나가 필요합니다.");
+        CarbonIngestDAO.IngestResult result = new CarbonIngestDAO(ctx.pool()).importFile(Path.of(args.get(0)));
+        out.println("[완료] " + result);
+        return result.rejected() > 0 ? EXIT_PARTIAL : EXIT_OK;
+    }
+
+    /**
+     * 단일 명령 실행에는 주기 갱신 작업이 없으므로, 스냅샷이 갱신 주기보다 오래되었으면 조회 전에 한 번 갱신한다.
+     * (다른 세션이 갱신 중이면 기존 스냅샷을 그대로 읽는다)
+     */
+    private void refreshStaleSnapshot(SupplierDAO supplierDAO) throws SQLException {
+        if (ctx.refresher() != null || !SupplierSnapshotDAO.isEnabled()) return;
+        Timestamp refreshedAt = supplierDAO.snapshotTime();
+        long ageMs = refreshedAt == null ? Long.MAX_VALUE : System.currentTimeMillis() - refreshedAt.getTime();
+        if (ageMs < SupplierSnapshotDAO.REFRESH_SEC * 1000) return;
+        if (new SupplierSnapshotDAO(ctx.pool()).refresh()) SupplierStatsCache.shared().invalidateAll();
+    }
+
+    /**
+     * 최근 months개월 탄소 배출 추이와 그 기간 배출 상위 납품 5건을 출력한다.
+     * @return 출력한 월별 버킷 (기록이 없으면 빈 리스트)
+     */
+    static List<CarbonBucketRow> printCarbonSummary(PrintWriter out, CarbonDAO carbonDAO, int pid, int months) throws SQLException {
+        List<CarbonBucketRow> rows = carbonDAO.monthlyTrend(pid, months);
+        out.println("\n[ 월별 탄소 배출 추이 (최근 " + months + "개월) ]");
+        if (rows.isEmpty()) {
+            out.println("(배출 기록이 없습니다)");
+            out.flush();
+            return rows;
+        }
+        OutputFormat.TABLE.renderer(ReportLayouts.CARBON_MONTHLY, out).renderAll(rows);
+        out.println("\n[ 배출 상위 납품 5건 (같은 기간) ]");
+        OutputFormat.TABLE.renderer(ReportLayouts.DELIVERY_EMISSION, out)
+                .renderAll(carbonDAO.topDeliveries(pid, YearMonth.from(rows.get(0).bucket()), 5));
+        out.flush();
+        return rows;
+    }
+
+    /** 리포트 수치의 기준 시각을 출력한다 (null이면 실시간 집계). */
+    static void printSnapshotTime(PrintWriter out, Timestamp refreshedAt) {
+        if (refreshedAt == null) {
+            out.println("[기준] 원천 데이터 실시간 집계");
+        } else {
+            long ageSec = Math.max(0, (System.currentTimeMillis() - refreshedAt.getTime()) / 1000);
+            out.printf("[기준] %tF %<tT 스냅샷 (%d초 전, %d초마다 갱신)%n", refreshedAt, ageSec, SupplierSnapshotDAO.REFRESH_SEC);
+        }
+        out.flush();
+    }
+
+    private static int printUsage(PrintWriter out) {
+        out.println(USAGE);
+        return EXIT_OK;
+    }
+
+    private static int usage(PrintWriter err, String message) {
+        err.println("[오류] " + message);
+        err.println(USAGE);
+        return EXIT_USAGE;
+    }
+
+    /**
+     * 파일 인자(가져올 파일, --out)를 현재 작업 디렉터리 기준 절대 경로로 바꾼다. 다른 디렉터리에서 도는 데몬에 보낼 때 사용한다.
+     */
+    static List<String> resolvePaths(List<String> args) {
+        List<String> resolved = new ArrayList<>(args);
+        boolean importCommand = !args.isEmpty() && args.get(0).startsWith("import-");
+        for (int i = 1; i < resolved.size(); i++) {
+            boolean fileArg = importCommand ? !resolved.get(i).startsWith("--") : resolved.get(i - 1).equals("--out");
+            if (fileArg) resolved.set(i, Path.of(resolved.get(i)).toAbsolutePath().toString());
+        }
+        return resolved;
+    }
+
+    /**
+     * 명령 한 줄을 인자로 나눈다. 공백으로 구분하며 큰따옴표로 묶은 부분은 한 인자로 본다 (안의 ""는 큰따옴표 한 개).
+     */
+    static List<String> split(String line) {
+        List<String> args = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        boolean quoted = false;
+        boolean inArg = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') sb.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"') sb.append(line.charAt(++i));
+                else quoted = false;
+            } else if (c == '"') {
+                quoted = true;
+                inArg = true;
+            } else if (Character.isWhitespace(c)) {
+                if (inArg) args.add(sb.toString());
+                sb.setLength(0);
+                inArg = false;
+            } else {
+                sb.append(c);
+                inArg = true;
+            }
+        }
+        if (inArg) args.add(sb.toString());
+        return args;
+    }
+
+    /** split의 역변환: 공백이나 큰따옴표가 있는 인자는 큰따옴표로 묶는다. */
+    static String join(List<String> args) {
+        StringBuilder sb = new StringBuilder();
+        for (String arg : args) {
+            if (sb.length() > 0) sb.append(' ');
+            if (!arg.isEmpty() && arg.chars().noneMatch(c -> c == '"' || Character.isWhitespace(c))) {
+                sb.append(arg);
+            } else {
+                sb.append('"').append(arg.replace("\"", "\"\"")).append('"');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * "--이름 값" 형식 옵션과 위치 인자
+     */
+    private static final class Options {
+        final Map<String, String> values = new HashMap<>();
+        final List<String> positional = new ArrayList<>();
+
+        static Options parse(List<String> args, String... names) {
+            List<String> known = Arrays.asList(names);
+            Options opts = new Options();
+            for (int i = 0; i < args.size(); i++) {
+                String arg = args.get(i);
+                if (!arg.startsWith("--")) {
+                    opts.positional.add(arg);
+                } else if (!known.contains(arg)) {
+                    throw new IllegalArgumentException("알 수 없는 옵션 " + arg);
+                } else if (i + 1 >= args.size()) {
+                    throw new IllegalArgumentException(arg + " 값이 없습니다");
+                } else {
+                    opts.values.put(arg, args.get(++i));
+                }
+            }
+            return opts;
+        }
+
+        String get(String name, String defaultValue) {
+            return values.getOrDefault(name, defaultValue);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.scm.main;
+
+import com.scm.util.AppLogger;
+import java.io.BufferedReader;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상주(데몬) 모드. 커넥션 풀, 준비된 SQL 문장, JIT 컴파일 결과를 유지한 채 여러 명령을 처리한다.
+ * 요청은 한 줄에 명령 하나(BatchCommands.split 규칙)이며, 응답은 명령 출력 뒤에 "@exit 종료코드" 한 줄을 붙인다.
+ * 명령 출력 중 '@'로 시작하는 줄은 '@'를 하나 더 붙여 보내므로(받는 쪽은 unescape) 출력 내용이 응답 끝 표시로 오인되지 않는다.
+ * - 파이프: 표준 입력에서 읽고 표준 출력으로 응답 (입력이 끝나거나 shutdown이면 종료)
+ * - 로컬 소켓: Unix domain socket으로 접속을 받아 작업자 풀에서 처리 (소켓 파일은 소유자만 접근)
+ */
+final class CommandServer {
+    /** 응답 끝 표시 */
+    static final String EXIT_PREFIX = "@exit ";
+    /** 데몬 종료 요청 */
+    static final String SHUTDOWN = "shutdown";
+
+    /** 소켓 모드 동시 처리 접속 수 */
+    private static final int WORKERS = Integer.getInteger("scm.daemon.workers", 4);
+
+    private final BatchCommands commands;
+    private final AtomicInteger served = new AtomicInteger();
+    private volatile ServerSocketChannel server;
+
+    CommandServer(BatchCommands commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * 표준 입력의 명령을 차례로 처리한다. 오류와 안내도 응답에 포함되도록 표준 출력 한 곳에 쓴다.
+     */
+    void servePipe() throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        AppLogger.log("INFO", "명령 데몬 시작 (표준 입력)");
+        serve(in, out);
+        AppLogger.log("INFO", "명령 데몬 종료: " + served.get() + "건 처리");
+    }
+
+    /**
+     * 로컬 소켓에서 접속을 받는다. shutdown 요청을 받거나 close()가 호출될 때까지 반환하지 않는다.
+     * @param socket 소켓 파일 경로 (남아 있는 파일은 다른 데몬이 쓰고 있지 않으면 지우고 다시 만든다)
+     */
+    void serveSocket(Path socket) throws IOException {
+        if (Files.exists(socket)) {
+            if (isListening(socket)) throw new IOException("이미 실행 중인 데몬이 있습니다: " + socket);
+            Files.delete(socket);
+        }
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS, r -> {
+            Thread t = new Thread(r, "scm-daemon-worker");
+            t.setDaemon(true);
+            return t;
+        });
+        try (ServerSocketChannel ch = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            ch.bind(UnixDomainSocketAddress.of(socket));
+            server = ch;
+            try {
+                Files.setPosixFilePermissions(socket, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException e) {
+                AppLogger.log("WARN", "소켓 파일 권한을 설정할 수 없습니다: " + socket);
+            }
+            AppLogger.log("INFO", "명령 데몬 시작: " + socket + " (작업자 " + WORKERS + ")");
+            while (true) {
+                SocketChannel client;
+                try {
+                    client = ch.accept();
+                } catch (ClosedChannelException e) {
+                    break; // shutdown 또는 close()
+                }
+                workers.execute(() -> handle(client));
+            }
+        } finally {
+            server = null;
+            workers.shutdown();
+            try {
+                workers.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            Files.deleteIfExists(socket);
+            AppLogger.log("INFO", "명령 데몬 종료: " + served.get() + "건 처리");
+        }
+    }
+
+    /** 접속 대기를 멈춘다 (처리 중인 요청은 마저 끝낸다). */
+    void close() {
+        ServerSocketChannel ch = server;
+        if (ch == null) return;
+        try {
+            ch.close();
+        } catch (IOException e) {
+            AppLogger.log("WARN", "데몬 소켓 종료 실패: " + e.getMessage());
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try (client;
+             BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(client), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(Channels.newOutputStream(client), StandardCharsets.UTF_8))) {
+            if (serve(in, out)) close();
+        } catch (IOException e) {
+            AppLogger.log("WARN", "데몬 접속 처리 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 입력이 끝날 때까지 명령을 처리한다.
+     * @return shutdown 요청을 받았으면 true
+     */
+    private boolean serve(BufferedReader in, PrintWriter out) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            List<String> args = BatchCommands.split(line);
+            if (args.isEmpty()) continue;
+            if (args.size() == 1 && args.get(0).equals(SHUTDOWN)) {
+                out.println(EXIT_PREFIX + BatchCommands.EXIT_OK);
+                out.flush();
+                return true;
+            }
+            EscapingWriter escaped = new EscapingWriter(out);
+            PrintWriter body = new PrintWriter(escaped);
+            int code = commands.run(args, body, body);
+            body.flush();
+            served.incrementAndGet();
+            if (!escaped.atLineStart()) out.println(); // 응답 끝 표시는 줄 맨 앞에 와야 한다
+            out.println(EXIT_PREFIX + code);
+            out.flush();
+        }
+        return false;
+    }
+
+    /**
+     * 실행 중인 데몬에 명령을 보내고 응답을 출력한다 (단일 명령 실행 시 JVM/DB 준비 비용을 건너뛰기 위해 사용).
+     * @param args 명령과 인자 (파일 경로는 데몬 작업 디렉터리와 무관하도록 절대 경로로 바꾸어 보낸다)
+     * @return 데몬이 돌려준 종료 코드, 데몬에 접속할 수 없으면 null
+     */
+    static Integer forward(Path socket, List<String> args, PrintStream out) {
+        if (!Files.exists(socket)) return null;
+        SocketChannel ch;
+        try {
+            ch = SocketChannel.open(UnixDomainSocketAddress.of(socket));
+        } catch (IOException e) {
+            return null; // 데몬이 비정상 종료하여 소켓 파일만 남은 경우
+        }
+        try (ch;
+             BufferedReader in = new BufferedReader(new InputStreamReader(Channels.newInputStream(ch), StandardCharsets.UTF_8));
+             PrintWriter req = new PrintWriter(new OutputStreamWriter(Channels.newOutputStream(ch), StandardCharsets.UTF_8))) {
+            req.println(BatchCommands.join(BatchCommands.resolvePaths(args)));
+            req.flush();
+            ch.shutdownOutput();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(EXIT_PREFIX)) {
+                    out.flush();
+                    return Integer.parseInt(line.substring(EXIT_PREFIX.length()).trim());
+                }
+                out.println(unescape(line));
+            }
+        } catch (IOException e) {
+            System.err.println("[오류] 데몬 응답을 받지 못했습니다: " + e.getMessage());
+        }
+        out.flush();
+        return BatchCommands.EXIT_FAILED;
+    }
+
+    private static boolean isListening(Path socket) {
+        try {
+            SocketChannel.open(UnixDomainSocketAddress.of(socket)).close();
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /** 응답 한 줄에서 EscapingWriter가 붙인 '@'를 뗀다. */
+    static String unescape(String line) {
+        return line.startsWith("@@") ? line.substring(1) : line;
+    }
+
+    /**
+     * 명령 출력에서 '@'로 시작하는 줄 앞에 '@'를 하나 더 붙인다 ("@exit ..." 응답 끝 표시와 구분).
+     */
+    static final class EscapingWriter extends FilterWriter {
+        private boolean lineStart = true;
+
+        EscapingWriter(Writer out) {
+            super(out);
+        }
+
+        /** 마지막으로 쓴 문자가 줄바꿈이거나 아직 아무것도 쓰지 않았는지 */
+        boolean atLineStart() {
+            return lineStart;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            write(new char[] {(char) c}, 0, 1);
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) throws IOException {
+            int start = off;
+            for (int i = off; i < off + len; i++) {
+                if (lineStart && buf[i] == '@') {
+                    out.write(buf, start, i - start);
+                    out.write('@');
+                    start = i;
+                }
+                lineStart = buf[i] == '\n';
+            }
+            out.write(buf, start, off + len - start);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            write(str.toCharArray(), off, len);
+        }
+    }
+}
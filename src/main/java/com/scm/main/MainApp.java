@@ -1,23 +1,59 @@
 package com.scm.main;
 
+import com.scm.config.ConnectionPool;
 import com.scm.config.DBConnection;
+import com.scm.config.ReadRouter;
+import com.scm.config.SchemaInitializer;
 import com.scm.dao.*;
+import com.scm.inventory.InventoryEngine;
+import com.scm.model.OrderReceipt;
+import com.scm.model.ProjectDashboard;
+import com.scm.model.ProjectMatch;
+import com.scm.render.ConsoleViews;
+import com.scm.render.OutputFormat;
+import com.scm.render.ReportLayouts;
+import com.scm.render.RowRenderer;
+import com.scm.service.OrderProcessingEngine;
+import com.scm.service.SnapshotRefresher;
 import com.scm.util.AppLogger;
-import java.sql.Connection;
+import com.scm.util.ConsoleOut;
+import com.scm.util.Metrics;
+import com.scm.util.RetryPolicy;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Scanner;
 
 public class MainApp {
+    /** 리포트 화면 한 페이지의 행 수 */
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * 인자가 없으면 대화형 메뉴, 있으면 명령 한 건을 실행하고 종료 코드로 끝낸다 (BatchCommands.USAGE 참고).
+     * serve는 상주 모드로 여러 명령을 처리한다 (CommandServer). migrate는 스키마 마이그레이션만 수행한다.
+     */
     public static void main(String[] args) {
-        AppLogger.log("INFO", "=== 애플리케이션 시작 ===");
+        if (args.length == 0) {
+            runInteractive();
+            return;
+        }
+        System.exit(switch (args[0]) {
+            case "serve" -> runDaemon(args);
+            case "migrate" -> runMigrate(args);
+            default -> runCommand(args);
+        });
+    }
 
-        try (Connection conn = DBConnection.getConnection()) {
-            if (conn != null && !conn.isClosed()) {
-                AppLogger.log("INFO", "데이터베이스 연결 성공");
-                showMenu(conn);
-            } else {
-                AppLogger.log("ERROR", "데이터베이스 연결 실패 (Connection is null)");
-            }
+    private static void runInteractive() {
+        AppLogger.log("INFO", "=== 애플리케이션 시작 ===");
+        try (AppContext ctx = AppContext.start(true)) {
+            // 재고 엔진은 시작 시 열어 지난 실행의 미반영 저널을 바로 복구한다
+            InventoryEngine inventory = ctx.inventory();
+            showMenu(ctx.pool(), ctx.refresher(), inventory);
         } catch (Exception e) {
             AppLogger.log("ERROR", "시스템 치명적 오류: " + e.getMessage());
         } finally {
@@ -25,7 +61,126 @@ public class MainApp {
         }
     }
 
-    private static void showMenu(Connection conn) {
+    /**
+     * 명령 한 건을 실행한다. scm.daemon.socket의 데몬이 떠 있으면 데몬에 맡기고, 없으면 직접 DB에 접속한다.
+     * 표준 출력은 결과 전용이므로 로그는 파일에만 쓰고 ERROR만 표준 에러로 보낸다.
+     */
+    private static int runCommand(String[] args) {
+        List<String> command = List.of(args);
+        if (BatchCommands.isHelp(command.get(0))) {
+            System.out.println(BatchCommands.USAGE);
+            return BatchCommands.EXIT_OK;
+        }
+        String socket = System.getProperty("scm.daemon.socket");
+        if (socket != null && !socket.isBlank()) {
+            Integer code = CommandServer.forward(Path.of(socket), command, System.out);
+            if (code != null) return code;
+        }
+
+        AppLogger.setConsoleLevel("ERROR");
+        PrintWriter err = new PrintWriter(new OutputStreamWriter(System.err), true);
+        try (AppContext ctx = AppContext.start(false)) {
+            return new BatchCommands(ctx).run(command, ConsoleOut.writer(), err);
+        } catch (SQLException e) {
+            err.println("[오류] 데이터베이스를 사용할 수 없습니다: " + e.getMessage());
+            AppLogger.log("ERROR", "시작 실패: " + e.getMessage());
+            return BatchCommands.EXIT_FAILED;
+        }
+    }
+
+    /**
+     * 보조 스키마와 무거운 스키마 작업(schema_migrate.sql: 대용량 테이블 인덱스, 물리화 뷰, 탄소 버킷 초기 구축)을 적용한다.
+     * 마이그레이션 전에는 다른 실행 모드가 시작하지 않으므로 AppContext 없이 직접 DB에 접속한다.
+     */
+    private static int runMigrate(String[] args) {
+        if (args.length != 1) {
+            System.err.println("[오류] migrate는 인자를 받지 않습니다.\n" + BatchCommands.USAGE);
+            return BatchCommands.EXIT_USAGE;
+        }
+        ConnectionPool pool = DBConnection.getPool();
+        if (pool == null) {
+            System.err.println("[오류] 커넥션 풀을 만들 수 없습니다 (db.properties 확인)");
+            return BatchCommands.EXIT_FAILED;
+        }
+        try {
+            int statements = SchemaInitializer.migrate(pool);
+            System.out.println("[완료] 스키마 마이그레이션 " + statements + "개 문장을 적용했습니다.");
+            return BatchCommands.EXIT_OK;
+        } catch (SQLException | IOException e) {
+            System.err.println("[오류] 스키마 마이그레이션 실패: " + e.getMessage());
+            AppLogger.log("ERROR", "스키마 마이그레이션 실패: " + e.getMessage());
+            return BatchCommands.EXIT_FAILED;
+        } finally {
+            DBConnection.shutdown();
+        }
+    }
+
+    /**
+     * 상주 모드. serve --socket 경로(또는 scm.daemon.socket)가 있으면 로컬 소켓, 없으면 표준 입력에서 명령을 받는다.
+     * 종료 신호를 받으면 접속 대기를 멈추고 재고 엔진의 남은 변경을 반영한 뒤 끝낸다.
+     */
+    private static int runDaemon(String[] args) {
+        String socket = System.getProperty("scm.daemon.socket");
+        if (args.length == 3 && args[1].equals("--socket")) socket = args[2];
+        else if (args.length != 1) {
+            System.err.println("[오류] serve 인자가 올바르지 않습니다.\n" + BatchCommands.USAGE);
+            return BatchCommands.EXIT_USAGE;
+        }
+        boolean pipe = socket == null || socket.isBlank();
+        // 파이프 모드는 표준 출력이 응답 채널이다
+        if (pipe) AppLogger.setConsoleLevel("ERROR");
+
+        AppLogger.log("INFO", "=== 명령 데몬 시작 ===");
+        AppContext ctx = null;
+        try {
+            ctx = AppContext.start(true);
+            // 재고 엔진은 시작 시 열어 저널 디렉터리를 잠근다 (그동안 다른 프로세스는 STORES를 직접 갱신하지 않는다)
+            ctx.inventory();
+            CommandServer server = new CommandServer(new BatchCommands(ctx));
+            // 종료 신호 시 JVM은 훅이 끝나면 멈추고, 파이프 모드의 main 스레드는 표준 입력에서 깨어나지 않으므로
+            // 자원 정리는 훅에서 한다 (AppContext.close는 한 번만 수행되고 진행 중이면 끝날 때까지 기다린다)
+            AppContext shared = ctx;
+            Thread hook = new Thread(() -> {
+                server.close();
+                shared.close();
+            }, "scm-daemon-shutdown");
+            Runtime.getRuntime().addShutdownHook(hook);
+            if (pipe) server.servePipe();
+            else server.serveSocket(Path.of(socket));
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // 종료 신호로 끝난 경우 (훅이 자원을 정리한다)
+            }
+            return BatchCommands.EXIT_OK;
+        } catch (Exception e) {
+            System.err.println("[오류] " + e.getMessage());
+            AppLogger.log("ERROR", "명령 데몬 오류: " + e.getMessage());
+            return BatchCommands.EXIT_FAILED;
+        } finally {
+            if (ctx != null) ctx.close();
+            AppLogger.log("INFO", "=== 명령 데몬 종료 ===");
+        }
+    }
+
+    /**
+     * 이 프로세스에 재고 엔진이 없는데 다른 프로세스(데몬 등)의 엔진이 실행 중이면 안내하고 true를 반환한다.
+     * 그때 발주가 STORES를 직접 갱신하면 그 엔진의 메모리 재고와 어긋나므로 트랜잭션 안에서도 거부되지만,
+     * 입력을 받기 전에 미리 알린다.
+     */
+    private static boolean storesOwnedElsewhere(ConnectionPool pool, InventoryEngine inventory) throws SQLException {
+        if (inventory != null || !InventoryEngine.isRunningElsewhere(pool)) return false;
+        System.out.println("[오류] 다른 프로세스의 재고 엔진이 실행 중입니다. 발주는 그 프로세스(데몬)를 통해 실행하세요.");
+        return true;
+    }
+
+    /**
+     * @param refresher 공급업체 스냅샷 갱신 작업 (스냅샷을 쓰지 않으면 null)
+     * @param inventory 재고 엔진 (STORES를 트랜잭션에서 직접 갱신하면 null)
+     */
+    private static void showMenu(ConnectionPool pool, SnapshotRefresher refresher, InventoryEngine inventory) {
+        // 조회 전용 기능(대시보드, 검색, 공급업체 리포트)은 읽기 라우터, 발주/집계 관리는 primary 풀 사용
+        ReadRouter router = DBConnection.getReadRouter();
         Scanner scanner = new Scanner(System.in);
         while (true) {
             try {
@@ -33,18 +188,33 @@ public class MainApp {
                 System.out.println("1. 프로젝트 대시보드 조회 (기능 1)");
                 System.out.println("2. 신규 발주 및 납품 등록 (기능 2)");
                 System.out.println("3. 공급업체 ESG 리포트 (기능 3)");
+                System.out.println("4. 커넥션 풀 / 캐시 상태 조회");
+                System.out.println("5. 발주 일괄 가져오기 (CSV / JSON-lines)");
+                System.out.println("6. 다중 발주 동시 처리");
+                System.out.println("7. 대시보드 집계 검증 / 재구축");
+                System.out.println("8. 성능 지표 조회 (SQL / 트랜잭션 / 커넥션 대여)");
+                System.out.println("9. 창고 재고 조회 / 출고");
+                System.out.println("10. 탄소 배출 기록 가져오기 (CSV / JSON-lines)");
                 System.out.println("0. 종료");
                 System.out.print("선택: ");
 
                 String choice = scanner.nextLine();
 
                 switch (choice) {
-                    case "1":
+                    case "1": {
                         System.out.print("조회할 프로젝트 ID 또는 선박명 입력: ");
                         String input = scanner.nextLine();
-                        new DashboardDAO(conn).printProjectDashboard(input);
+                        List<ProjectMatch> matches = new ProjectSearchDAO(router).search(input, ProjectSearchDAO.DEFAULT_LIMIT);
+                        ProjectMatch chosen = chooseProject(scanner, matches);
+                        if (chosen == null) break;
+                        ProjectDashboard dashboard = new DashboardDAO(router).findDashboard(chosen.project());
+                        PrintWriter out = ConsoleOut.writer();
+                        ConsoleViews.printDashboard(out, dashboard);
+                        printCarbonTrend(scanner, new CarbonDAO(router), chosen.project().projId());
                         break;
+                    }
                     case "2": {
+                        if (storesOwnedElsewhere(pool, inventory)) break;
                         System.out.println("\n--- [ 신규 발주 등록 ] ---");
                         System.out.print("프로젝트 ID: ");
                         int pid = Integer.parseInt(scanner.nextLine());
@@ -66,7 +236,14 @@ public class MainApp {
                         }
 
                         if (!items.isEmpty()) {
-                            new OrderDAO(conn).processOrderTransaction(pid, sid, "jack01", items, wid);
+                            OrderReceipt receipt = new OrderDAO(pool, RetryPolicy.defaults(), inventory).processOrderTransaction(pid, sid, "jack01", items, wid);
+                            if (receipt != null) {
+                                OutputFormat.TABLE.renderer(ReportLayouts.ORDER_RECEIPT, ConsoleOut.writer())
+                                        .renderAll(List.of(receipt));
+                                ConsoleOut.writer().flush();
+                            } else {
+                                System.out.println("[실패] 발주가 롤백되었습니다. 로그를 확인하세요.");
+                            }
                         } else {
                             System.out.println("[안내] 발주 항목이 없어 취소합니다.");
                         }
@@ -88,12 +265,147 @@ public class MainApp {
                         String maxInput = scanner.nextLine();
                         if (!maxInput.isEmpty()) maxDelay = Double.parseDouble(maxInput);
 
-                        SupplierDAO supplierDAO = new SupplierDAO(conn);
-                        supplierDAO.printSupplierReport(esgFilters, minDelay, maxDelay);
+                        System.out.print("출력 형식 (화면은 Enter, csv / json은 파일로 내보내기): ");
+                        OutputFormat format = OutputFormat.parse(scanner.nextLine());
+
+                        SupplierDAO supplierDAO = new SupplierDAO(router);
+                        PrintWriter out = ConsoleOut.writer();
+                        BatchCommands.printSnapshotTime(out, supplierDAO.snapshotTime());
+                        if (format != OutputFormat.TABLE) {
+                            System.out.print("내보낼 파일 경로: ");
+                            java.nio.file.Path file = java.nio.file.Paths.get(scanner.nextLine().trim());
+                            try (PrintWriter fileOut = new PrintWriter(java.nio.file.Files.newBufferedWriter(file,
+                                    java.nio.charset.StandardCharsets.UTF_8))) {
+                                long rows = supplierDAO.renderSupplierReport(esgFilters, minDelay, maxDelay,
+                                        format.renderer(ReportLayouts.SUPPLIER_REPORT, fileOut));
+                                System.out.println("[완료] " + rows + "행을 " + file + "에 저장했습니다.");
+                            }
+                            break;
+                        }
+                        browse(scanner, supplierDAO.reportPager(esgFilters, minDelay, maxDelay, PAGE_SIZE),
+                                format.renderer(ReportLayouts.SUPPLIER_REPORT, out));
 
                         System.out.print("\n상세 조회할 업체 ID (건너뛰려면 0): ");
                         int targetSid = Integer.parseInt(scanner.nextLine());
-                        if (targetSid != 0) supplierDAO.printSupplierDetail(targetSid);
+                        if (targetSid != 0) {
+                            out.println("\n[ 월별 실적 추이 (최근 12개월) ]");
+                            OutputFormat.TABLE.renderer(ReportLayouts.SUPPLIER_TREND, out)
+                                    .renderAll(supplierDAO.monthlyTrend(targetSid, 12));
+                            out.println("\n[ 최근 발주 내역 ]");
+                            browse(scanner, supplierDAO.orderHistoryPager(targetSid, 5),
+                                    OutputFormat.TABLE.renderer(ReportLayouts.ORDER_HISTORY, out));
+                        }
+                        break;
+                    }
+                    case "4":
+                        System.out.println("\n[ 커넥션 풀 상태 ] " + pool.getStats());
+                        System.out.println("[ 조회 라우팅 ] " + router.getStats());
+                        System.out.println("[ 공급업체 집계 캐시 ] " + SupplierStatsCache.shared().getStats());
+                        System.out.println("[ 정규 SQL 문장 ] " + SqlStatement.registeredCount() + "개 (커넥션별 서버 측 prepared statement 재사용)");
+                        System.out.println("[ 재고 엔진 ] " + (inventory == null ? "사용 안 함 (STORES 직접 갱신)" : inventory.getStats()));
+                        break;
+                    case "5": {
+                        if (storesOwnedElsewhere(pool, inventory)) break;
+                        System.out.print("가져올 파일 경로 (.csv / .jsonl): ");
+                        java.nio.file.Path file = java.nio.file.Paths.get(scanner.nextLine().trim());
+                        OrderImportDAO.ImportResult result = new OrderImportDAO(pool, inventory).importOrders(file);
+                        System.out.println("[완료] " + result);
+                        break;
+                    }
+                    case "6": {
+                        if (storesOwnedElsewhere(pool, inventory)) break;
+                        System.out.println("\n--- [ 다중 발주 동시 처리 ] ---");
+                        System.out.println("한 줄에 발주 1건: 프로젝트ID 공급업체ID 창고ID 부품ID:수량:단가[,부품ID:수량:단가...] (빈 줄 입력 시 실행)");
+                        List<OrderDAO.OrderRequest> requests = new java.util.ArrayList<>();
+                        String line;
+                        while (!(line = scanner.nextLine().trim()).isEmpty()) {
+                            String[] f = line.split("\\s+");
+                            List<OrderDAO.OrderItem> orderItems = new java.util.ArrayList<>();
+                            for (String spec : f[3].split(",")) {
+                                String[] p = spec.split(":");
+                                orderItems.add(new OrderDAO.OrderItem(Integer.parseInt(p[0]), Integer.parseInt(p[1]), Double.parseDouble(p[2])));
+                            }
+                            requests.add(new OrderDAO.OrderRequest(Integer.parseInt(f[0]), Integer.parseInt(f[1]), "jack01",
+                                    orderItems, Integer.parseInt(f[2])));
+                        }
+                        if (requests.isEmpty()) break;
+
+                        int workerCount = Math.max(1, pool.getStats().maxSize() - 1);
+                        try (OrderProcessingEngine engine = new OrderProcessingEngine(new OrderDAO(pool, RetryPolicy.defaults(), inventory), workerCount,
+                                requests.size(), RetryPolicy.defaults())) {
+                            java.util.concurrent.CompletableFuture.allOf(engine.submitAll(requests)
+                                    .toArray(new java.util.concurrent.CompletableFuture<?>[0]))
+                                    .exceptionally(ex -> null).join();
+                            System.out.println("[완료] " + engine.getStats());
+                        }
+                        break;
+                    }
+                    case "7": {
+                        System.out.print("검증할 프로젝트 ID (전체 재구축은 all, 공급업체 스냅샷 갱신은 snap): ");
+                        String target = scanner.nextLine().trim();
+                        if (target.equalsIgnoreCase("snap")) {
+                            if (refresher == null) System.out.println("[안내] 스냅샷을 사용하지 않습니다 (scm.snapshot.refreshSec=0).");
+                            else if (refresher.refreshNow()) System.out.println("[완료] 공급업체 스냅샷을 갱신했습니다.");
+                            else System.out.println("[안내] 갱신하지 못했습니다 (다른 세션이 갱신 중이거나 오류, 로그 참고).");
+                            break;
+                        }
+                        ProjectRollupDAO rollupDAO = new ProjectRollupDAO(pool);
+                        if (target.equalsIgnoreCase("all")) {
+                            System.out.println("[완료] " + rollupDAO.rebuildAll() + "개 프로젝트 집계 재구축");
+                            break;
+                        }
+                        int targetPid = Integer.parseInt(target);
+                        ProjectRollupDAO.VerifyResult verify = rollupDAO.verify(targetPid);
+                        System.out.println("저장된 집계: " + verify.stored());
+                        System.out.println("원천 재계산: " + verify.live());
+                        if (verify.isConsistent()) {
+                            System.out.println("[정상] 집계가 원천 데이터와 일치합니다.");
+                        } else {
+                            AppLogger.log("WARN", "프로젝트 집계 불일치 감지 (Proj_ID: " + targetPid + ")");
+                            rollupDAO.rebuild(targetPid);
+                            System.out.println("[복구] 집계를 재구축했습니다.");
+                        }
+                        break;
+                    }
+                    case "8": {
+                        System.out.print("\n" + Metrics.report());
+                        System.out.print("파일에 기록(d) / 초기화(r) / 돌아가기(Enter): ");
+                        String action = scanner.nextLine().trim();
+                        if (action.equalsIgnoreCase("d")) {
+                            Metrics.dump();
+                            System.out.println("[완료] scm_metrics.log에 기록했습니다.");
+                        } else if (action.equalsIgnoreCase("r")) {
+                            Metrics.reset();
+                            System.out.println("[완료] 성능 지표를 초기화했습니다.");
+                        }
+                        break;
+                    }
+                    case "9": {
+                        if (inventory == null) {
+                            System.out.println("[안내] 재고 엔진을 사용하지 않습니다 (사용하려면 -Dscm.inventory.mode=engine).");
+                            break;
+                        }
+                        System.out.print("창고 ID: ");
+                        int whId = Integer.parseInt(scanner.nextLine().trim());
+                        System.out.print("부품 ID: ");
+                        int partId = Integer.parseInt(scanner.nextLine().trim());
+                        System.out.printf("현재 재고: %,d (STORES 반영 대기 %+d)%n",
+                                inventory.available(whId, partId), inventory.pendingDelta(whId, partId));
+                        System.out.print("출고 수량 (건너뛰려면 Enter): ");
+                        String qtyInput = scanner.nextLine().trim();
+                        if (qtyInput.isEmpty()) break;
+                        if (inventory.reserve(whId, partId, Integer.parseInt(qtyInput))) {
+                            System.out.printf("[완료] 출고 후 재고: %,d%n", inventory.available(whId, partId));
+                        } else {
+                            System.out.println("[실패] 재고가 부족합니다.");
+                        }
+                        break;
+                    }
+                    case "10": {
+                        System.out.print("가져올 파일 경로 (.csv / .jsonl): ");
+                        java.nio.file.Path file = java.nio.file.Paths.get(scanner.nextLine().trim());
+                        CarbonIngestDAO.IngestResult result = new CarbonIngestDAO(pool).importFile(file);
+                        System.out.println("[완료] " + result);
                         break;
                     }
                     case "0":
@@ -101,13 +413,79 @@ public class MainApp {
                     default:
                         System.out.println("잘못된 입력입니다.");
                 }
+            } catch (java.util.NoSuchElementException e) {
+                // 표준 입력이 끝남 (파이프로 실행한 경우)
+                AppLogger.log("INFO", "입력이 끝나 메뉴를 종료합니다.");
+                return;
             } catch (NumberFormatException e) {
                 System.out.println("[오류] 숫자 형식이 올바르지 않습니다.");
                 AppLogger.log("ERROR", "입력 데이터 형식 오류: " + e.getMessage());
+            } catch (java.time.format.DateTimeParseException e) {
+                System.out.println("[오류] 날짜 형식이 올바르지 않습니다.");
+                AppLogger.log("ERROR", "입력 데이터 형식 오류: " + e.getMessage());
             } catch (Exception e) {
                 System.out.println("[오류] 처리 중 예외가 발생했습니다.");
                 AppLogger.log("ERROR", "실행 중 예외: " + e.getMessage());
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * 대시보드 아래에 최근 12개월 탄소 배출 추이와 배출 상위 납품을 출력하고, 입력한 달의 일별 추이를 보여준다.
+     */
+    private static void printCarbonTrend(Scanner scanner, CarbonDAO carbonDAO, int pid) throws SQLException {
+        if (BatchCommands.printCarbonSummary(ConsoleOut.writer(), carbonDAO, pid, 12).isEmpty()) return;
+
+        System.out.print("\n일별 추이를 볼 월 (YYYY-MM, 건너뛰려면 Enter): ");
+        String month = scanner.nextLine().trim();
+        if (month.isEmpty()) return;
+        PrintWriter out = ConsoleOut.writer();
+        OutputFormat.TABLE.renderer(ReportLayouts.CARBON_DAILY, out).renderAll(carbonDAO.dailyTrend(pid, YearMonth.parse(month)));
+        out.flush();
+    }
+
+    /**
+     * 검색 후보가 여럿이면 순위표를 보여주고 번호를 입력받는다. 후보가 하나면 바로 반환한다.
+     * @return 선택한 프로젝트 (후보가 없거나 잘못 입력하면 null)
+     */
+    private static ProjectMatch chooseProject(Scanner scanner, List<ProjectMatch> matches) {
+        if (matches.isEmpty()) {
+            System.out.println("\n[안내] 해당 조건에 맞는 프로젝트를 찾을 수 없습니다.");
+            return null;
+        }
+        if (matches.size() == 1) return matches.get(0);
+
+        OutputFormat.TABLE.renderer(ReportLayouts.PROJECT_MATCH, ConsoleOut.writer()).renderAll(matches);
+        ConsoleOut.writer().flush();
+        System.out.print("조회할 번호 선택 (Enter: 1번): ");
+        String choice = scanner.nextLine().trim();
+        int no = choice.isEmpty() ? 1 : Integer.parseInt(choice);
+        if (no < 1 || no > matches.size()) {
+            System.out.println("잘못된 입력입니다.");
+            return null;
+        }
+        return matches.get(no - 1);
+    }
+
+    /**
+     * 키셋 페이지를 출력하고 n(다음) / p(이전) 입력으로 이동한다. 그 외 입력이면 종료한다.
+     * @param renderer 버퍼 콘솔 Writer에 쓰는 표 렌더러 (페이지마다 헤더를 다시 출력)
+     */
+    private static <K, T> void browse(Scanner scanner, KeysetPager<K, T> pager, RowRenderer<T> renderer) throws SQLException {
+        PrintWriter out = ConsoleOut.writer();
+        KeysetPager.Page<T> page = pager.first();
+        while (true) {
+            renderer.renderAll(page.rows());
+            if (page.rows().isEmpty()) out.println("(조회 결과가 없습니다)");
+            out.printf("-- %d 페이지%s --%n", pager.getPageNo(), page.hasNext() ? "" : " (마지막)");
+            out.flush();
+            if (!page.hasNext() && !pager.hasPrev()) return;
+
+            System.out.print("[n] 다음  [p] 이전  [Enter] 종료: ");
+            String cmd = scanner.nextLine().trim();
+            if (cmd.equalsIgnoreCase("n")) page = pager.next();
+            else if (cmd.equalsIgnoreCase("p")) page = pager.prev();
+            else return;
+        }
+    }
+}
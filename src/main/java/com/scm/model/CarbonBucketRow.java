@@ -0,0 +1,11 @@
+package com.scm.model;
+
+import java.time.LocalDate;
+
+/**
+ * 탄소 배출 시간 버킷 한 행 (일별 또는 월별 합계).
+ * @param bucket 버킷 시작일 (월별이면 1일)
+ * @param records 합산된 원천 기록 수
+ */
+public record CarbonBucketRow(LocalDate bucket, double transportEm, double storageEm, double totalEm, long records) {
+}
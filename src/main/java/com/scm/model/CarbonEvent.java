@@ -0,0 +1,27 @@
+package com.scm.model;
+
+import java.time.LocalDate;
+
+/**
+ * 적재할 탄소 배출 기록 한 건 (CARBON_RECORD 입력).
+ * 운송 기록은 amount를 비우면 납품의 거리와 운송수단 계수로 계산하고, date를 비우면 납품 도착일을 쓴다.
+ * @param type "운송" 또는 "보관"
+ * @param amount 배출량(kg CO2e), 계산할 운송 기록은 null
+ * @param delId 납품 ID (없으면 null)
+ * @param projId 직접 귀속 프로젝트 ID (없으면 null)
+ */
+public record CarbonEvent(LocalDate date, String type, Double amount, String criteria,
+                          Integer delId, Integer projId, String userId) {
+    public static final String TRANSPORT = "운송";
+    public static final String STORAGE = "보관";
+
+    /** 납품 거리로 배출량을 계산할 운송 기록 */
+    public static CarbonEvent transport(int delId, String userId) {
+        return new CarbonEvent(null, TRANSPORT, null, null, delId, null, userId);
+    }
+
+    /** 프로젝트에 직접 귀속되는 보관 기록 */
+    public static CarbonEvent storage(LocalDate date, double amount, String criteria, int projId, String userId) {
+        return new CarbonEvent(date, STORAGE, amount, criteria, null, projId, userId);
+    }
+}
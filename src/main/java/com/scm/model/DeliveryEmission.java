@@ -0,0 +1,7 @@
+package com.scm.model;
+
+/**
+ * 납품별 탄소 배출 합계 (기간 내 버킷 합)
+ */
+public record DeliveryEmission(int delId, String transType, double distance, double totalEm, long records) {
+}
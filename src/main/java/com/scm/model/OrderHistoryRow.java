@@ -0,0 +1,8 @@
+package com.scm.model;
+
+import java.sql.Date;
+
+/**
+ * 공급업체 발주 이력 한 건
+ */
+public record OrderHistoryRow(int poId, Date orderDate, String status, boolean delayed) {}
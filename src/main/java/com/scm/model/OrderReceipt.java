@@ -0,0 +1,12 @@
+package com.scm.model;
+
+/**
+ * 커밋된 발주 한 건의 처리 결과
+ * @param poId 생성된 발주 ID
+ * @param delId 생성된 초기 납품 ID
+ * @param lineCount 발주 라인 수
+ * @param totalAmount 발주 금액 합계 (수량 x 단가)
+ * @param receivedQty 초기 입고 수량 합계
+ */
+public record OrderReceipt(int poId, int delId, int projId, int suppId, int whId,
+                           int lineCount, double totalAmount, long receivedQty) {}
@@ -0,0 +1,12 @@
+package com.scm.model;
+
+import java.util.List;
+
+/**
+ * 프로젝트 대시보드 조회 결과 (기본 정보, 비용/탄소 합계, 공급업체별 발주 상위 목록)
+ */
+public record ProjectDashboard(ProjectInfo project, ProjectTotals totals, List<SupplierTotal> topSuppliers) {
+    public ProjectDashboard {
+        topSuppliers = List.copyOf(topSuppliers);
+    }
+}
@@ -0,0 +1,8 @@
+package com.scm.model;
+
+import java.sql.Date;
+
+/**
+ * 프로젝트(SHIP_PROJECT) 기본 정보
+ */
+public record ProjectInfo(int projId, String shipName, String type, Date contractDate, Date deliveryDate, String status) {}
@@ -0,0 +1,25 @@
+package com.scm.model;
+
+/**
+ * 프로젝트 검색 결과 한 건 (rank는 1부터, 작을수록 입력과 가깝다)
+ */
+public record ProjectMatch(int rank, ProjectInfo project, Kind kind) {
+
+    /** 일치 방식 (선언 순서가 순위) */
+    public enum Kind {
+        ID("프로젝트 ID"),
+        EXACT("선박명 일치"),
+        PREFIX("접두 일치"),
+        CONTAINS("부분 일치");
+
+        private final String label;
+
+        Kind(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+    }
+}
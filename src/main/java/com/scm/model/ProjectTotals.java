@@ -0,0 +1,17 @@
+package com.scm.model;
+
+/**
+ * 프로젝트 비용/탄소 합계
+ */
+public record ProjectTotals(double totalCost, double transportEm, double storageEm, double totalEm) {
+    /** 탄소 집약도 (kg CO2e / 백만 원), 발주 금액이 없으면 NaN */
+    public double carbonIntensity() {
+        return totalCost > 0 ? totalEm / (totalCost / 1_000_000.0) : Double.NaN;
+    }
+
+    /** 모든 항목의 차이가 허용 오차 이내이면 true */
+    public boolean matches(ProjectTotals o, double tolerance) {
+        return Math.abs(totalCost - o.totalCost) <= tolerance && Math.abs(transportEm - o.transportEm) <= tolerance
+                && Math.abs(storageEm - o.storageEm) <= tolerance && Math.abs(totalEm - o.totalEm) <= tolerance;
+    }
+}
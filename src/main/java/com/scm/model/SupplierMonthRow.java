@@ -0,0 +1,15 @@
+package com.scm.model;
+
+import java.time.YearMonth;
+
+/**
+ * 공급업체 월별 실적 한 행.
+ * amtChangePct, delayRateDiff는 바로 전 달 대비 변화이며 전 달 실적이 없으면 NaN이다.
+ */
+public record SupplierMonthRow(int suppId, YearMonth month, long orderCount, double orderAmt,
+                               long delivCount, long delayCount, double amtChangePct, double delayRateDiff) {
+    /** 지연율(%) = 지연 건수 / 납품 건수 * 100, 납품이 없으면 0 */
+    public double delayRate() {
+        return delivCount == 0 ? 0 : (double) delayCount / delivCount * 100;
+    }
+}
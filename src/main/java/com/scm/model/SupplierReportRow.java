@@ -0,0 +1,12 @@
+package com.scm.model;
+
+/**
+ * 공급업체 리포트 한 행 (공급업체 한 곳의 발주 금액, 납품/지연 건수 집계)
+ */
+public record SupplierReportRow(int suppId, String name, String country, String esg,
+                                double totalOrderAmt, long delivCount, long delayCount) {
+    /** 지연율(%) = 지연 건수 / 전체 납품 건수 * 100, 납품이 없으면 0 */
+    public double delayRate() {
+        return delivCount == 0 ? 0 : (double) delayCount / delivCount * 100;
+    }
+}
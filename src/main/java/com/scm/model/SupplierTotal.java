@@ -0,0 +1,6 @@
+package com.scm.model;
+
+/**
+ * 공급업체별 발주 금액
+ */
+public record SupplierTotal(String name, double totalCost) {}
@@ -0,0 +1,19 @@
+package com.scm.render;
+
+/**
+ * 렌더러가 구현하는 셀 값 출력 대상.
+ * 컬럼 정의는 행에서 값을 꺼내 형식에 맞는 메서드를 호출하고, 문자열 변환/이스케이프는 렌더러가 담당한다.
+ */
+public interface Cell {
+    /** 문자열 값 (null 허용) */
+    void text(CharSequence value);
+
+    /** 정수 값 */
+    void integer(long value);
+
+    /** 소수 값, scale 자리까지 반올림 */
+    void decimal(double value, int scale);
+
+    /** 논리 값. 표 형식에서는 trueText/falseText로 표시한다. */
+    void bool(boolean value, String trueText, String falseText);
+}
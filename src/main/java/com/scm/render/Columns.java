@@ -0,0 +1,74 @@
+package com.scm.render;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * 한 행 타입의 출력 컬럼 정의. 렌더러 종류와 무관하게 한 번 정의해 재사용한다.
+ * @param <T> 행 타입
+ */
+public final class Columns<T> {
+    private final List<Column<T>> columns;
+
+    private Columns(List<Column<T>> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public List<Column<T>> list() {
+        return columns;
+    }
+
+    /**
+     * 컬럼 한 개
+     * @param key CSV 헤더 / JSON 키
+     * @param label 표 헤더
+     * @param width 표 출력 폭 (문자 수)
+     * @param rightAlign 표에서 오른쪽 정렬 여부
+     */
+    public record Column<T>(String key, String label, int width, boolean rightAlign, CellWriter<T> writer) {}
+
+    /** 행에서 값을 꺼내 셀에 쓰는 방법 */
+    public interface CellWriter<T> {
+        void write(T row, Cell cell);
+    }
+
+    public static final class Builder<T> {
+        private final List<Column<T>> columns = new ArrayList<>();
+
+        public Builder<T> text(String key, String label, int width, Function<T, ?> value) {
+            columns.add(new Column<>(key, label, width, false, (row, cell) -> {
+                Object v = value.apply(row);
+                cell.text(v == null ? null : v instanceof CharSequence cs ? cs : v.toString());
+            }));
+            return this;
+        }
+
+        public Builder<T> integer(String key, String label, int width, ToLongFunction<T> value) {
+            columns.add(new Column<>(key, label, width, false, (row, cell) -> cell.integer(value.applyAsLong(row))));
+            return this;
+        }
+
+        public Builder<T> decimal(String key, String label, int width, int scale, ToDoubleFunction<T> value) {
+            columns.add(new Column<>(key, label, width, true, (row, cell) -> cell.decimal(value.applyAsDouble(row), scale)));
+            return this;
+        }
+
+        public Builder<T> bool(String key, String label, int width, String trueText, String falseText, Predicate<T> value) {
+            columns.add(new Column<>(key, label, width, false,
+                    (row, cell) -> cell.bool(value.test(row), trueText, falseText)));
+            return this;
+        }
+
+        public Columns<T> build() {
+            return new Columns<>(columns);
+        }
+    }
+}
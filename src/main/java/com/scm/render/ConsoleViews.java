@@ -0,0 +1,51 @@
+package com.scm.render;
+
+import com.scm.model.ProjectDashboard;
+import com.scm.model.ProjectInfo;
+import com.scm.model.ProjectTotals;
+import com.scm.model.SupplierTotal;
+import java.io.PrintWriter;
+
+/**
+ * 단건 결과(대시보드 등)를 콘솔에 항목별로 출력하는 화면 구성.
+ * 목록형 결과는 RowRenderer를 사용한다.
+ */
+public final class ConsoleViews {
+    private ConsoleViews() {}
+
+    public static void printDashboard(PrintWriter out, ProjectDashboard dashboard) {
+        ProjectInfo p = dashboard.project();
+        out.println("\n========= [ 프로젝트 기본 정보 ] =========");
+        out.println("프로젝트 ID: " + p.projId());
+        out.println("선 박 명: " + p.shipName());
+        out.println("선    종: " + p.type());
+        out.println("계 약 일: " + p.contractDate());
+        out.println("인도예정일: " + p.deliveryDate());
+        out.println("상    태: " + p.status());
+
+        ProjectTotals t = dashboard.totals();
+        StringBuilder sb = new StringBuilder(64);
+        out.println("\n========= [ 비용 및 탄소 리포트 ] =========");
+        out.println(line(sb, "총 발주 금액: ", t.totalCost(), 0, " 원"));
+        out.println(line(sb, "운송 탄소배출: ", t.transportEm(), 2, " kg CO2e"));
+        out.println(line(sb, "보관 탄소배출: ", t.storageEm(), 2, " kg CO2e"));
+        out.println(line(sb, "전체 탄소배출: ", t.totalEm(), 2, " kg CO2e"));
+        // 간단한 지표: 탄소 집약도 (kg / 백만 원)
+        if (t.totalCost() > 0) out.println(line(sb, "탄소 집약도: ", t.carbonIntensity(), 4, " kg CO2e / 백만 원"));
+
+        out.println("\n[ 공급업체별 발주 상위 3선 ]");
+        for (SupplierTotal s : dashboard.topSuppliers()) {
+            sb.setLength(0);
+            sb.append("- ").append(s.name()).append(": ");
+            NumberText.appendFixed(sb, s.totalCost(), 0, true);
+            out.println(sb.append(" 원"));
+        }
+    }
+
+    private static StringBuilder line(StringBuilder sb, String label, double value, int scale, String unit) {
+        sb.setLength(0);
+        sb.append(label);
+        NumberText.appendFixed(sb, value, scale, true);
+        return sb.append(unit);
+    }
+}
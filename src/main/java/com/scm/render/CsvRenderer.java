@@ -0,0 +1,71 @@
+package com.scm.render;
+
+import java.io.PrintWriter;
+
+/**
+ * RFC 4180 CSV 렌더러. 헤더는 컬럼 key, 숫자는 구분 기호 없이, 쉼표/따옴표/줄바꿈이 있는 문자열만 따옴표로 감싼다.
+ */
+public class CsvRenderer<T> extends RowRenderer<T> {
+    public CsvRenderer(Columns<T> columns, PrintWriter out) {
+        super(columns, out);
+    }
+
+    @Override
+    public void begin() {
+        line.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) line.append(',');
+            text(columns.get(i).key());
+        }
+        out.append(line).append('\n');
+    }
+
+    @Override
+    public void end() {}
+
+    @Override
+    protected void beginCell(int index, Columns.Column<T> column) {
+        if (index > 0) line.append(',');
+    }
+
+    @Override
+    protected void endRow() {
+        line.append('\n');
+    }
+
+    @Override
+    public void text(CharSequence value) {
+        if (value == null) return;
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') line.append('"');
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    @Override
+    public void integer(long value) {
+        line.append(value);
+    }
+
+    @Override
+    public void decimal(double value, int scale) {
+        NumberText.appendFixed(line, value, scale, false);
+    }
+
+    @Override
+    public void bool(boolean value, String trueText, String falseText) {
+        line.append(value);
+    }
+}
@@ -0,0 +1,85 @@
+package com.scm.render;
+
+import java.io.PrintWriter;
+
+/**
+ * JSON 배열 렌더러. 행마다 컬럼 key를 필드명으로 하는 객체 한 줄을 쓴다.
+ * NaN/무한대처럼 JSON 숫자로 표현할 수 없는 값은 null로 쓴다.
+ */
+public class JsonRenderer<T> extends RowRenderer<T> {
+    public JsonRenderer(Columns<T> columns, PrintWriter out) {
+        super(columns, out);
+    }
+
+    @Override
+    public void begin() {
+        out.append('[');
+    }
+
+    @Override
+    public void end() {
+        out.append(rowCount == 0 ? "]\n" : "\n]\n");
+    }
+
+    @Override
+    protected void beginRow() {
+        line.append(rowCount == 0 ? "\n{" : ",\n{");
+    }
+
+    @Override
+    protected void beginCell(int index, Columns.Column<T> column) {
+        if (index > 0) line.append(',');
+        appendString(column.key());
+        line.append(':');
+    }
+
+    @Override
+    protected void endRow() {
+        line.append('}');
+    }
+
+    @Override
+    public void text(CharSequence value) {
+        if (value == null) line.append("null");
+        else appendString(value);
+    }
+
+    @Override
+    public void integer(long value) {
+        line.append(value);
+    }
+
+    @Override
+    public void decimal(double value, int scale) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) line.append("null");
+        else NumberText.appendFixed(line, value, scale, false);
+    }
+
+    @Override
+    public void bool(boolean value, String trueText, String falseText) {
+        line.append(value);
+    }
+
+    private void appendString(CharSequence value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append("\\u00");
+                        line.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
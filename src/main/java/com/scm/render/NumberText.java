@@ -0,0 +1,65 @@
+package com.scm.render;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * String.format 없이 고정 소수점 숫자를 StringBuilder에 붙이는 도우미.
+ */
+final class NumberText {
+    private static final long[] POW10 = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+    /** 이 값 미만이면 long 정수 연산으로 처리 (scale 6 기준 오버플로 없음) */
+    private static final double LONG_SAFE = 1e12;
+
+    private NumberText() {}
+
+    /**
+     * value를 scale 자리까지 반올림(HALF_UP)하여 붙인다.
+     * @param grouping 정수부에 천 단위 구분 기호(,)를 넣을지 여부
+     */
+    static void appendFixed(StringBuilder sb, double value, int scale, boolean grouping) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            sb.append(value);
+            return;
+        }
+        if (scale < 0 || scale >= POW10.length || Math.abs(value) >= LONG_SAFE) {
+            String plain = BigDecimal.valueOf(value).setScale(Math.max(scale, 0), RoundingMode.HALF_UP).toPlainString();
+            if (!grouping) {
+                sb.append(plain);
+                return;
+            }
+            int start = plain.startsWith("-") ? 1 : 0;
+            int dot = plain.indexOf('.');
+            int end = dot < 0 ? plain.length() : dot;
+            sb.append(plain, 0, start);
+            appendGrouped(sb, plain, start, end);
+            sb.append(plain, end, plain.length());
+            return;
+        }
+        long pow = POW10[scale];
+        long scaled = Math.round(Math.abs(value) * pow);
+        if (value < 0 && scaled != 0) sb.append('-');
+        long intPart = scaled / pow;
+        if (grouping) {
+            int from = sb.length();
+            sb.append(intPart);
+            int digits = sb.length() - from;
+            for (int pos = digits - 3; pos > 0; pos -= 3) sb.insert(from + pos, ',');
+        } else {
+            sb.append(intPart);
+        }
+        if (scale > 0) {
+            sb.append('.');
+            long frac = scaled % pow;
+            for (long p = pow / 10; p > 1 && frac < p; p /= 10) sb.append('0');
+            sb.append(frac);
+        }
+    }
+
+    private static void appendGrouped(StringBuilder sb, String digits, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (i > start && (end - i) % 3 == 0) sb.append(',');
+            sb.append(digits.charAt(i));
+        }
+    }
+}
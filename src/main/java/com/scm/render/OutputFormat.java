@@ -0,0 +1,23 @@
+package com.scm.render;
+
+import java.io.PrintWriter;
+
+/**
+ * 지원하는 출력 형식
+ */
+public enum OutputFormat {
+    TABLE, CSV, JSON;
+
+    public <T> RowRenderer<T> renderer(Columns<T> columns, PrintWriter out) {
+        return switch (this) {
+            case TABLE -> new TableRenderer<>(columns, out);
+            case CSV -> new CsvRenderer<>(columns, out);
+            case JSON -> new JsonRenderer<>(columns, out);
+        };
+    }
+
+    /** 대소문자 무시, 빈 문자열이면 TABLE */
+    public static OutputFormat parse(String name) {
+        return name == null || name.isBlank() ? TABLE : valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,116 @@
+package com.scm.render;
+
+import com.scm.model.CarbonBucketRow;
+import com.scm.model.DeliveryEmission;
+import com.scm.model.OrderHistoryRow;
+import com.scm.model.OrderReceipt;
+import com.scm.model.ProjectDashboard;
+import com.scm.model.ProjectMatch;
+import com.scm.model.SupplierMonthRow;
+import com.scm.model.SupplierReportRow;
+import com.scm.model.SupplierTotal;
+import java.time.YearMonth;
+
+/**
+ * 결과 객체별 출력 컬럼 정의
+ */
+public final class ReportLayouts {
+    private ReportLayouts() {}
+
+    public static final Columns<SupplierReportRow> SUPPLIER_REPORT = Columns.<SupplierReportRow>builder()
+            .integer("supp_id", "ID", 5, SupplierReportRow::suppId)
+            .text("name", "공급업체명", 12, SupplierReportRow::name)
+            .text("country", "국가", 8, SupplierReportRow::country)
+            .text("esg", "ESG", 4, SupplierReportRow::esg)
+            .decimal("total_order_amt", "총 발주금액", 15, 0, SupplierReportRow::totalOrderAmt)
+            .decimal("delay_rate", "지연율(%)", 10, 1, SupplierReportRow::delayRate)
+            .build();
+
+    /** 공급업체 월별 추이 (전월 대비는 전 달 실적이 없으면 -) */
+    public static final Columns<SupplierMonthRow> SUPPLIER_TREND = Columns.<SupplierMonthRow>builder()
+            .text("month", "월", 7, SupplierMonthRow::month)
+            .integer("order_count", "발주", 5, SupplierMonthRow::orderCount)
+            .decimal("order_amt", "발주금액", 15, 0, SupplierMonthRow::orderAmt)
+            .text("amt_change", "전월 대비", 9, r -> signed(r.amtChangePct(), "%"))
+            .integer("deliv_count", "납품", 5, SupplierMonthRow::delivCount)
+            .decimal("delay_rate", "지연율(%)", 10, 1, SupplierMonthRow::delayRate)
+            .text("delay_change", "증감(%p)", 8, r -> signed(r.delayRateDiff(), ""))
+            .build();
+
+    public static final Columns<OrderHistoryRow> ORDER_HISTORY = Columns.<OrderHistoryRow>builder()
+            .integer("po_id", "발주ID", 6, OrderHistoryRow::poId)
+            .text("order_date", "날짜", 10, OrderHistoryRow::orderDate)
+            .text("status", "상태", 6, OrderHistoryRow::status)
+            .bool("delayed", "지연여부", 8, "지연 발생", "정상", OrderHistoryRow::delayed)
+            .build();
+
+    public static final Columns<ProjectMatch> PROJECT_MATCH = Columns.<ProjectMatch>builder()
+            .integer("rank", "번호", 4, ProjectMatch::rank)
+            .integer("proj_id", "프로젝트ID", 8, m -> m.project().projId())
+            .text("ship_name", "선박명", 12, m -> m.project().shipName())
+            .text("type", "선종", 8, m -> m.project().type())
+            .text("status", "상태", 6, m -> m.project().status())
+            .text("match", "일치", 10, m -> m.kind().label())
+            .build();
+
+    public static final Columns<SupplierTotal> SUPPLIER_TOTAL = Columns.<SupplierTotal>builder()
+            .text("name", "공급업체명", 12, SupplierTotal::name)
+            .decimal("total_cost", "발주 금액", 15, 0, SupplierTotal::totalCost)
+            .build();
+
+    /** 대시보드 요약 (내보내기용 평면 구조, 공급업체 상위 목록은 SUPPLIER_TOTAL로 별도 출력) */
+    public static final Columns<ProjectDashboard> DASHBOARD_SUMMARY = Columns.<ProjectDashboard>builder()
+            .integer("proj_id", "프로젝트ID", 8, d -> d.project().projId())
+            .text("ship_name", "선박명", 12, d -> d.project().shipName())
+            .text("type", "선종", 8, d -> d.project().type())
+            .text("contract_date", "계약일", 10, d -> d.project().contractDate())
+            .text("delivery_date", "인도예정일", 10, d -> d.project().deliveryDate())
+            .text("status", "상태", 6, d -> d.project().status())
+            .decimal("total_cost", "총 발주금액", 15, 0, d -> d.totals().totalCost())
+            .decimal("transport_em", "운송 배출", 12, 2, d -> d.totals().transportEm())
+            .decimal("storage_em", "보관 배출", 12, 2, d -> d.totals().storageEm())
+            .decimal("total_em", "전체 배출", 12, 2, d -> d.totals().totalEm())
+            .decimal("carbon_intensity", "탄소 집약도", 12, 4, d -> d.totals().carbonIntensity())
+            .build();
+
+    public static final Columns<OrderReceipt> ORDER_RECEIPT = Columns.<OrderReceipt>builder()
+            .integer("po_id", "발주ID", 6, OrderReceipt::poId)
+            .integer("del_id", "납품ID", 6, OrderReceipt::delId)
+            .integer("proj_id", "프로젝트", 8, OrderReceipt::projId)
+            .integer("supp_id", "공급업체", 8, OrderReceipt::suppId)
+            .integer("wh_id", "창고", 4, OrderReceipt::whId)
+            .integer("line_count", "라인", 4, OrderReceipt::lineCount)
+            .decimal("total_amount", "발주 금액", 15, 0, OrderReceipt::totalAmount)
+            .integer("received_qty", "입고 수량", 8, OrderReceipt::receivedQty)
+            .build();
+
+    /** 프로젝트 월별 탄소 배출 (월 버킷) */
+    public static final Columns<CarbonBucketRow> CARBON_MONTHLY = Columns.<CarbonBucketRow>builder()
+            .text("month", "월", 7, r -> YearMonth.from(r.bucket()))
+            .decimal("transport_em", "운송 배출", 12, 2, CarbonBucketRow::transportEm)
+            .decimal("storage_em", "보관 배출", 12, 2, CarbonBucketRow::storageEm)
+            .decimal("total_em", "전체 배출", 12, 2, CarbonBucketRow::totalEm)
+            .integer("records", "기록", 6, CarbonBucketRow::records)
+            .build();
+
+    /** 프로젝트 일별 탄소 배출 (일 버킷) */
+    public static final Columns<CarbonBucketRow> CARBON_DAILY = Columns.<CarbonBucketRow>builder()
+            .text("date", "일자", 10, CarbonBucketRow::bucket)
+            .decimal("transport_em", "운송 배출", 12, 2, CarbonBucketRow::transportEm)
+            .decimal("storage_em", "보관 배출", 12, 2, CarbonBucketRow::storageEm)
+            .decimal("total_em", "전체 배출", 12, 2, CarbonBucketRow::totalEm)
+            .integer("records", "기록", 6, CarbonBucketRow::records)
+            .build();
+
+    public static final Columns<DeliveryEmission> DELIVERY_EMISSION = Columns.<DeliveryEmission>builder()
+            .integer("del_id", "납품ID", 6, DeliveryEmission::delId)
+            .text("trans_type", "운송수단", 6, DeliveryEmission::transType)
+            .decimal("distance", "거리(km)", 9, 1, DeliveryEmission::distance)
+            .decimal("total_em", "배출(kg)", 12, 2, DeliveryEmission::totalEm)
+            .integer("records", "기록", 6, DeliveryEmission::records)
+            .build();
+
+    private static String signed(double value, String unit) {
+        return Double.isNaN(value) ? "-" : String.format("%+.1f%s", value, unit);
+    }
+}
@@ -0,0 +1,68 @@
+package com.scm.render;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * 행 객체를 출력 형식(표/CSV/JSON)으로 스트리밍하는 렌더러.
+ * begin() → row() 반복 → end() 순서로 호출하며, 행마다 재사용 버퍼에 쓰고 한 번에 Writer로 보낸다.
+ * flush는 호출자가 원하는 단위(페이지, 파일 끝)로 수행한다.
+ * @param <T> 행 타입
+ */
+public abstract class RowRenderer<T> implements Cell {
+    protected final PrintWriter out;
+    protected final List<Columns.Column<T>> columns;
+    /** 현재 행 버퍼 (행마다 비우고 재사용) */
+    protected final StringBuilder line = new StringBuilder(256);
+    protected long rowCount;
+
+    protected RowRenderer(Columns<T> columns, PrintWriter out) {
+        this.out = out;
+        this.columns = columns.list();
+    }
+
+    /** 헤더 등 시작부를 쓴다. */
+    public abstract void begin();
+
+    /** 한 행을 쓴다. */
+    public void row(T row) {
+        line.setLength(0);
+        beginRow();
+        for (int i = 0; i < columns.size(); i++) {
+            Columns.Column<T> column = columns.get(i);
+            beginCell(i, column);
+            column.writer().write(row, this);
+            endCell(i, column);
+        }
+        endRow();
+        out.append(line);
+        rowCount++;
+    }
+
+    /** 종료부를 쓴다. */
+    public abstract void end();
+
+    /** 여러 행을 begin/end 사이에 쓴다. */
+    public void renderAll(Iterable<? extends T> rows) {
+        begin();
+        for (T row : rows) row(row);
+        end();
+    }
+
+    /** 지금까지 쓴 내용을 출력 대상으로 내보낸다. */
+    public void flush() {
+        out.flush();
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    protected void beginRow() {}
+
+    protected abstract void beginCell(int index, Columns.Column<T> column);
+
+    protected void endCell(int index, Columns.Column<T> column) {}
+
+    protected abstract void endRow();
+}
@@ -0,0 +1,90 @@
+package com.scm.render;
+
+import java.io.PrintWriter;
+
+/**
+ * 콘솔 표 렌더러. 컬럼 폭에 맞춰 공백을 채우고 " | "로 구분한다 (폭보다 긴 값은 자르지 않는다).
+ */
+public class TableRenderer<T> extends RowRenderer<T> {
+    private static final String SEPARATOR = " | ";
+    private int cellStart;
+
+    public TableRenderer(Columns<T> columns, PrintWriter out) {
+        super(columns, out);
+    }
+
+    @Override
+    public void begin() {
+        String rule = rule();
+        out.append('\n').append(rule).append('\n');
+        line.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            Columns.Column<T> column = columns.get(i);
+            if (i > 0) line.append(SEPARATOR);
+            cellStart = line.length();
+            line.append(column.label());
+            pad(column);
+        }
+        out.append(line).append('\n').append(rule).append('\n');
+    }
+
+    @Override
+    public void end() {}
+
+    private String rule() {
+        int width = 0;
+        for (Columns.Column<T> column : columns) width += column.width();
+        width += SEPARATOR.length() * Math.max(0, columns.size() - 1);
+        return "-".repeat(width);
+    }
+
+    @Override
+    protected void beginCell(int index, Columns.Column<T> column) {
+        if (index > 0) line.append(SEPARATOR);
+        cellStart = line.length();
+    }
+
+    @Override
+    protected void endCell(int index, Columns.Column<T> column) {
+        pad(column);
+    }
+
+    private void pad(Columns.Column<T> column) {
+        int missing = column.width() - (line.length() - cellStart);
+        if (missing <= 0) return;
+        if (column.rightAlign()) {
+            line.insert(cellStart, " ".repeat(missing));
+        } else {
+            for (int i = 0; i < missing; i++) line.append(' ');
+        }
+    }
+
+    @Override
+    protected void endRow() {
+        // 마지막 컬럼 뒤 공백은 잘라낸다
+        int len = line.length();
+        while (len > 0 && line.charAt(len - 1) == ' ') len--;
+        line.setLength(len);
+        line.append('\n');
+    }
+
+    @Override
+    public void text(CharSequence value) {
+        if (value != null) line.append(value);
+    }
+
+    @Override
+    public void integer(long value) {
+        line.append(value);
+    }
+
+    @Override
+    public void decimal(double value, int scale) {
+        NumberText.appendFixed(line, value, scale, true);
+    }
+
+    @Override
+    public void bool(boolean value, String trueText, String falseText) {
+        line.append(value ? trueText : falseText);
+    }
+}
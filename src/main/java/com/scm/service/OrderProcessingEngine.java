@@ -0,0 +1,237 @@
+package com.scm.service;
+
+import com.scm.dao.OrderDAO;
+import com.scm.model.OrderReceipt;
+import com.scm.util.AppLogger;
+import com.scm.util.RetryPolicy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 발주를 동시에 처리하는 실행 엔진.
+ * 고정 크기 작업자 풀에서 OrderDAO.executeOrder를 수행하고, 데드락/직렬화 실패는
+ * 작업자 스레드를 재우지 않고 스케줄러로 지터가 적용된 지수 백오프 후 다시 제출한다.
+ * 작업 큐가 가득 차면 제출한 스레드가 직접 처리하여 자연스럽게 유입 속도를 늦춘다.
+ * 재시도는 스케줄러 스레드가 직접 처리하지 않고(다른 재시도가 밀리므로) 잠시 뒤 다시 제출한다.
+ * 종료 후 제출하거나 종료로 실행하지 못한 발주의 Future는 RejectedExecutionException으로 완료된다.
+ */
+public class OrderProcessingEngine implements AutoCloseable {
+    /** 재시도를 재제출할 때 작업 큐가 가득 차 있으면 다시 시도하기까지의 대기 시간 */
+    private static final long QUEUE_FULL_DELAY_MS = 20;
+
+    private final OrderDAO orderDAO;
+    private final RetryPolicy retryPolicy;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService retryScheduler;
+    private volatile Thread retryThread;
+    /** 재시도 대기 중인 발주 (종료 시 실행하지 못한 재시도를 실패로 완료하기 위해 보관) */
+    private final Set<Attempt> retryWaiting = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private final LongAdder committed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param orderDAO 발주 트랜잭션을 수행할 DAO (커넥션 풀 포함)
+     * @param workerCount 동시 실행 작업자 수 (커넥션 풀 크기 이하 권장)
+     * @param queueCapacity 대기 가능한 발주 수
+     * @param retryPolicy 재시도 정책
+     */
+    public OrderProcessingEngine(OrderDAO orderDAO, int workerCount, int queueCapacity, RetryPolicy retryPolicy) {
+        this.orderDAO = orderDAO;
+        this.retryPolicy = retryPolicy;
+        AtomicInteger seq = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "scm-order-worker-" + seq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                this::rejected);
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scm-order-retry");
+            t.setDaemon(true);
+            retryThread = t;
+            return t;
+        });
+    }
+
+    /**
+     * 작업 큐가 가득 찼거나 종료된 경우. 종료 후 제출과 재시도 스케줄러의 재제출은 예외로 돌려보내고,
+     * 그 외에는 제출한 스레드가 직접 처리한다.
+     */
+    private void rejected(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) throw new RejectedExecutionException("발주 처리 엔진이 종료되었습니다");
+        if (Thread.currentThread() == retryThread) throw new RejectedExecutionException("발주 작업 큐가 가득 찼습니다");
+        task.run();
+    }
+
+    /**
+     * 발주 한 건을 비동기로 처리한다.
+     * @return 커밋된 발주의 처리 결과로 완료되는 Future (재시도 불가 오류 또는 재시도 소진 시 예외로 완료)
+     */
+    public CompletableFuture<OrderReceipt> submit(OrderDAO.OrderRequest request) {
+        CompletableFuture<OrderReceipt> result = new CompletableFuture<>();
+        inFlight.incrementAndGet();
+        if (closed) finishAborted(result, new RejectedExecutionException("발주 처리 엔진이 종료되었습니다"));
+        else dispatch(new Attempt(request, 1, result));
+        return result;
+    }
+
+    /**
+     * 여러 발주를 한꺼번에 제출한다.
+     */
+    public List<CompletableFuture<OrderReceipt>> submitAll(List<OrderDAO.OrderRequest> requests) {
+        List<CompletableFuture<OrderReceipt>> futures = new ArrayList<>(requests.size());
+        for (OrderDAO.OrderRequest request : requests) futures.add(submit(request));
+        return futures;
+    }
+
+    private void dispatch(Attempt attempt) {
+        try {
+            workers.execute(attempt);
+        } catch (RejectedExecutionException e) {
+            finishAborted(attempt.result, e);
+        }
+    }
+
+    /** 백오프 후 재시도를 예약한다. */
+    private void scheduleRetry(Attempt attempt, long delayMs, Exception cause) {
+        retryWaiting.add(attempt);
+        try {
+            retryScheduler.schedule(() -> redispatch(attempt), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException rejected) {
+            if (retryWaiting.remove(attempt)) finishAborted(attempt.result, cause);
+        }
+    }
+
+    /** 재시도 스케줄러에서 재제출한다. 큐가 가득 차 있으면 스케줄러 스레드에서 실행하지 않고 잠시 뒤 다시 시도한다. */
+    private void redispatch(Attempt attempt) {
+        if (!retryWaiting.remove(attempt)) return; // close()가 이미 실패로 완료
+        try {
+            workers.execute(attempt);
+        } catch (RejectedExecutionException e) {
+            if (workers.isShutdown()) finishAborted(attempt.result, e);
+            else scheduleRetry(attempt, QUEUE_FULL_DELAY_MS, e);
+        }
+    }
+
+    private void runAttempt(OrderDAO.OrderRequest request, int attempt, CompletableFuture<OrderReceipt> result) {
+        try (Connection conn = orderDAO.getPool().getConnection()) {
+            OrderReceipt receipt = orderDAO.executeOrder(conn, request);
+            committed.increment();
+            inFlight.decrementAndGet();
+            result.complete(receipt);
+        } catch (SQLException e) {
+            if (retryPolicy.shouldRetry(e, attempt)) {
+                retried.increment();
+                OrderDAO.recordRetry();
+                long delay = retryPolicy.backoffMillis(attempt);
+                AppLogger.log("WARN", "발주 재시도 예약 (시도 " + attempt + ", " + delay + "ms 후, SQLState=" + e.getSQLState() + ")");
+                scheduleRetry(new Attempt(request, attempt + 1, result), delay, e);
+            } else {
+                AppLogger.log("ERROR", "발주 처리 중단: " + e.getMessage());
+                finishAborted(result, e);
+            }
+        } catch (RuntimeException e) {
+            AppLogger.log("ERROR", "발주 처리 중 예외: " + e.getMessage());
+            finishAborted(result, e);
+        }
+    }
+
+    private void finishAborted(CompletableFuture<OrderReceipt> result, Exception cause) {
+        aborted.increment();
+        inFlight.decrementAndGet();
+        result.completeExceptionally(cause);
+    }
+
+    /**
+     * 결과별 처리 건수 스냅샷을 반환한다.
+     */
+    public Stats getStats() {
+        return new Stats(committed.sum(), retried.sum(), aborted.sum(), inFlight.get());
+    }
+
+    /**
+     * 새 제출을 막고 진행 중인 발주(재시도 대기 포함)가 끝날 때까지 최대 timeoutMs 동안 기다린다.
+     */
+    public void shutdown(long timeoutMs) throws InterruptedException {
+        closed = true;
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) Thread.sleep(10);
+        close();
+    }
+
+    /**
+     * 새 제출을 막고 재시도 대기 중인 발주는 실패로 완료한 뒤, 작업 큐에 있는 발주를 최대 10초 동안 마저 처리한다.
+     * 그 안에 끝나지 않아 실행하지 못한 발주도 실패로 완료한다.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        retryScheduler.shutdownNow();
+        for (Attempt attempt : retryWaiting) {
+            if (retryWaiting.remove(attempt)) finishAborted(attempt.result, new RejectedExecutionException("엔진 종료로 재시도를 취소했습니다"));
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(10, TimeUnit.SECONDS)) abortQueued(workers.shutdownNow());
+        } catch (InterruptedException e) {
+            abortQueued(workers.shutdownNow());
+            Thread.currentThread().interrupt();
+        }
+        AppLogger.log("INFO", "발주 처리 엔진 종료 " + getStats());
+    }
+
+    private void abortQueued(List<Runnable> queued) {
+        for (Runnable r : queued) {
+            if (r instanceof Attempt attempt) finishAborted(attempt.result, new RejectedExecutionException("엔진 종료로 실행하지 못했습니다"));
+        }
+    }
+
+    /**
+     * 발주 한 건의 한 번의 시도 (작업 큐에 들어가는 단위)
+     */
+    private final class Attempt implements Runnable {
+        final OrderDAO.OrderRequest request;
+        final int no;
+        final CompletableFuture<OrderReceipt> result;
+
+        Attempt(OrderDAO.OrderRequest request, int no, CompletableFuture<OrderReceipt> result) {
+            this.request = request;
+            this.no = no;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            runAttempt(request, no, result);
+        }
+    }
+
+    /**
+     * 발주 결과 카운터. retried는 재시도 예약 횟수이다.
+     */
+    public record Stats(long committed, long retried, long aborted, int inFlight) {
+        @Override
+        public String toString() {
+            return "committed=" + committed + ", retried=" + retried + ", aborted=" + aborted + ", inFlight=" + inFlight;
+        }
+    }
+}
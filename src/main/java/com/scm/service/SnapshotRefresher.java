@@ -0,0 +1,54 @@
+package com.scm.service;
+
+import com.scm.config.ConnectionPool;
+import com.scm.dao.SupplierSnapshotDAO;
+import com.scm.dao.SupplierStatsCache;
+import com.scm.util.AppLogger;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 공급업체 성과 스냅샷을 주기적으로 갱신하는 백그라운드 작업.
+ * 시작 직후 한 번 갱신하고 이후 이전 갱신이 끝난 시점부터 periodSec마다 다시 갱신한다.
+ * 갱신에 성공하면 공급업체 집계 캐시를 비워 다음 리포트가 새 스냅샷을 읽게 한다.
+ */
+public class SnapshotRefresher implements AutoCloseable {
+    private final SupplierSnapshotDAO snapshotDAO;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * @param pool 갱신에 사용할 primary 풀
+     * @param periodSec 갱신 주기(초)
+     */
+    public SnapshotRefresher(ConnectionPool pool, long periodSec) {
+        this.snapshotDAO = new SupplierSnapshotDAO(pool);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scm-snapshot-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::refreshNow, 0, periodSec, TimeUnit.SECONDS);
+        AppLogger.log("INFO", "공급업체 스냅샷 주기 갱신 시작 (" + periodSec + "초)");
+    }
+
+    /**
+     * 스냅샷을 바로 갱신한다. 실패는 로그만 남기고 기존 스냅샷을 계속 사용한다.
+     * @return 갱신 여부
+     */
+    public boolean refreshNow() {
+        try {
+            if (!snapshotDAO.refresh()) return false;
+            SupplierStatsCache.shared().invalidateAll();
+            return true;
+        } catch (Exception e) {
+            AppLogger.log("ERROR", "공급업체 스냅샷 갱신 실패: " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -1,31 +1,240 @@
 package com.scm.util;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * 비동기 애플리케이션 로거.
+ * log()는 이벤트를 락 없는 큐에 넣고 즉시 반환하며, 백그라운드 작성 스레드가 큐를 모아
+ * 한 번의 write로 파일(FileChannel 유지)과 콘솔에 기록한다.
+ * - 레벨 필터: DEBUG < INFO < WARN < ERROR (시스템 프로퍼티 scm.log.level, 기본 INFO)
+ * - 콘솔은 별도 레벨(scm.log.consoleLevel, 기본 scm.log.level)로 거른다. 명령 모드처럼 표준 출력이 결과물이면 ERROR만 표준 에러로 보낸다
+ * - 큐 포화 정책: ERROR는 항상 수용, 그 외 레벨은 버리고 건수를 다음 기록 시 알린다
+ * - 파일 회전: 크기(scm.log.maxBytes, 기본 10MB) 초과 또는 날짜 변경 시
+ * - 종료 훅에서 남은 이벤트를 모두 기록한다
+ */
 public class AppLogger {
     private static final String LOG_FILE = "scm_system.log";
     private static final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] LEVELS = {"DEBUG", "INFO", "WARN", "ERROR"};
+    private static final int WARN_LEVEL = 2;
+    private static final int ERROR_LEVEL = 3;
+    private static final int MAX_BATCH = 512;
+
+    private static final int QUEUE_CAPACITY = Integer.getInteger("scm.log.queueCapacity", 8192);
+    private static final long MAX_FILE_BYTES = Long.getLong("scm.log.maxBytes", 10L * 1024 * 1024);
+
+    private static final ConcurrentLinkedQueue<LogEvent> queue = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queued = new AtomicInteger();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static volatile int threshold = levelIndex(System.getProperty("scm.log.level", "INFO"));
+    private static volatile int consoleThreshold = levelIndex(System.getProperty("scm.log.consoleLevel",
+            System.getProperty("scm.log.level", "INFO")));
+    private static volatile boolean running = true;
+    private static final Thread writer;
+
+    static {
+        writer = new Thread(new Writer(), "scm-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(AppLogger::shutdown, "scm-log-shutdown"));
+    }
 
     public static void log(String level, String message) {
-        String timestamp = LocalDateTime.now().format(dtf);
-        String logEntry = String.format("[%s] [%s] %s", timestamp, level, message);
+        int idx = levelIndex(level);
+        if (idx < threshold) return;
+
+        if (idx < ERROR_LEVEL && queued.get() >= QUEUE_CAPACITY) {
+            dropped.incrementAndGet();
+            return;
+        }
+        queue.offer(new LogEvent(System.currentTimeMillis(), level, idx, message));
+        if (queued.getAndIncrement() == 0) LockSupport.unpark(writer);
+    }
+
+    /** 해당 레벨이 현재 기록 대상인지 확인한다. 핫패스에서 메시지 조립 전에 사용한다. */
+    public static boolean isEnabled(String level) {
+        return levelIndex(level) >= threshold;
+    }
+
+    /** 최소 기록 레벨을 변경한다. (DEBUG, INFO, WARN, ERROR) */
+    public static void setLevel(String level) {
+        threshold = levelIndex(level);
+    }
+
+    /** 콘솔에 함께 출력할 최소 레벨을 변경한다. 파일 기록 레벨과는 별개이다. */
+    public static void setConsoleLevel(String level) {
+        consoleThreshold = levelIndex(level);
+    }
+
+    /** 큐가 비워질 때까지 최대 timeoutMs 동안 기다린다. */
+    public static void flush(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        LockSupport.unpark(writer);
+        while (queued.get() > 0 && writer.isAlive() && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000);
+        }
+    }
+
+    /** 기록된 줄 수, 포화로 버려진 줄 수, 대기 중인 줄 수 */
+    public static String getStats() {
+        return "written=" + written.get() + ", dropped=" + dropped.get() + ", queued=" + queued.get();
+    }
+
+    private static void shutdown() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(3000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int levelIndex(String level) {
+        for (int i = 0; i < LEVELS.length; i++) {
+            if (LEVELS[i].equalsIgnoreCase(level)) return i;
+        }
+        return 1; // 알 수 없는 레벨은 INFO로 취급
+    }
+
+    private static final class LogEvent {
+        final long time; final String level; final int levelIdx; final String message;
+        LogEvent(long time, String level, int levelIdx, String message) {
+            this.time = time; this.level = level; this.levelIdx = levelIdx; this.message = message;
+        }
+    }
+
+    /**
+     * 큐를 배치 단위로 비워 파일과 콘솔에 기록하는 백그라운드 작업.
+     */
+    private static final class Writer implements Runnable {
+        private final Path path = Paths.get(LOG_FILE);
+        private final StringBuilder out = new StringBuilder(16 * 1024);
+        private final StringBuilder console = new StringBuilder(16 * 1024);
+        private final StringBuilder err = new StringBuilder(1024);
+        private final ZoneId zone = ZoneId.systemDefault();
+        private FileChannel channel;
+        private long fileSize;
+        private LocalDate fileDate;
+        private long cachedSecond = -1;
+        private String cachedStamp;
+
+        @Override
+        public void run() {
+            while (true) {
+                boolean stopping = !running;
+                int n = drainBatch();
+                if (n > 0) continue;
+                if (stopping) break;
+                LockSupport.parkNanos(50_000_000);
+            }
+            closeChannel();
+        }
+
+        private int drainBatch() {
+            out.setLength(0);
+            console.setLength(0);
+            err.setLength(0);
+            long droppedNow = dropped.getAndSet(0);
+            if (droppedNow > 0) {
+                appendLine(out, System.currentTimeMillis(), "WARN", "로그 큐 포화로 " + droppedNow + "건 누락");
+                if (consoleThreshold <= WARN_LEVEL) console.append(out);
+            }
+            int n = 0;
+            LogEvent e;
+            while (n < MAX_BATCH && (e = queue.poll()) != null) {
+                n++;
+                int start = out.length();
+                appendLine(out, e.time, e.level, e.message);
+                if (e.levelIdx == ERROR_LEVEL) err.append(out, start, out.length());
+                else if (e.levelIdx >= consoleThreshold) console.append(out, start, out.length());
+            }
+            if (n == 0 && droppedNow == 0) return 0;
+            queued.addAndGet(-n);
+
+            // 1. 콘솔 출력 (ERROR는 표준 에러)
+            if (console.length() > 0) System.out.print(console);
+            if (err.length() > 0) System.err.print(err);
+
+            // 2. 파일 저장 (배치당 write 1회)
+            writeFile();
+            written.addAndGet(n);
+            return n;
+        }
+
+        private void appendLine(StringBuilder sb, long time, String level, String message) {
+            sb.append('[').append(stamp(time)).append("] [").append(level).append("] ").append(message).append('\n');
+        }
+
+        private String stamp(long time) {
+            long second = time / 1000;
+            if (second != cachedSecond) {
+                cachedSecond = second;
+                cachedStamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), zone).format(dtf);
+            }
+            return cachedStamp;
+        }
+
+        private void writeFile() {
+            try {
+                rotateIfNeeded();
+                ByteBuffer buf = StandardCharsets.UTF_8.encode(java.nio.CharBuffer.wrap(out));
+                while (buf.hasRemaining()) fileSize += channel.write(buf);
+            } catch (IOException ex) {
+                System.err.println("로그 파일 기록 실패: " + ex.getMessage());
+                closeChannel();
+            }
+        }
 
-        // 1. 콘솔 출력
-        if (level.equals("ERROR")) {
-            System.err.println(logEntry);
-        } else {
-            System.out.println(logEntry);
+        private void rotateIfNeeded() throws IOException {
+            LocalDate today = LocalDate.now(zone);
+            if (channel != null && (fileSize >= MAX_FILE_BYTES || !today.equals(fileDate))) {
+                closeChannel();
+                if (Files.size(path) > 0) {
+                    LocalDate stampDate = fileDate != null ? fileDate : today;
+                    Path rotated;
+                    int seq = 1;
+                    do {
+                        rotated = Paths.get(LOG_FILE + "." + stampDate + "." + seq++);
+                    } while (Files.exists(rotated));
+                    Files.move(path, rotated, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+            if (channel == null) {
+                channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                fileSize = channel.size();
+                fileDate = fileSize > 0
+                        ? LocalDate.ofInstant(Files.getLastModifiedTime(path).toInstant(), zone)
+                        : today;
+            }
         }
 
-        // 2. 파일 저장 (append 모드)
-        try (PrintWriter out = new PrintWriter(new FileWriter(LOG_FILE, true))) {
-            out.println(logEntry);
-        } catch (IOException e) {
-            System.err.println("로그 파일 기록 실패: " + e.getMessage());
+        private void closeChannel() {
+            if (channel == null) return;
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.scm.util;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+
+/**
+ * 리포트 출력용 버퍼 콘솔 Writer.
+ * System.out.printf는 행마다 인코딩/출력 스트림 잠금을 거치므로 대량 행 출력은 이 Writer에 모은 뒤
+ * 페이지 단위로 flush한다. 메뉴 프롬프트(System.out)와 순서가 섞이지 않도록 출력 단위가 끝나면 반드시 flush한다.
+ */
+public final class ConsoleOut {
+    private static final PrintWriter WRITER = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(System.out, consoleCharset()), 64 * 1024), false);
+
+    private ConsoleOut() {}
+
+    /** 공용 버퍼 Writer (자동 flush 없음) */
+    public static PrintWriter writer() {
+        return WRITER;
+    }
+
+    private static Charset consoleCharset() {
+        String name = System.getProperty("sun.stdout.encoding");
+        try {
+            return name != null ? Charset.forName(name) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+}
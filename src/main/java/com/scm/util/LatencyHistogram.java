@@ -0,0 +1,111 @@
+package com.scm.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 고정 메모리 지연 시간 히스토그램 (HDR 방식의 로그-선형 버킷).
+ * 2의 거듭제곱 구간마다 32개 하위 버킷으로 나누어 상대 오차 약 3% 이내로 분위수를 계산한다.
+ * 기록은 배열 원소 하나의 원자적 증가이므로 잠금 없이 여러 스레드에서 호출할 수 있다.
+ * 값 단위는 나노초이며 약 2^40ns(18분)를 넘는 값은 마지막 버킷에 담는다.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_SHIFT = 40 - SUB_BUCKET_BITS;
+    private static final int BUCKETS = (MAX_SHIFT + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(indexOf(nanos));
+        total.incrementAndGet();
+        sum.addAndGet(nanos);
+        long m = max.get();
+        while (nanos > m && !max.compareAndSet(m, nanos)) m = max.get();
+    }
+
+    static int indexOf(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value | 1);
+        int shift = Math.min(Math.max(0, exponent - SUB_BUCKET_BITS), MAX_SHIFT);
+        long index = (long) shift * SUB_BUCKETS + (value >>> shift);
+        return (int) Math.min(index, BUCKETS - 1);
+    }
+
+    /** 버킷이 나타내는 구간의 최댓값 */
+    static long highestEquivalent(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - (long) shift * SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+     * 현재 분포의 스냅샷. 기록과 동시에 호출되면 개별 값은 약간 어긋날 수 있다.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long n = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            n += copy[i];
+        }
+        return new Snapshot(copy, n, sum.get(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        total.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    /**
+     * 히스토그램 스냅샷 (나노초)
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        /** q(0~1) 분위수의 상한값. 기록이 없으면 0. 상한이 없는 마지막 버킷이면 최댓값. */
+        public long quantile(double q) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(q * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return i == counts.length - 1 ? max : Math.min(highestEquivalent(i), max);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.scm.util;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프로세스 내 성능 지표 레지스트리.
+ * - Timer: 이름별 지연 시간 히스토그램 (SQL 문장, 트랜잭션, 커넥션 대여)
+ * - Counter: 이름별 누적 건수 (커밋/롤백/재시도/데드락 등)
+ * 지표 객체는 이름당 한 번만 만들어 상수로 보관하고, 기록은 잠금 없이 원자적 증가만 수행한다.
+ * 설정: -Dscm.metrics.dumpSec (주기적 파일 기록 간격, 기본 60, 0이면 끔), 기록 파일 scm_metrics.log
+ */
+public class Metrics {
+    private static final String DUMP_FILE = "scm_metrics.log";
+    private static final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private static final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private static final long startedAt = System.nanoTime();
+    private static ScheduledExecutorService dumper;
+
+    /** 이름에 해당하는 타이머 (없으면 생성) */
+    public static Timer timer(String name) {
+        return timers.computeIfAbsent(name, Timer::new);
+    }
+
+    /** 이름에 해당하는 카운터 (없으면 생성) */
+    public static Counter counter(String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * 현재 지표를 표 형식 문자열로 만든다. 시간 단위는 밀리초이다.
+     */
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        long uptimeSec = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - startedAt);
+        sb.append(String.format("=== 성능 지표 %s (가동 %d초) ===%n", LocalDateTime.now().format(dtf), uptimeSec));
+        sb.append(String.format("%-32s %9s %9s %9s %9s %9s %9s%n", "타이머", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Timer timer : new TreeMap<>(timers).values()) {
+            LatencyHistogram.Snapshot s = timer.histogram.snapshot();
+            if (s.count() == 0) continue;
+            sb.append(String.format("%-32s %9d %9.3f %9.3f %9.3f %9.3f %9.3f%n", timer.name, s.count(), s.mean() / 1e6,
+                    s.quantile(0.50) / 1e6, s.quantile(0.90) / 1e6, s.quantile(0.99) / 1e6, s.max() / 1e6));
+        }
+        sb.append(String.format("%-32s %9s%n", "카운터", "value"));
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            sb.append(String.format("%-32s %9d%n", counter.name, counter.get()));
+        }
+        long finished = counter("tx.commit").get() + counter("tx.rollback").get();
+        if (finished > 0) {
+            sb.append(String.format("데드락 비율: %.3f%% (%d / %d 트랜잭션), 재시도 비율: %.3f%%%n",
+                    counter("tx.deadlock").get() * 100.0 / finished, counter("tx.deadlock").get(), finished,
+                    counter("tx.retry").get() * 100.0 / finished));
+        }
+        return sb.toString();
+    }
+
+    /** 모든 지표를 0으로 되돌린다. */
+    public static void reset() {
+        timers.values().forEach(t -> t.histogram.reset());
+        counters.values().forEach(c -> c.adder.reset());
+    }
+
+    /** 현재 지표를 파일 끝에 덧붙인다. */
+    public static void dump() {
+        try {
+            Files.writeString(Paths.get(DUMP_FILE), report() + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            AppLogger.log("WARN", "성능 지표 기록 실패: " + e.getMessage());
+        }
+    }
+
+    /**
+     * scm.metrics.dumpSec 주기로 파일 기록을 시작한다. 이미 시작했거나 주기가 0이면 아무것도 하지 않는다.
+     */
+    public static synchronized void startPeriodicDump() {
+        long periodSec = Long.getLong("scm.metrics.dumpSec", 60);
+        if (dumper != null || periodSec <= 0) return;
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "scm-metrics-dump");
+            t.setDaemon(true);
+            return t;
+        });
+        dumper.scheduleAtFixedRate(Metrics::dump, periodSec, periodSec, TimeUnit.SECONDS);
+        AppLogger.log("INFO", "성능 지표 주기 기록 시작: " + DUMP_FILE + " (" + periodSec + "초)");
+    }
+
+    /** 주기 기록을 멈추고 마지막 지표를 기록한다. */
+    public static synchronized void stopPeriodicDump() {
+        if (dumper == null) return;
+        dumper.shutdownNow();
+        dumper = null;
+        dump();
+    }
+
+    /**
+     * 지연 시간 타이머.
+     * 사용: long t = TIMER.start(); ... TIMER.stop(t);
+     */
+    public static final class Timer {
+        private final String name;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        private Timer(String name) {
+            this.name = name;
+        }
+
+        public long start() {
+            return System.nanoTime();
+        }
+
+        /** start() 이후 경과 시간을 기록한다. */
+        public void stop(long startNanos) {
+            histogram.record(System.nanoTime() - startNanos);
+        }
+
+        public void record(long nanos) {
+            histogram.record(nanos);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public LatencyHistogram.Snapshot snapshot() {
+            return histogram.snapshot();
+        }
+    }
+
+    /**
+     * 누적 카운터
+     */
+    public static final class Counter {
+        private final String name;
+        private final LongAdder adder = new LongAdder();
+
+        private Counter(String name) {
+            this.name = name;
+        }
+
+        public void increment() {
+            adder.increment();
+        }
+
+        public void add(long n) {
+            adder.add(n);
+        }
+
+        public long get() {
+            return adder.sum();
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
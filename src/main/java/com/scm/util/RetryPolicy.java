@@ -0,0 +1,60 @@
+package com.scm.util;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 트랜잭션 재시도 정책.
+ * PostgreSQL 데드락(40P01)과 직렬화 실패(40001)를 재시도 대상으로 보고,
+ * 대기 시간은 지수 증가 상한 안에서 무작위로 고르는 full jitter 방식으로 계산한다.
+ */
+public class RetryPolicy {
+    public static final String DEADLOCK_DETECTED = "40P01";
+    public static final String SERIALIZATION_FAILURE = "40001";
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    /** 기본 정책: 최대 3회 시도, 50ms 기준 최대 2초 */
+    public static RetryPolicy defaults() {
+        return new RetryPolicy(3, 50, 2000);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /** 재시도하면 성공할 수 있는 동시성 충돌 오류인지 판별한다. */
+    public static boolean isRetryable(SQLException e) {
+        for (SQLException cur = e; cur != null; cur = cur.getNextException()) {
+            String state = cur.getSQLState();
+            if (DEADLOCK_DETECTED.equals(state) || SERIALIZATION_FAILURE.equals(state)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * 실패한 시도 번호 이후 다시 시도할지 결정한다.
+     * @param e 발생한 예외
+     * @param attempt 방금 실패한 시도 번호 (1부터)
+     */
+    public boolean shouldRetry(SQLException e, int attempt) {
+        return attempt < maxAttempts && isRetryable(e);
+    }
+
+    /**
+     * 다음 시도 전 대기 시간(ms). [0, min(max, base * 2^(attempt-1))] 구간에서 균등 추출한다.
+     * @param attempt 방금 실패한 시도 번호 (1부터)
+     */
+    public long backoffMillis(int attempt) {
+        long cap = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
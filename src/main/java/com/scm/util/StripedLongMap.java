@@ -0,0 +1,195 @@
+package com.scm.util;
+
+/**
+ * long 키 -> long 값 동시성 맵 (박싱 없는 개방 주소법 해시 테이블을 여러 조각으로 나눈 구조).
+ * 키를 섞은 해시의 상위 비트로 조각을 고르고, 조각마다 독립된 모니터로 잠그므로
+ * 서로 다른 키에 대한 갱신은 대부분 경합 없이 진행된다. 없는 키의 값은 0으로 본다.
+ * 항목은 drain()으로 조각 단위로만 비운다 (개별 삭제 없음).
+ */
+public class StripedLongMap {
+    private static final float LOAD_FACTOR = 0.75f;
+
+    /**
+     * 항목 순회 콜백
+     */
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+
+    /**
+     * @param stripeCount 조각 수 (2의 거듭제곱으로 올림)
+     */
+    public StripedLongMap(int stripeCount) {
+        int n = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        if (stripeCount <= 1) n = 1;
+        this.stripes = new Stripe[n];
+        for (int i = 0; i < n; i++) stripes[i] = new Stripe(16);
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(n);
+    }
+
+    /** 창고/부품처럼 두 int로 이루어진 키를 하나의 long으로 묶는다. */
+    public static long pack(int high, int low) {
+        return ((long) high << 32) | (low & 0xFFFF_FFFFL);
+    }
+
+    public static int high(long key) {
+        return (int) (key >>> 32);
+    }
+
+    public static int low(long key) {
+        return (int) key;
+    }
+
+    public long get(long key) {
+        long h = mix(key);
+        Stripe s = stripeOf(h);
+        synchronized (s) {
+            int slot = s.find(key, h);
+            return slot < 0 ? 0 : s.values[slot];
+        }
+    }
+
+    public void put(long key, long value) {
+        long h = mix(key);
+        Stripe s = stripeOf(h);
+        synchronized (s) {
+            int slot = s.slotFor(key, h); // 크기 조정 후의 배열에 써야 하므로 슬롯을 먼저 구한다
+            s.values[slot] = value;
+        }
+    }
+
+    /** 값에 delta를 더하고 결과를 반환한다. */
+    public long addAndGet(long key, long delta) {
+        long h = mix(key);
+        Stripe s = stripeOf(h);
+        synchronized (s) {
+            int slot = s.slotFor(key, h);
+            return s.values[slot] += delta;
+        }
+    }
+
+    /**
+     * 결과가 floor 이상일 때만 delta를 더한다 (재고 차감처럼 조건부 갱신).
+     * @return 더했으면 true
+     */
+    public boolean tryAdd(long key, long delta, long floor) {
+        long h = mix(key);
+        Stripe s = stripeOf(h);
+        synchronized (s) {
+            int slot = s.find(key, h);
+            long current = slot < 0 ? 0 : s.values[slot];
+            if (current + delta < floor) return false;
+            if (slot < 0) slot = s.slotFor(key, h);
+            s.values[slot] = current + delta;
+            return true;
+        }
+    }
+
+    /** 저장된 키 수 (조각별 값을 차례로 읽으므로 동시 갱신 중에는 근삿값) */
+    public int size() {
+        int size = 0;
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                size += s.size;
+            }
+        }
+        return size;
+    }
+
+    /** 모든 항목을 조각 순서대로 콜백에 넘긴다 (조각 잠금 상태에서 호출되므로 콜백은 짧게). */
+    public void forEach(EntryConsumer consumer) {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                s.forEach(consumer);
+            }
+        }
+    }
+
+    /** 모든 항목을 콜백에 넘기고 비운다. */
+    public void drain(EntryConsumer consumer) {
+        for (Stripe s : stripes) {
+            synchronized (s) {
+                s.forEach(consumer);
+                s.clear();
+            }
+        }
+    }
+
+    private Stripe stripeOf(long hash) {
+        return stripeShift == 64 ? stripes[0] : stripes[(int) (hash >>> stripeShift)];
+    }
+
+    /** 연속된 부품 ID가 한 조각에 몰리지 않도록 비트를 섞는다 (SplitMix64 마무리 함수). */
+    private static long mix(long key) {
+        long h = key * 0x9E37_79B9_7F4A_7C15L;
+        h = (h ^ (h >>> 32)) * 0xD6E8_FEB8_6659_FD93L;
+        return h ^ (h >>> 32);
+    }
+
+    private static final class Stripe {
+        long[] keys;
+        long[] values;
+        boolean[] used;
+        int size;
+
+        Stripe(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            keys = new long[capacity];
+            values = new long[capacity];
+            used = new boolean[capacity];
+            size = 0;
+        }
+
+        /** 키의 슬롯, 없으면 -1 */
+        int find(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = (int) hash & mask; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            return -1;
+        }
+
+        /** 키의 슬롯, 없으면 값 0으로 추가 */
+        int slotFor(long key, long hash) {
+            if (size + 1 > keys.length * LOAD_FACTOR) resize();
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            for (; used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) return i;
+            }
+            used[i] = true;
+            keys[i] = key;
+            values[i] = 0;
+            size++;
+            return i;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys, oldValues = values;
+            boolean[] oldUsed = used;
+            allocate(oldKeys.length * 2);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (!oldUsed[i]) continue;
+                int slot = slotFor(oldKeys[i], mix(oldKeys[i]));
+                values[slot] = oldValues[i];
+            }
+        }
+
+        void forEach(EntryConsumer consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) consumer.accept(keys[i], values[i]);
+            }
+        }
+
+        void clear() {
+            if (size == 0) return;
+            allocate(16);
+        }
+    }
+}
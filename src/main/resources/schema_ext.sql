@@ -0,0 +1,259 @@
+-- =====================================================================
+-- smart-scm-app 보조 스키마
+-- ERD의 13개 기본 테이블 위에 애플리케이션이 사용하는 집계 테이블/함수/트리거를 정의한다.
+-- 모든 문장은 재실행해도 안전하며(IF NOT EXISTS / OR REPLACE) 시작 시 SchemaInitializer가 한 트랜잭션으로 적용한다.
+-- 마지막으로 적용한 스크립트와 내용이 같으면 실행을 생략한다 (SCHEMA_STATUS, -Dscm.schema.force=true로 강제 적용).
+-- 시작할 때마다 실행될 수 있으므로 기존 대용량 테이블을 읽거나 잠그는 작업(인덱스 생성, 물리화 뷰, 버킷 초기 구축)은
+-- schema_migrate.sql에 두고 migrate 명령으로 따로 실행한다.
+-- =====================================================================
+
+-- ---------------------------------------------------------------------
+-- 프로젝트별 비용/탄소 집계 (대시보드 O(1) 조회용)
+-- 행이 없으면 "아직 집계되지 않음"을 의미하며, 대시보드 첫 조회 시 원천 테이블에서 재구축한다.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS PROJECT_ROLLUP (
+    Proj_ID      INT PRIMARY KEY REFERENCES SHIP_PROJECT (Proj_ID),
+    Total_Cost   NUMERIC   NOT NULL DEFAULT 0,
+    Transport_Em NUMERIC   NOT NULL DEFAULT 0,
+    Storage_Em   NUMERIC   NOT NULL DEFAULT 0,
+    Total_Em     NUMERIC   NOT NULL DEFAULT 0,
+    Updated_At   TIMESTAMP NOT NULL DEFAULT now()
+);
+
+CREATE TABLE IF NOT EXISTS PROJECT_SUPPLIER_ROLLUP (
+    Proj_ID    INT     NOT NULL REFERENCES SHIP_PROJECT (Proj_ID),
+    Supp_ID    INT     NOT NULL REFERENCES SUPPLIER (Supp_ID),
+    Total_Cost NUMERIC NOT NULL DEFAULT 0,
+    PRIMARY KEY (Proj_ID, Supp_ID)
+);
+
+CREATE INDEX IF NOT EXISTS idx_proj_supp_rollup_cost ON PROJECT_SUPPLIER_ROLLUP (Proj_ID, Total_Cost DESC);
+
+-- 탄소 기록 집계 갱신은 아래 "탄소 배출 시간 버킷" 절의 trg_carbon_aggregate가 함께 수행한다
+DROP TRIGGER IF EXISTS trg_project_rollup_carbon ON CARBON_RECORD;
+DROP FUNCTION IF EXISTS fn_project_rollup_carbon();
+
+-- 집계 갱신 직렬화: 증분 갱신(발주, 일괄 가져오기, 탄소 적재)과 재구축이 프로젝트별 advisory lock을 잡는다.
+-- 재구축은 잠금을 잡은 뒤 원천을 읽으므로, 진행 중인 증분은 재구축이 커밋된 다음 자기 몫을 더한다.
+-- 여러 프로젝트를 잠글 때는 Proj_ID 순서로 잡아 교착을 피한다. (키 공간: 0x53524C50, Proj_ID)
+CREATE OR REPLACE FUNCTION fn_project_rollup_lock(p_proj_ids INT[]) RETURNS void AS $$
+DECLARE
+    v_proj_id INT;
+BEGIN
+    FOR v_proj_id IN SELECT DISTINCT u FROM unnest(p_proj_ids) u WHERE u IS NOT NULL ORDER BY u LOOP
+        PERFORM pg_advisory_xact_lock(1397902416, v_proj_id);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ---------------------------------------------------------------------
+-- 공급업체 성과 스냅샷 갱신 이력 (물리화 뷰는 schema_migrate.sql)
+-- 최종 갱신 시각을 기록하여 리포트에 기준 시각으로 표시한다.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS SNAPSHOT_STATUS (
+    Snapshot_Name VARCHAR(30) PRIMARY KEY,
+    Refreshed_At  TIMESTAMPTZ NOT NULL,
+    Duration_Ms   BIGINT    NOT NULL DEFAULT 0
+);
+
+-- ---------------------------------------------------------------------
+-- 재고 엔진 체크포인트
+-- InventoryEngine이 STORES에 반영한 마지막 저널 순번. 반영 배치와 같은 트랜잭션으로 갱신하며,
+-- 재시작 시 이 순번 이후의 저널 레코드만 다시 적용한다.
+-- 저널 디렉터리마다 한 행이다 (Journal_Id: 디렉터리의 journal.id).
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS INVENTORY_CHECKPOINT (
+    Journal_Id  VARCHAR(36) PRIMARY KEY,
+    Journal_Seq BIGINT      NOT NULL DEFAULT 0,
+    Flushed_At  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- ---------------------------------------------------------------------
+-- 탄소 배출 시간 버킷 (대시보드 합계 / 월별·일별 추이 조회용)
+-- CARBON_RECORD를 일(D)/월(M) 단위로 미리 합산해 두어 조회가 원천 행 수와 무관하게 버킷 수에 비례하도록 한다.
+-- 프로젝트 귀속은 대시보드 기준과 같다: Proj_ID 직접 귀속분 + 납품(Del_ID) 발주의 프로젝트 귀속분.
+-- 버킷과 PROJECT_ROLLUP은 적재 문장 단위 트리거로 증분 갱신하며, 수정/삭제는 fn_carbon_bucket_rebuild로 재구축한다.
+-- ---------------------------------------------------------------------
+-- 운송 배출량을 직접 주지 않은 기록의 계산 계수 (kg CO2e / km, 납품 1건 기준)
+CREATE TABLE IF NOT EXISTS EMISSION_FACTOR (
+    TransType VARCHAR(10) PRIMARY KEY,
+    Kg_Per_Km NUMERIC(8, 4) NOT NULL
+);
+
+INSERT INTO EMISSION_FACTOR (TransType, Kg_Per_Km)
+VALUES ('트럭', 0.2500), ('철도', 0.0800), ('선박', 0.0500), ('항공', 0.6000)
+ON CONFLICT (TransType) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS CARBON_PROJECT_BUCKET (
+    Proj_ID      INT     NOT NULL REFERENCES SHIP_PROJECT (Proj_ID),
+    Grain        CHAR(1) NOT NULL CHECK (Grain IN ('D', 'M')),
+    Bucket       DATE    NOT NULL,
+    Transport_Em NUMERIC NOT NULL DEFAULT 0,
+    Storage_Em   NUMERIC NOT NULL DEFAULT 0,
+    Total_Em     NUMERIC NOT NULL DEFAULT 0,
+    Record_Count BIGINT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (Proj_ID, Grain, Bucket)
+) WITH (fillfactor = 80);
+
+-- 납품별 버킷, Proj_ID는 납품 발주의 프로젝트 (프로젝트별 배출 상위 납품 조회)
+-- 적재 건수만큼 키가 생길 수 있어 FK 검사는 생략한다 (Del_ID는 CARBON_RECORD의 FK가 이미 검증)
+CREATE TABLE IF NOT EXISTS CARBON_DELIVERY_BUCKET (
+    Del_ID       INT     NOT NULL,
+    Grain        CHAR(1) NOT NULL CHECK (Grain IN ('D', 'M')),
+    Bucket       DATE    NOT NULL,
+    Proj_ID      INT     NOT NULL,
+    Transport_Em NUMERIC NOT NULL DEFAULT 0,
+    Storage_Em   NUMERIC NOT NULL DEFAULT 0,
+    Total_Em     NUMERIC NOT NULL DEFAULT 0,
+    Record_Count BIGINT  NOT NULL DEFAULT 0,
+    PRIMARY KEY (Del_ID, Grain, Bucket)
+) WITH (fillfactor = 80);
+
+-- 배출량 컬럼을 인덱스에 넣지 않아야 버킷 증분 갱신이 HOT 갱신으로 처리된다
+CREATE INDEX IF NOT EXISTS idx_carbon_delivery_bucket_proj ON CARBON_DELIVERY_BUCKET (Proj_ID, Grain, Bucket);
+
+-- 적재된 행을 프로젝트/납품 버킷과 PROJECT_ROLLUP(이미 집계된 프로젝트만)에 더한다.
+-- 납품 -> 발주 조인은 한 번만 하고, 버킷은 키 순서로 Upsert하여 동시 적재 간 잠금 순서를 맞춘다.
+-- 버킷/집계 행을 쓰기 전에 귀속 프로젝트의 집계 잠금(fn_project_rollup_lock)을 잡아 재구축과 직렬화한다.
+CREATE OR REPLACE FUNCTION fn_carbon_aggregate() RETURNS trigger AS $$
+BEGIN
+    PERFORM fn_project_rollup_lock(ARRAY(
+        SELECT n.Proj_ID FROM new_rows n
+        UNION
+        SELECT o.Proj_ID
+        FROM new_rows n
+        JOIN DELIVERY d ON d.Del_ID = n.Del_ID
+        JOIN PURCHASE_ORDER o ON o.PO_ID = d.PO_ID));
+
+    WITH j AS MATERIALIZED (
+        SELECT n.Proj_ID, n.Del_ID, o.Proj_ID AS Del_Proj_ID, n.Date, n.Type, n.Amount
+        FROM new_rows n
+        LEFT JOIN DELIVERY d ON d.Del_ID = n.Del_ID
+        LEFT JOIN PURCHASE_ORDER o ON o.PO_ID = d.PO_ID
+    ),
+    -- 프로젝트 귀속: 직접 귀속분 + (직접 귀속과 다른) 납품 발주의 프로젝트 귀속분
+    p AS MATERIALIZED (
+        SELECT Proj_ID, Date, Type, Amount FROM j WHERE Proj_ID IS NOT NULL
+        UNION ALL
+        SELECT Del_Proj_ID, Date, Type, Amount FROM j
+        WHERE Del_Proj_ID IS NOT NULL AND Proj_ID IS DISTINCT FROM Del_Proj_ID
+    ),
+    pb AS (
+        INSERT INTO CARBON_PROJECT_BUCKET AS b (Proj_ID, Grain, Bucket, Transport_Em, Storage_Em, Total_Em, Record_Count)
+        SELECT p.Proj_ID, g.Grain,
+               CASE g.Grain WHEN 'D' THEN p.Date ELSE date_trunc('month', p.Date)::date END,
+               SUM(CASE WHEN p.Type = '운송' THEN p.Amount ELSE 0 END),
+               SUM(CASE WHEN p.Type = '보관' THEN p.Amount ELSE 0 END),
+               SUM(p.Amount), COUNT(*)
+        FROM p CROSS JOIN (VALUES ('D'), ('M')) g (Grain)
+        GROUP BY 1, 2, 3 ORDER BY 1, 2, 3
+        ON CONFLICT (Proj_ID, Grain, Bucket) DO UPDATE
+            SET Transport_Em = b.Transport_Em + EXCLUDED.Transport_Em,
+                Storage_Em   = b.Storage_Em + EXCLUDED.Storage_Em,
+                Total_Em     = b.Total_Em + EXCLUDED.Total_Em,
+                Record_Count = b.Record_Count + EXCLUDED.Record_Count
+    ),
+    db AS (
+        INSERT INTO CARBON_DELIVERY_BUCKET AS b (Del_ID, Grain, Bucket, Proj_ID, Transport_Em, Storage_Em, Total_Em, Record_Count)
+        SELECT j.Del_ID, g.Grain,
+               CASE g.Grain WHEN 'D' THEN j.Date ELSE date_trunc('month', j.Date)::date END,
+               MIN(j.Del_Proj_ID),
+               SUM(CASE WHEN j.Type = '운송' THEN j.Amount ELSE 0 END),
+               SUM(CASE WHEN j.Type = '보관' THEN j.Amount ELSE 0 END),
+               SUM(j.Amount), COUNT(*)
+        FROM j CROSS JOIN (VALUES ('D'), ('M')) g (Grain)
+        WHERE j.Del_Proj_ID IS NOT NULL
+        GROUP BY 1, 2, 3 ORDER BY 1, 2, 3
+        ON CONFLICT (Del_ID, Grain, Bucket) DO UPDATE
+            SET Transport_Em = b.Transport_Em + EXCLUDED.Transport_Em,
+                Storage_Em   = b.Storage_Em + EXCLUDED.Storage_Em,
+                Total_Em     = b.Total_Em + EXCLUDED.Total_Em,
+                Record_Count = b.Record_Count + EXCLUDED.Record_Count
+    )
+    UPDATE PROJECT_ROLLUP r
+    SET Transport_Em = r.Transport_Em + t.transport_em,
+        Storage_Em   = r.Storage_Em + t.storage_em,
+        Total_Em     = r.Total_Em + t.total_em,
+        Updated_At   = now()
+    FROM (
+        SELECT Proj_ID,
+               SUM(CASE WHEN Type = '운송' THEN Amount ELSE 0 END) AS transport_em,
+               SUM(CASE WHEN Type = '보관' THEN Amount ELSE 0 END) AS storage_em,
+               SUM(Amount) AS total_em
+        FROM p GROUP BY Proj_ID
+    ) t
+    WHERE r.Proj_ID = t.Proj_ID;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_carbon_aggregate ON CARBON_RECORD;
+CREATE TRIGGER trg_carbon_aggregate
+    AFTER INSERT ON CARBON_RECORD
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_carbon_aggregate();
+
+-- 원천 기록에서 버킷을 다시 계산한다 (p_proj_id가 NULL이면 전체, 아니면 해당 프로젝트 귀속분만).
+-- 잠근 뒤에 원천을 읽으므로, 진행 중인 적재는 재구축이 커밋된 다음 자기 증분을 더한다.
+-- 전체 재구축은 버킷 표를 잠그고, 프로젝트 하나는 적재 트리거와 같은 프로젝트 잠금(fn_project_rollup_lock)만 잡아
+-- 다른 프로젝트의 적재를 막지 않는다 (호출자가 이미 잡았으면 같은 트랜잭션이므로 그대로 통과).
+CREATE OR REPLACE FUNCTION fn_carbon_bucket_rebuild(p_proj_id INT) RETURNS void AS $$
+BEGIN
+    IF p_proj_id IS NULL THEN
+        LOCK TABLE CARBON_PROJECT_BUCKET, CARBON_DELIVERY_BUCKET IN SHARE ROW EXCLUSIVE MODE;
+        DELETE FROM CARBON_PROJECT_BUCKET;
+        DELETE FROM CARBON_DELIVERY_BUCKET;
+    ELSE
+        PERFORM fn_project_rollup_lock(ARRAY[p_proj_id]);
+        DELETE FROM CARBON_PROJECT_BUCKET WHERE Proj_ID = p_proj_id;
+        DELETE FROM CARBON_DELIVERY_BUCKET WHERE Proj_ID = p_proj_id;
+    END IF;
+
+    WITH j AS MATERIALIZED (
+        SELECT c.Proj_ID, c.Del_ID, o.Proj_ID AS Del_Proj_ID, c.Date, c.Type, c.Amount
+        FROM CARBON_RECORD c
+        LEFT JOIN DELIVERY d ON d.Del_ID = c.Del_ID
+        LEFT JOIN PURCHASE_ORDER o ON o.PO_ID = d.PO_ID
+        WHERE p_proj_id IS NULL OR c.Proj_ID = p_proj_id OR o.Proj_ID = p_proj_id
+    ),
+    p AS MATERIALIZED (
+        SELECT Proj_ID, Date, Type, Amount FROM j WHERE Proj_ID IS NOT NULL
+        UNION ALL
+        SELECT Del_Proj_ID, Date, Type, Amount FROM j
+        WHERE Del_Proj_ID IS NOT NULL AND Proj_ID IS DISTINCT FROM Del_Proj_ID
+    ),
+    pb AS (
+        INSERT INTO CARBON_PROJECT_BUCKET (Proj_ID, Grain, Bucket, Transport_Em, Storage_Em, Total_Em, Record_Count)
+        SELECT p.Proj_ID, g.Grain,
+               CASE g.Grain WHEN 'D' THEN p.Date ELSE date_trunc('month', p.Date)::date END,
+               SUM(CASE WHEN p.Type = '운송' THEN p.Amount ELSE 0 END),
+               SUM(CASE WHEN p.Type = '보관' THEN p.Amount ELSE 0 END),
+               SUM(p.Amount), COUNT(*)
+        FROM p CROSS JOIN (VALUES ('D'), ('M')) g (Grain)
+        WHERE p_proj_id IS NULL OR p.Proj_ID = p_proj_id
+        GROUP BY 1, 2, 3
+    )
+    INSERT INTO CARBON_DELIVERY_BUCKET (Del_ID, Grain, Bucket, Proj_ID, Transport_Em, Storage_Em, Total_Em, Record_Count)
+    SELECT j.Del_ID, g.Grain,
+           CASE g.Grain WHEN 'D' THEN j.Date ELSE date_trunc('month', j.Date)::date END,
+           MIN(j.Del_Proj_ID),
+           SUM(CASE WHEN j.Type = '운송' THEN j.Amount ELSE 0 END),
+           SUM(CASE WHEN j.Type = '보관' THEN j.Amount ELSE 0 END),
+           SUM(j.Amount), COUNT(*)
+    FROM j CROSS JOIN (VALUES ('D'), ('M')) g (Grain)
+    WHERE j.Del_Proj_ID IS NOT NULL AND (p_proj_id IS NULL OR j.Del_Proj_ID = p_proj_id)
+    GROUP BY 1, 2, 3;
+END;
+$$ LANGUAGE plpgsql;
+
+-- ---------------------------------------------------------------------
+-- 보조 스키마 적용 이력
+-- SchemaInitializer가 적용한 스크립트의 해시를 기록하고, 시작 시 해시가 같으면 스크립트 실행을 생략한다.
+-- 스크립트를 고치면 해시가 바뀌어 다음 시작 때 다시 적용된다.
+-- migrate 명령이 적용한 schema_migrate.sql도 기록하며, 시작 시 기록이 없으면 migrate를 먼저 실행하라고 안내하고 멈춘다.
+-- ---------------------------------------------------------------------
+CREATE TABLE IF NOT EXISTS SCHEMA_STATUS (
+    Script      VARCHAR(50) PRIMARY KEY,
+    Script_Hash CHAR(64)    NOT NULL,
+    Applied_At  TIMESTAMPTZ NOT NULL DEFAULT now()
+);
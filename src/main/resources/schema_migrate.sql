@@ -0,0 +1,109 @@
+-- =====================================================================
+-- smart-scm-app 스키마 마이그레이션 (무거운 작업)
+-- 기존 대용량 테이블의 인덱스, 물리화 뷰, 탄소 버킷 초기 구축처럼 시작 시 실행하기에 오래 걸리거나
+-- 테이블을 잠그는 작업을 모은다. `smart-scm-app migrate`가 보조 스키마(schema_ext.sql) 적용 후
+-- 문장 하나씩 자동 커밋으로 실행한다 (CREATE INDEX CONCURRENTLY는 트랜잭션 블록 안에서 실행할 수 없다).
+-- 모든 문장은 재실행해도 안전하다. 중간에 실패하면 원인을 고친 뒤 다시 실행한다.
+-- 동시 인덱스 생성이 실패하면 INVALID 인덱스가 남으며, migrate가 이를 알려 주므로 DROP INDEX 후 다시 실행한다.
+-- =====================================================================
+
+-- ---------------------------------------------------------------------
+-- 공급업체 리포트 / 대시보드 집계 지원 인덱스
+-- 공급업체 리포트는 PO_LINE, DELIVERY를 공급업체 단위로 먼저 집계하므로
+-- 발주 -> 공급업체/프로젝트, 납품 -> 발주 탐색 경로를 인덱스로 제공한다.
+-- (PO_LINE은 기본키 (PO_ID, LineNo)가 PO_ID 탐색을 지원)
+-- ---------------------------------------------------------------------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchase_order_supp ON PURCHASE_ORDER (Supp_ID, PO_ID);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchase_order_proj ON PURCHASE_ORDER (Proj_ID, PO_ID);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_delivery_po_status ON DELIVERY (PO_ID, Status);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_supplier_esg ON SUPPLIER (ESG);
+
+-- 공급업체 상세의 발주 이력 키셋 페이지 ((OrderDate, PO_ID) 내림차순 탐색)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_purchase_order_supp_date ON PURCHASE_ORDER (Supp_ID, OrderDate DESC, PO_ID DESC);
+
+-- ---------------------------------------------------------------------
+-- 대시보드 프로젝트 검색 (선박명 대소문자 무시 검색)
+-- 접두 일치는 lower(ShipName) 패턴 인덱스, 중간 일치는 pg_trgm GIN 인덱스로 처리한다.
+-- pg_trgm을 설치할 권한이 없으면 건너뛰며, 이때 중간 일치 검색은 순차 탐색한다.
+-- (SHIP_PROJECT는 프로젝트 수만큼의 작은 테이블이라 조건부 생성이 필요한 trgm 인덱스는 DO 블록에서 일반 생성)
+-- ---------------------------------------------------------------------
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_ship_project_name_prefix ON SHIP_PROJECT (lower(ShipName) text_pattern_ops);
+
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION WHEN OTHERS THEN
+    RAISE NOTICE 'pg_trgm 확장 생략: %', SQLERRM;
+END
+$$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_extension WHERE extname = 'pg_trgm') THEN
+        CREATE INDEX IF NOT EXISTS idx_ship_project_name_trgm ON SHIP_PROJECT USING gin (lower(ShipName) gin_trgm_ops);
+    END IF;
+END
+$$;
+
+-- ---------------------------------------------------------------------
+-- 공급업체 성과 스냅샷 (공급업체 리포트 / 월별 추이 조회용)
+-- 원천 집계를 물리화해 두고 SnapshotRefresher가 주기적으로 REFRESH ... CONCURRENTLY로 갱신한다.
+-- CONCURRENTLY 갱신은 WHERE 없는 UNIQUE 인덱스가 필요하며, 갱신 중에도 기존 스냅샷 조회를 막지 않는다.
+-- ---------------------------------------------------------------------
+-- 공급업체별 누적 집계 (SupplierDAO.STATS_TEMPLATE과 같은 기준)
+CREATE MATERIALIZED VIEW IF NOT EXISTS MV_SUPPLIER_STATS AS
+SELECT s.Supp_ID, s.Name, s.Country, s.ESG,
+       COALESCE(a.total_order_amt, 0) AS total_order_amt,
+       COALESCE(dl.total_deliv_count, 0) AS total_deliv_count,
+       COALESCE(dl.delay_count, 0) AS delay_count,
+       CASE WHEN COALESCE(dl.total_deliv_count, 0) = 0 THEN 0
+            ELSE dl.delay_count * 100.0 / dl.total_deliv_count END AS delay_rate
+FROM SUPPLIER s
+LEFT JOIN (SELECT o.Supp_ID, SUM(l.Qty * l.OrderPrice) AS total_order_amt
+           FROM PURCHASE_ORDER o JOIN PO_LINE l ON l.PO_ID = o.PO_ID
+           GROUP BY o.Supp_ID) a ON a.Supp_ID = s.Supp_ID
+LEFT JOIN (SELECT o.Supp_ID, COUNT(*) AS total_deliv_count,
+                  COUNT(*) FILTER (WHERE d.Status = '지연') AS delay_count
+           FROM PURCHASE_ORDER o JOIN DELIVERY d ON d.PO_ID = o.PO_ID
+           GROUP BY o.Supp_ID) dl ON dl.Supp_ID = s.Supp_ID;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_supplier_stats ON MV_SUPPLIER_STATS (Supp_ID);
+
+-- 공급업체 x 월 집계. 발주는 발주일, 납품은 도착일(없으면 발주일) 기준 월로 묶는다.
+CREATE MATERIALIZED VIEW IF NOT EXISTS MV_SUPPLIER_MONTHLY AS
+SELECT COALESCE(a.Supp_ID, dl.Supp_ID) AS Supp_ID,
+       COALESCE(a.Month, dl.Month) AS Month,
+       COALESCE(a.Order_Count, 0) AS Order_Count,
+       COALESCE(a.Order_Amt, 0) AS Order_Amt,
+       COALESCE(dl.Deliv_Count, 0) AS Deliv_Count,
+       COALESCE(dl.Delay_Count, 0) AS Delay_Count
+FROM (SELECT o.Supp_ID, date_trunc('month', o.OrderDate)::date AS Month,
+             COUNT(DISTINCT o.PO_ID) AS Order_Count,
+             COALESCE(SUM(l.Qty * l.OrderPrice), 0) AS Order_Amt
+      FROM PURCHASE_ORDER o LEFT JOIN PO_LINE l ON l.PO_ID = o.PO_ID
+      GROUP BY 1, 2) a
+FULL JOIN (SELECT o.Supp_ID, date_trunc('month', COALESCE(d.ArrivalDate, o.OrderDate))::date AS Month,
+                  COUNT(*) AS Deliv_Count,
+                  COUNT(*) FILTER (WHERE d.Status = '지연') AS Delay_Count
+           FROM PURCHASE_ORDER o JOIN DELIVERY d ON d.PO_ID = o.PO_ID
+           GROUP BY 1, 2) dl ON dl.Supp_ID = a.Supp_ID AND dl.Month = a.Month;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_mv_supplier_monthly ON MV_SUPPLIER_MONTHLY (Supp_ID, Month);
+
+-- 뷰를 처음 만든 시점을 첫 기준 시각으로 둔다 (이미 있으면 유지)
+INSERT INTO SNAPSHOT_STATUS (Snapshot_Name, Refreshed_At) VALUES ('supplier', now())
+ON CONFLICT (Snapshot_Name) DO NOTHING;
+
+-- ---------------------------------------------------------------------
+-- 탄소 배출 버킷 초기 구축
+-- 마이그레이션을 처음 실행할 때 한 번 원천 기록에서 전체 버킷을 구축한다.
+-- (그 전에 적재된 기록의 버킷이 일부만 있을 수 있으므로 비어 있는지가 아니라 적용 이력으로 판단)
+-- ---------------------------------------------------------------------
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM SCHEMA_STATUS WHERE Script = 'schema_migrate.sql')
+            AND EXISTS (SELECT 1 FROM CARBON_RECORD) THEN
+        PERFORM fn_carbon_bucket_rebuild(NULL);
+    END IF;
+END
+$$;
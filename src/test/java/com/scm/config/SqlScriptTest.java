@@ -0,0 +1,62 @@
+package com.scm.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SqlScriptTest {
+    @Test
+    void splitsOnSemicolonsAndStripsWhitespace() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SqlScript.split("  SELECT 1;\n\nSELECT 2 ;\n"));
+    }
+
+    @Test
+    void keepsLastStatementWithoutSemicolon() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SqlScript.split("SELECT 1; SELECT 2"));
+    }
+
+    @Test
+    void skipsCommentOnlyFragments() {
+        assertEquals(List.of("-- 설명\nSELECT 1"), SqlScript.split("-- 설명\nSELECT 1;\n-- 끝; 주석\n/* 블록; */\n"));
+    }
+
+    @Test
+    void ignoresSemicolonsInsideQuotesAndComments() {
+        String sql = "INSERT INTO T VALUES ('a;b', 'it''s;'); SELECT \"x;y\" FROM T /* ; */ -- ;\n;";
+        assertEquals(List.of("INSERT INTO T VALUES ('a;b', 'it''s;')", "SELECT \"x;y\" FROM T /* ; */ -- ;"),
+                SqlScript.split(sql));
+    }
+
+    @Test
+    void keepsDollarQuotedBodiesTogether() {
+        String fn = "CREATE FUNCTION f() RETURNS void AS $$\nBEGIN\n    PERFORM 1;\nEND;\n$$ LANGUAGE plpgsql";
+        String doBlock = "DO $body$ BEGIN RAISE NOTICE '$$;'; END $body$";
+        assertEquals(List.of(fn, doBlock), SqlScript.split(fn + ";\n" + doBlock + ";"));
+    }
+
+    @Test
+    void positionalParametersAreNotDollarQuotes() {
+        assertEquals(List.of("SELECT $1", "SELECT 2"), SqlScript.split("SELECT $1; SELECT 2;"));
+    }
+
+    @Test
+    void migrationScriptRunsConcurrentIndexesAsSeparateStatements() throws IOException {
+        String script;
+        try (InputStream in = SqlScriptTest.class.getClassLoader().getResourceAsStream("schema_migrate.sql")) {
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> statements = SqlScript.split(script);
+        long concurrent = statements.stream().filter(s -> s.contains("CONCURRENTLY")).count();
+        assertTrue(concurrent > 0);
+        for (String s : statements) {
+            // 동시 인덱스 생성은 다른 문장과 묶이면 트랜잭션 블록으로 실행되어 실패한다
+            String code = s.replaceAll("(?m)^--.*\\n", "").strip();
+            if (code.contains("CONCURRENTLY")) assertTrue(code.startsWith("CREATE INDEX CONCURRENTLY") && !code.contains(";"), code);
+        }
+    }
+}
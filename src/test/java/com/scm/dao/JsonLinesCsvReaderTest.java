@@ -0,0 +1,85 @@
+package com.scm.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import org.junit.jupiter.api.Test;
+
+class JsonLinesCsvReaderTest {
+    private static final String[] COLUMNS = {"order_ref", "qty", "price"};
+
+    private static String convert(String jsonLines) throws IOException {
+        return convert(jsonLines, 8192);
+    }
+
+    /** bufferSize 단위로 나누어 읽어 Reader의 부분 읽기 경로도 확인한다. */
+    private static String convert(String jsonLines, int bufferSize) throws IOException {
+        StringBuilder out = new StringBuilder();
+        try (JsonLinesCsvReader reader = new JsonLinesCsvReader(new BufferedReader(new StringReader(jsonLines)), COLUMNS)) {
+            char[] buf = new char[bufferSize];
+            int n;
+            while ((n = reader.read(buf, 0, buf.length)) != -1) out.append(buf, 0, n);
+        }
+        return out.toString();
+    }
+
+    @Test
+    void writesColumnsInConfiguredOrder() throws IOException {
+        assertEquals("\"A-1\",\"3\",\"1.5\"\n", convert("{\"price\": 1.5, \"qty\": 3, \"order_ref\": \"A-1\"}\n"));
+    }
+
+    @Test
+    void keysAreCaseInsensitive() throws IOException {
+        assertEquals("\"A-1\",\"3\",\"2\"\n", convert("{\"ORDER_REF\":\"A-1\",\"Qty\":3,\"price\":2}"));
+    }
+
+    @Test
+    void missingAndNullValuesBecomeEmptyFields() throws IOException {
+        assertEquals("\"A-1\",,\n", convert("{\"order_ref\":\"A-1\",\"qty\":null}"));
+    }
+
+    @Test
+    void skipsBlankLines() throws IOException {
+        assertEquals("\"A\",\"1\",\"1\"\n\"B\",\"2\",\"2\"\n",
+                convert("\n{\"order_ref\":\"A\",\"qty\":1,\"price\":1}\n   \n{\"order_ref\":\"B\",\"qty\":2,\"price\":2}\n\n"));
+    }
+
+    @Test
+    void escapesQuotesAndKeepsDelimitersInsideValues() throws IOException {
+        // JSON 이스케이프를 풀고 CSV 규칙(큰따옴표 두 번)으로 다시 감싼다
+        assertEquals("\"say \"\"hi\"\", a,b\",\"1\",\"1\"\n",
+                convert("{\"order_ref\":\"say \\\"hi\\\", a,b\",\"qty\":1,\"price\":1}"));
+    }
+
+    @Test
+    void decodesUnicodeAndControlEscapes() throws IOException {
+        assertEquals("\"선박\tA\",\"1\",\"1\"\n", convert("{\"order_ref\":\"\\uc120\\ubc15\\tA\",\"qty\":1,\"price\":1}"));
+    }
+
+    @Test
+    void smallReadBuffersProduceSameOutput() throws IOException {
+        String input = "{\"order_ref\":\"A-1\",\"qty\":10,\"price\":99.9}\n{\"order_ref\":\"A-2\",\"qty\":20,\"price\":1}\n";
+        assertEquals(convert(input), convert(input, 3));
+    }
+
+    @Test
+    void emptyInputReturnsEndOfStream() throws IOException {
+        assertEquals("", convert(""));
+    }
+
+    @Test
+    void reportsLineNumberOfMalformedObject() {
+        IOException e = assertThrows(IOException.class,
+                () -> convert("{\"order_ref\":\"A\",\"qty\":1,\"price\":1}\n{\"order_ref\":\"B\" \"qty\":2}\n"));
+        assertTrue(e.getMessage().contains("2행"), e.getMessage());
+    }
+
+    @Test
+    void rejectsUnterminatedString() {
+        assertThrows(IOException.class, () -> convert("{\"order_ref\":\"A}"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.scm.dao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.scm.model.SupplierReportRow;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SupplierStatsCacheTest {
+    /** 공급업체 1, 2의 발주 금액을 값으로 돌려주고, 페이지 조회와 다시 읽기 요청을 기록하는 로더 */
+    private static class FakeLoader implements SupplierStatsCache.Loader {
+        final double[] amounts = {0, 100, 200};
+        final List<Collection<Integer>> reloads = new ArrayList<>();
+        final List<Integer> pages = new ArrayList<>();
+        Runnable duringReload = () -> { };
+
+        SupplierReportRow row(int id) {
+            return new SupplierReportRow(id, "S" + id, "KR", "A", amounts[id], 0, 0);
+        }
+
+        @Override
+        public List<SupplierReportRow> loadByIds(Collection<Integer> ids) {
+            reloads.add(List.copyOf(ids));
+            List<SupplierReportRow> rows = new ArrayList<>();
+            for (int id : ids) rows.add(row(id));
+            Runnable r = duringReload;
+            duringReload = () -> { };
+            r.run();
+            return rows;
+        }
+
+        @Override
+        public List<SupplierReportRow> loadPage(List<String> esg, double minDelay, double maxDelay, int afterId, int limit) {
+            pages.add(afterId);
+            List<SupplierReportRow> rows = new ArrayList<>();
+            for (int id = afterId + 1; id < amounts.length && rows.size() < limit; id++) rows.add(row(id));
+            return rows;
+        }
+    }
+
+    private static double amountOf(SupplierStatsCache cache, FakeLoader loader, int id) throws Exception {
+        for (SupplierReportRow r : cache.page(null, 0, 100, 0, 10, loader).rows()) {
+            if (r.suppId() == id) return r.totalOrderAmt();
+        }
+        throw new AssertionError("공급업체 없음: " + id);
+    }
+
+    @Test
+    void reloadsOnlyInvalidatedSupplier() throws Exception {
+        SupplierStatsCache cache = new SupplierStatsCache(100, TimeUnit.MINUTES.toNanos(5), Runnable::run);
+        FakeLoader loader = new FakeLoader();
+        assertEquals(100, amountOf(cache, loader, 1));
+
+        loader.amounts[1] = 150;
+        cache.invalidate(1);
+        assertEquals(150, amountOf(cache, loader, 1));
+        assertEquals(List.of(List.of(1)), loader.reloads);
+
+        amountOf(cache, loader, 1);
+        assertEquals(1, loader.reloads.size());
+    }
+
+    @Test
+    void invalidationDuringReloadIsKept() throws Exception {
+        SupplierStatsCache cache = new SupplierStatsCache(100, TimeUnit.MINUTES.toNanos(5), Runnable::run);
+        FakeLoader loader = new FakeLoader();
+        amountOf(cache, loader, 1);
+
+        cache.invalidate(1);
+        // 다시 읽는 도중 같은 업체의 발주가 커밋되어 다시 무효화된다 (읽은 값에는 아직 반영되지 않음)
+        loader.duringReload = () -> {
+            loader.amounts[1] = 300;
+            cache.invalidate(1);
+        };
+        assertEquals(100, amountOf(cache, loader, 1));
+        assertEquals(300, amountOf(cache, loader, 1));
+        assertEquals(2, loader.reloads.size());
+    }
+
+    @Test
+    void servesPagesFromDatabaseUntilFilled() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        SupplierStatsCache cache = new SupplierStatsCache(100, TimeUnit.MINUTES.toNanos(5), tasks::add);
+        FakeLoader loader = new FakeLoader();
+
+        // 채우기가 끝나기 전의 첫 페이지는 키셋 쿼리로 응답한다
+        assertEquals(100, amountOf(cache, loader, 1));
+        assertEquals(List.of(0), loader.pages);
+        assertEquals(1, tasks.size());
+        amountOf(cache, loader, 1);
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        loader.pages.clear();
+        assertEquals(200, amountOf(cache, loader, 2));
+        assertTrue(loader.pages.isEmpty());
+    }
+
+    @Test
+    void oversizedCacheIsNotRefilled() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        SupplierStatsCache cache = new SupplierStatsCache(1, 0, tasks::add);
+        FakeLoader loader = new FakeLoader();
+
+        amountOf(cache, loader, 1);
+        tasks.remove(0).run();
+        cache.invalidateAll();
+        loader.pages.clear();
+        assertEquals(200, amountOf(cache, loader, 2));
+        assertEquals(List.of(0), loader.pages);
+        assertTrue(tasks.isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.scm.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InventoryJournalTest {
+    @TempDir
+    Path dir;
+
+    /** 레코드 세 개를 기록하고 닫는다 (순번 1..3). */
+    private void writeThree() throws IOException {
+        try (InventoryJournal journal = new InventoryJournal(dir, false)) {
+            journal.open();
+            journal.recover(0);
+            journal.append(0, 1, 10, 5);
+            journal.append(101, 1, 11, 7);
+            long seq = journal.append(0, 2, 10, -3);
+            journal.sync(seq);
+        }
+    }
+
+    private List<InventoryJournal.Entry> reopen(long afterSeq) throws IOException {
+        try (InventoryJournal journal = new InventoryJournal(dir, false)) {
+            journal.open();
+            return journal.recover(afterSeq);
+        }
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.wal")) {
+            for (Path f : stream) files.add(f);
+        }
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    @Test
+    void recoversRecordsAfterCheckpoint() throws IOException {
+        writeThree();
+        List<InventoryJournal.Entry> all = reopen(0);
+        assertEquals(List.of(new InventoryJournal.Entry(1, 0, 1, 10, 5),
+                new InventoryJournal.Entry(2, 101, 1, 11, 7),
+                new InventoryJournal.Entry(3, 0, 2, 10, -3)), all);
+        assertEquals(List.of(new InventoryJournal.Entry(3, 0, 2, 10, -3)), reopen(2));
+    }
+
+    @Test
+    void continuesSequenceAfterRecovery() throws IOException {
+        writeThree();
+        try (InventoryJournal journal = new InventoryJournal(dir, false)) {
+            journal.open();
+            journal.recover(3);
+            assertEquals(4, journal.append(0, 1, 10, 1));
+        }
+    }
+
+    @Test
+    void stopsAtTornTail() throws IOException {
+        writeThree();
+        Path segment = onlySegment();
+        // 마지막 레코드를 쓰는 도중 중단된 것처럼 꼬리를 자른다
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.truncate(2L * InventoryJournal.RECORD_BYTES + 10);
+        }
+        List<InventoryJournal.Entry> entries = reopen(0);
+        assertEquals(2, entries.size());
+        assertEquals(2, entries.get(1).seq());
+    }
+
+    @Test
+    void stopsAtChecksumMismatch() throws IOException {
+        writeThree();
+        Path segment = onlySegment();
+        // 두 번째 레코드의 수량 바이트를 바꾼다 (CRC는 그대로)
+        try (FileChannel ch = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            ch.write(ByteBuffer.wrap(new byte[] {99}), InventoryJournal.RECORD_BYTES + 20);
+        }
+        List<InventoryJournal.Entry> entries = reopen(0);
+        assertEquals(List.of(new InventoryJournal.Entry(1, 0, 1, 10, 5)), entries);
+    }
+
+    @Test
+    void secondOpenOfSameDirectoryFails() throws IOException {
+        try (InventoryJournal first = new InventoryJournal(dir, false)) {
+            String id = first.open();
+            assertTrue(InventoryJournal.isLocked(dir));
+            InventoryJournal second = new InventoryJournal(dir, false);
+            assertThrows(IOException.class, second::open);
+            second.close();
+            assertTrue(InventoryJournal.isLocked(dir)); // 실패한 쪽이 잠금을 풀면 안 된다
+            first.recover(0);
+            assertEquals(id, Files.readString(dir.resolve("journal.id")).strip());
+        }
+        assertFalse(InventoryJournal.isLocked(dir));
+    }
+
+    @Test
+    void keepsIdAcrossRestarts() throws IOException {
+        String id;
+        try (InventoryJournal journal = new InventoryJournal(dir, false)) {
+            id = journal.open();
+        }
+        try (InventoryJournal journal = new InventoryJournal(dir, false)) {
+            assertEquals(id, journal.open());
+        }
+        assertEquals(id, UUID.fromString(id).toString());
+    }
+}
@@ -0,0 +1,42 @@
+package com.scm.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BatchCommandsTest {
+    @Test
+    void splitsOnWhitespace() {
+        assertEquals(List.of("dashboard", "3", "--months", "6"), BatchCommands.split("  dashboard 3\t--months   6 "));
+        assertEquals(List.of(), BatchCommands.split("   "));
+    }
+
+    @Test
+    void quotedPartIsOneArgument() {
+        assertEquals(List.of("dashboard", "Ocean Star", "--format", "csv"),
+                BatchCommands.split("dashboard \"Ocean Star\" --format csv"));
+        assertEquals(List.of("a\"b", ""), BatchCommands.split("\"a\"\"b\" \"\""));
+        assertEquals(List.of("pre fix"), BatchCommands.split("pre\" fix\""));
+    }
+
+    @Test
+    void joinQuotesOnlyWhenNeeded() {
+        assertEquals("dashboard 3", BatchCommands.join(List.of("dashboard", "3")));
+        assertEquals("dashboard \"Ocean Star\" \"say \"\"hi\"\"\" \"\"",
+                BatchCommands.join(List.of("dashboard", "Ocean Star", "say \"hi\"", "")));
+    }
+
+    @Test
+    void joinThenSplitRoundTrips() {
+        List<String> args = List.of("import-orders", "/tmp/my orders.csv", "", "\"", "a\"b c", "탄소 기록");
+        assertEquals(args, BatchCommands.split(BatchCommands.join(args)));
+    }
+
+    @Test
+    void resolvesFileArgumentsToAbsolutePaths() {
+        List<String> resolved = BatchCommands.resolvePaths(List.of("supplier-report", "--format", "csv", "--out", "r.csv"));
+        assertEquals("csv", resolved.get(2));
+        assertEquals(java.nio.file.Path.of("r.csv").toAbsolutePath().toString(), resolved.get(4));
+    }
+}
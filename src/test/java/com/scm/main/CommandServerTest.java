@@ -0,0 +1,49 @@
+package com.scm.main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+class CommandServerTest {
+    private static String escape(String text) {
+        StringWriter sink = new StringWriter();
+        try (PrintWriter out = new PrintWriter(new CommandServer.EscapingWriter(sink))) {
+            out.print(text);
+        }
+        return sink.toString();
+    }
+
+    @Test
+    void escapesLinesStartingWithAt() {
+        assertEquals("@@exit 0\nship @home\n@@@x\n", escape("@exit 0\nship @home\n@@x\n"));
+        assertEquals("plain", escape("plain"));
+    }
+
+    @Test
+    void escapesAcrossWrites() {
+        StringWriter sink = new StringWriter();
+        CommandServer.EscapingWriter escaping = new CommandServer.EscapingWriter(sink);
+        try (PrintWriter out = new PrintWriter(escaping)) {
+            out.print("first\n");
+            assertTrue(escaping.atLineStart());
+            out.print('@');
+            out.print("exit 3");
+            out.flush();
+            assertFalse(escaping.atLineStart());
+        }
+        assertEquals("first\n@@exit 3", sink.toString());
+    }
+
+    @Test
+    void unescapeRestoresOriginalLines() {
+        for (String line : new String[] {"@exit 0", "@@x", "ship @home", "", "@"}) {
+            String sent = escape(line + "\n").stripTrailing();
+            assertFalse(sent.startsWith(CommandServer.EXIT_PREFIX));
+            assertEquals(line, CommandServer.unescape(sent));
+        }
+    }
+}
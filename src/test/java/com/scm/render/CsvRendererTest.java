@@ -0,0 +1,57 @@
+package com.scm.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.scm.render.RendererTestRows.Item;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvRendererTest {
+    private static String render(List<Item> rows) {
+        StringWriter sw = new StringWriter();
+        CsvRenderer<Item> renderer = new CsvRenderer<>(RendererTestRows.COLUMNS, new PrintWriter(sw));
+        renderer.renderAll(rows);
+        renderer.flush();
+        return sw.toString();
+    }
+
+    @Test
+    void writesHeaderOnlyForEmptyInput() {
+        assertEquals("name,qty,price,late\n", render(List.of()));
+    }
+
+    @Test
+    void writesNumbersWithoutGrouping() {
+        assertEquals("name,qty,price,late\nbolt,12000,1234567.50,true\n",
+                render(List.of(new Item("bolt", 12000, 1234567.5, true))));
+    }
+
+    @Test
+    void quotesOnlyWhenNeeded() {
+        String csv = render(List.of(
+                new Item("a,b", 1, 1, false),
+                new Item("say \"hi\"", 2, 2, false),
+                new Item("line\nbreak", 3, 3, false),
+                new Item("선박 부품", 4, 4, false)));
+        assertEquals("name,qty,price,late\n"
+                + "\"a,b\",1,1.00,false\n"
+                + "\"say \"\"hi\"\"\",2,2.00,false\n"
+                + "\"line\nbreak\",3,3.00,false\n"
+                + "선박 부품,4,4.00,false\n", csv);
+    }
+
+    @Test
+    void nullTextIsEmptyField() {
+        assertEquals("name,qty,price,late\n,1,0.00,false\n", render(List.of(new Item(null, 1, 0, false))));
+    }
+
+    @Test
+    void countsRows() {
+        StringWriter sw = new StringWriter();
+        CsvRenderer<Item> renderer = new CsvRenderer<>(RendererTestRows.COLUMNS, new PrintWriter(sw));
+        renderer.renderAll(List.of(new Item("a", 1, 1, true), new Item("b", 2, 2, false)));
+        assertEquals(2, renderer.getRowCount());
+    }
+}
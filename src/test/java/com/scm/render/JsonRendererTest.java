@@ -0,0 +1,45 @@
+package com.scm.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.scm.render.RendererTestRows.Item;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonRendererTest {
+    private static String render(List<Item> rows) {
+        StringWriter sw = new StringWriter();
+        JsonRenderer<Item> renderer = new JsonRenderer<>(RendererTestRows.COLUMNS, new PrintWriter(sw));
+        renderer.renderAll(rows);
+        renderer.flush();
+        return sw.toString();
+    }
+
+    @Test
+    void emptyInputIsEmptyArray() {
+        assertEquals("[]\n", render(List.of()));
+    }
+
+    @Test
+    void writesOneObjectPerLine() {
+        assertEquals("[\n"
+                        + "{\"name\":\"bolt\",\"qty\":3,\"price\":1234.50,\"late\":true},\n"
+                        + "{\"name\":\"nut\",\"qty\":-1,\"price\":0.05,\"late\":false}\n"
+                        + "]\n",
+                render(List.of(new Item("bolt", 3, 1234.5, true), new Item("nut", -1, 0.049, false))));
+    }
+
+    @Test
+    void escapesStrings() {
+        assertEquals("[\n{\"name\":\"q\\\"b\\\\s\\nt\\tc\\u0001 선박\",\"qty\":0,\"price\":0.00,\"late\":false}\n]\n",
+                render(List.of(new Item("q\"b\\s\nt\tc\u0001 선박", 0, 0, false))));
+    }
+
+    @Test
+    void nullTextAndNonFiniteNumbersAreNull() {
+        assertEquals("[\n{\"name\":null,\"qty\":1,\"price\":null,\"late\":false}\n]\n",
+                render(List.of(new Item(null, 1, Double.NaN, false))));
+    }
+}
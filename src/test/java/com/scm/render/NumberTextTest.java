@@ -0,0 +1,64 @@
+package com.scm.render;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class NumberTextTest {
+    private static String fixed(double value, int scale, boolean grouping) {
+        StringBuilder sb = new StringBuilder("|");
+        NumberText.appendFixed(sb, value, scale, grouping);
+        return sb.substring(1);
+    }
+
+    @Test
+    void padsFractionWithLeadingZeros() {
+        assertEquals("1.05", fixed(1.05, 2, false));
+        assertEquals("3.000", fixed(3, 3, false));
+        assertEquals("7", fixed(7, 0, true));
+    }
+
+    @Test
+    void roundsHalfUp() {
+        assertEquals("0.01", fixed(0.005, 2, false));
+        assertEquals("2.5", fixed(2.45, 1, false));
+        assertEquals("1,000.00", fixed(999.999, 2, true));
+    }
+
+    @Test
+    void groupsThousands() {
+        assertEquals("1,234.50", fixed(1234.5, 2, true));
+        assertEquals("-1,234,567.9", fixed(-1234567.891, 1, true));
+        assertEquals("123", fixed(123, 0, true));
+        assertEquals("1234567", fixed(1234567, 0, false));
+    }
+
+    @Test
+    void negativeValueRoundingToZeroHasNoSign() {
+        assertEquals("0.00", fixed(-0.001, 2, false));
+    }
+
+    @Test
+    void largeValuesUseDecimalPath() {
+        assertEquals("1,234,567,890,123.46", fixed(1234567890123.456, 2, true));
+        assertEquals("-5000000000000.0", fixed(-5e12, 1, false));
+    }
+
+    @Test
+    void scaleBeyondTableUsesDecimalPath() {
+        assertEquals("0.12345679", fixed(0.123456789, 8, false));
+    }
+
+    @Test
+    void nonFiniteValuesAreWrittenAsIs() {
+        assertEquals("NaN", fixed(Double.NaN, 2, true));
+        assertEquals("-Infinity", fixed(Double.NEGATIVE_INFINITY, 2, false));
+    }
+
+    @Test
+    void appendsToExistingContent() {
+        StringBuilder sb = new StringBuilder("합계 ");
+        NumberText.appendFixed(sb, 12345, 0, true);
+        assertEquals("합계 12,345", sb.toString());
+    }
+}
@@ -0,0 +1,17 @@
+package com.scm.render;
+
+/**
+ * 렌더러 테스트용 행과 컬럼 정의
+ */
+final class RendererTestRows {
+    record Item(String name, long qty, double price, boolean late) {}
+
+    static final Columns<Item> COLUMNS = Columns.<Item>builder()
+            .text("name", "이름", 10, Item::name)
+            .integer("qty", "수량", 5, Item::qty)
+            .decimal("price", "단가", 12, 2, Item::price)
+            .bool("late", "지연", 4, "예", "아니오", Item::late)
+            .build();
+
+    private RendererTestRows() {}
+}
@@ -0,0 +1,114 @@
+package com.scm.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+    @Test
+    void zeroAndNegativeShareFirstBucket() {
+        assertEquals(0, LatencyHistogram.indexOf(0));
+        assertEquals(0, LatencyHistogram.highestEquivalent(0));
+
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(0);
+        h.record(-5); // 시계가 거꾸로 가도 0으로 기록
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(2, s.count());
+        assertEquals(0, s.quantile(0.5));
+        assertEquals(0, s.quantile(1.0));
+        assertEquals(0, s.max());
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        // 2 * 하위 버킷 수(64) 미만은 버킷 하나가 값 하나
+        for (int v = 0; v < 64; v++) {
+            assertEquals(v, LatencyHistogram.indexOf(v));
+            assertEquals(v, LatencyHistogram.highestEquivalent(v));
+        }
+    }
+
+    @Test
+    void subBucketBoundaries() {
+        // 64~127은 폭 2, 128~255는 폭 4
+        assertEquals(64, LatencyHistogram.indexOf(64));
+        assertEquals(64, LatencyHistogram.indexOf(65));
+        assertEquals(65, LatencyHistogram.indexOf(66));
+        assertEquals(65, LatencyHistogram.highestEquivalent(64));
+        assertEquals(95, LatencyHistogram.indexOf(127));
+        assertEquals(127, LatencyHistogram.highestEquivalent(95));
+        assertEquals(96, LatencyHistogram.indexOf(128));
+        assertEquals(96, LatencyHistogram.indexOf(131));
+        assertEquals(97, LatencyHistogram.indexOf(132));
+        assertEquals(131, LatencyHistogram.highestEquivalent(96));
+
+        // 버킷 상한은 항상 그 버킷에 속하고, 바로 다음 값은 다음 버킷
+        for (int i = 0; i < 1100; i++) {
+            long high = LatencyHistogram.highestEquivalent(i);
+            assertEquals(i, LatencyHistogram.indexOf(high));
+            assertEquals(i + 1, LatencyHistogram.indexOf(high + 1));
+        }
+    }
+
+    @Test
+    void quantileReportsBucketUpperBoundCappedByMax() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(64);
+        h.record(66);
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(65, s.quantile(0.5));
+        assertEquals(66, s.quantile(1.0));
+        assertEquals(65.0, s.mean());
+    }
+
+    @Test
+    void topOfRangeAndOverflow() {
+        long top = (1L << 40) - 1;
+        int topIndex = LatencyHistogram.indexOf(top);
+        assertEquals(top, LatencyHistogram.highestEquivalent(topIndex));
+
+        // 2^40 이상은 구간 폭 2^35로 이어지다가 마지막 버킷에 모인다
+        int last = LatencyHistogram.indexOf(Long.MAX_VALUE);
+        assertEquals(last, LatencyHistogram.indexOf(1L << 50));
+        assertTrue(LatencyHistogram.indexOf(1L << 40) > topIndex);
+        assertTrue(LatencyHistogram.indexOf(1L << 40) < last);
+
+        LatencyHistogram h = new LatencyHistogram();
+        h.record(1L << 50);
+        LatencyHistogram.Snapshot s = h.snapshot();
+        assertEquals(1L << 50, s.max());
+        assertEquals(1L << 50, s.quantile(0.99)); // 마지막 버킷은 상한이 없으므로 최댓값
+    }
+
+    @Test
+    void emptyAndReset() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.snapshot().quantile(0.99));
+        assertEquals(0.0, h.snapshot().mean());
+        h.record(1_000);
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.snapshot().count());
+        assertEquals(0, h.snapshot().max());
+    }
+
+    @Test
+    void reportFormatsMillis() {
+        Metrics.Timer timer = Metrics.timer("test.latency_histogram");
+        for (int i = 0; i < 98; i++) timer.record(1_000_000);
+        timer.record(50_000_000);
+        timer.record(50_000_000);
+        Metrics.timer("test.latency_histogram_idle");
+
+        String report = Metrics.report();
+        assertTrue(report.contains(String.format("%-32s %9s %9s %9s %9s %9s %9s%n",
+                "타이머", "count", "mean", "p50", "p90", "p99", "max")));
+        // mean 1.98ms, p50/p90은 1ms가 속한 버킷의 상한(1015807ns), p99부터 50ms 버킷 (상한이 최댓값으로 잘림)
+        assertTrue(report.contains("test.latency_histogram                 100     1.980"
+                + "     1.016     1.016    50.000    50.000"), report);
+        assertFalse(report.contains("test.latency_histogram_idle"), "기록이 없는 타이머는 생략");
+    }
+}
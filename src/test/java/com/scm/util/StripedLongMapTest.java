@@ -0,0 +1,79 @@
+package com.scm.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class StripedLongMapTest {
+    @Test
+    void packKeepsBothHalves() {
+        long key = StripedLongMap.pack(7, -3);
+        assertEquals(7, StripedLongMap.high(key));
+        assertEquals(-3, StripedLongMap.low(key));
+        assertTrue(StripedLongMap.pack(1, 2) < StripedLongMap.pack(2, 1)); // (Wh_ID, Part_ID) 순서
+    }
+
+    @Test
+    void missingKeyReadsAsZero() {
+        StripedLongMap map = new StripedLongMap(4);
+        assertEquals(0, map.get(StripedLongMap.pack(1, 1)));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void putAndAddAcrossResizes() {
+        StripedLongMap map = new StripedLongMap(3); // 2의 거듭제곱으로 올림
+        for (int part = 1; part <= 10_000; part++) map.put(StripedLongMap.pack(1, part), part);
+        for (int part = 1; part <= 10_000; part++) map.addAndGet(StripedLongMap.pack(1, part), 1);
+        assertEquals(10_000, map.size());
+        for (int part = 1; part <= 10_000; part++) assertEquals(part + 1, map.get(StripedLongMap.pack(1, part)));
+    }
+
+    @Test
+    void tryAddRespectsFloor() {
+        StripedLongMap map = new StripedLongMap(4);
+        long key = StripedLongMap.pack(1, 1);
+        map.put(key, 5);
+        assertTrue(map.tryAdd(key, -5, 0));
+        assertFalse(map.tryAdd(key, -1, 0));
+        assertEquals(0, map.get(key));
+        assertFalse(map.tryAdd(StripedLongMap.pack(2, 2), -1, 0));
+        assertEquals(1, map.size()); // 거절된 키는 만들지 않는다
+    }
+
+    @Test
+    void drainReturnsEverythingAndEmpties() {
+        StripedLongMap map = new StripedLongMap(8);
+        for (int part = 1; part <= 100; part++) map.addAndGet(StripedLongMap.pack(2, part), part);
+        Map<Long, Long> drained = new HashMap<>();
+        map.drain(drained::put);
+        assertEquals(100, drained.size());
+        assertEquals(42L, drained.get(StripedLongMap.pack(2, 42)));
+        assertEquals(0, map.size());
+        assertEquals(0, map.get(StripedLongMap.pack(2, 42)));
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        StripedLongMap map = new StripedLongMap(16);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < 10_000; i++) map.addAndGet(StripedLongMap.pack(1, i % 64), 1);
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        long[] total = {0};
+        map.forEach((key, value) -> total[0] += value);
+        assertEquals(80_000, total[0]);
+        assertEquals(64, map.size());
+    }
+}